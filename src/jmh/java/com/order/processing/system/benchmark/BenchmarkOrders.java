@@ -0,0 +1,73 @@
+package com.order.processing.system.benchmark;
+
+import com.order.processing.system.dto.CatalogItem;
+import com.order.processing.system.model.Customer;
+import com.order.processing.system.model.Item;
+import com.order.processing.system.model.Order;
+import com.order.processing.system.model.OrderItem;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * In-memory order fixtures shared by the benchmarks.
+ */
+public final class BenchmarkOrders {
+
+    private BenchmarkOrders() {
+    }
+
+    /**
+     * Builds catalog items with IDs 1..count.
+     */
+    public static List<Item> items(int count) {
+        return IntStream.rangeClosed(1, count)
+            .mapToObj(i -> {
+                Item item = new Item();
+                item.setId((long) i);
+                item.setName("Benchmark Item " + i);
+                item.setPrice(1.0 + i);
+                item.setDescription("Benchmark item " + i);
+                return item;
+            })
+            .toList();
+    }
+
+    /**
+     * @return The given items keyed by ID, as the catalog cache would return them
+     */
+    public static Map<Long, CatalogItem> catalog(List<Item> items) {
+        return items.stream().map(CatalogItem::of).collect(Collectors.toMap(CatalogItem::id, Function.identity()));
+    }
+
+    /**
+     * Builds a persisted-looking order with one line per item.
+     */
+    public static Order order(List<Item> items) {
+        Customer customer = new Customer();
+        customer.setId(1L);
+        customer.setName("Benchmark Customer");
+        customer.setEmail("benchmark@example.com");
+
+        Order order = new Order();
+        order.setId(UUID.randomUUID());
+        order.setCustomer(customer);
+        order.setCreatedAt(LocalDateTime.now());
+        order.setUpdatedAt(order.getCreatedAt());
+        order.setVersion(0L);
+        for (Item item : items) {
+            OrderItem line = new OrderItem();
+            line.setItem(item);
+            line.setQuantity(2);
+            line.setUnitPrice(item.getPrice());
+            line.setItemName(item.getName());
+            order.addItem(line);
+        }
+        return order;
+    }
+}
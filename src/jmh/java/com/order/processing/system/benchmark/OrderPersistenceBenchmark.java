@@ -0,0 +1,94 @@
+package com.order.processing.system.benchmark;
+
+import com.order.processing.system.Application;
+import com.order.processing.system.dto.CreateOrderRequest;
+import com.order.processing.system.dto.OrderItemRequest;
+import com.order.processing.system.dto.OrderListQuery;
+import com.order.processing.system.dto.OrderPageResponse;
+import com.order.processing.system.dto.OrderResponse;
+import com.order.processing.system.model.Item;
+import com.order.processing.system.repository.CustomerRepository;
+import com.order.processing.system.repository.ItemRepository;
+import com.order.processing.system.service.OrderService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code createOrder} and {@code getAllOrders} end to end through Spring Data and Hibernate,
+ * against the embedded H2 database of the test profile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderPersistenceBenchmark {
+
+    private static final int SEEDED_ORDERS = 1_000;
+
+    @Param({"1", "10", "50"})
+    private int lines;
+
+    @Param({"50"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private CreateOrderRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SpringApplication application = new SpringApplication(Application.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        context = application.run(
+            "--spring.profiles.active=test",
+            "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+            "--spring.jpa.show-sql=false",
+            "--logging.level.root=WARN");
+        orderService = context.getBean(OrderService.class);
+
+        Long customerId = context.getBean(CustomerRepository.class)
+            .findByEmail("test@example.com").orElseThrow().getId();
+        List<Item> items = BenchmarkOrders.items(lines);
+        items.forEach(item -> item.setId(null));
+        items = context.getBean(ItemRepository.class).saveAll(items);
+
+        request = new CreateOrderRequest();
+        request.setCustomerId(customerId);
+        request.setItems(items.stream()
+            .map(item -> {
+                OrderItemRequest line = new OrderItemRequest();
+                line.setItemId(item.getId());
+                line.setQuantity(1);
+                return line;
+            })
+            .toList());
+
+        for (int i = 0; i < SEEDED_ORDERS; i++) {
+            orderService.createOrder(request);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public OrderResponse createOrder() {
+        return orderService.createOrder(request);
+    }
+
+    @Benchmark
+    public OrderPageResponse getAllOrders() {
+        OrderListQuery query = new OrderListQuery();
+        query.setLimit(pageSize);
+        return orderService.getAllOrders(query);
+    }
+}
@@ -0,0 +1,72 @@
+package com.order.processing.system.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.order.processing.system.dto.OrderResponse;
+import com.order.processing.system.model.Order;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization cost of an {@link OrderResponse}, using an ObjectMapper configured
+ * the way Spring Boot configures the one behind the REST endpoints, in each format the
+ * endpoints can negotiate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderSerializationBenchmark {
+
+    @Param({"1", "10", "100", "1000"})
+    private int lines;
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    private ObjectMapper objectMapper;
+    private OrderResponse response;
+
+    @Setup
+    public void setUp() {
+        objectMapper = switch (format) {
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+        Order order = BenchmarkOrders.order(BenchmarkOrders.items(lines));
+
+        response = new OrderResponse();
+        response.setId(order.getId());
+        response.setStatus(order.getStatus());
+        response.setCreatedAt(LocalDateTime.now());
+        response.setUpdatedAt(response.getCreatedAt());
+        OrderResponse.CustomerDTO customer = new OrderResponse.CustomerDTO();
+        customer.setId(order.getCustomer().getId());
+        customer.setName(order.getCustomer().getName());
+        customer.setEmail(order.getCustomer().getEmail());
+        response.setCustomer(customer);
+        response.setItems(order.getItems().stream()
+            .map(line -> {
+                OrderResponse.OrderItemDTO dto = new OrderResponse.OrderItemDTO();
+                dto.setItemId(line.getItem().getId());
+                dto.setItemName(line.getItem().getName());
+                dto.setItemPrice(line.getUnitPrice());
+                dto.setQuantity(line.getQuantity());
+                dto.setSubtotal(line.getUnitPrice() * line.getQuantity());
+                return dto;
+            })
+            .toList());
+        response.setTotalAmount(order.getTotalAmount());
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
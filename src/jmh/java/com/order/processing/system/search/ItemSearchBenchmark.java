@@ -0,0 +1,70 @@
+package com.order.processing.system.search;
+
+import com.order.processing.system.model.Item;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query latency of {@link ItemSearchIndex} over a synthetic catalog. Names and descriptions are
+ * drawn from small vocabularies, so common words match a large share of the catalog.
+ * Lives in the search package because loading the index directly is package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ItemSearchBenchmark {
+
+    private static final String[] ADJECTIVES = {"Compact", "Wireless", "Ergonomic", "Premium", "Portable",
+        "Classic", "Smart", "Heavy Duty", "Eco", "Deluxe"};
+    private static final String[] NOUNS = {"Laptop", "Keyboard", "Monitor", "Desk Lamp", "Backpack",
+        "Headphones", "Charger", "Webcam", "Speaker", "Router", "Tablet", "Mouse"};
+    private static final String[] MATERIALS = {"aluminium", "bamboo", "leather", "recycled plastic", "steel"};
+
+    @Param({"1000000"})
+    private int items;
+
+    /** A rare serial-number fragment, a common word, and a word matching mostly descriptions. */
+    @Param({"x7q3", "laptop", "bamboo"})
+    private String query;
+
+    private ItemSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        index = new ItemSearchIndex(null, 10_000);
+        List<Item> page = new ArrayList<>(10_000);
+        for (long id = 1; id <= items; id++) {
+            Item item = new Item();
+            item.setId(id);
+            item.setName(ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " "
+                + NOUNS[random.nextInt(NOUNS.length)] + " " + Long.toString(random.nextLong() & 0xffffffL, 36));
+            item.setDescription("Made of " + MATERIALS[random.nextInt(MATERIALS.length)]);
+            item.setPrice(1 + random.nextInt(2000) / 10.0);
+            page.add(item);
+            if (page.size() == 10_000) {
+                index.load(page);
+                page.clear();
+            }
+        }
+        index.load(page);
+        index.markReady();
+    }
+
+    @Benchmark
+    public ItemSearchIndex.SearchResult firstPage() {
+        return index.search(query, null, 0, 20);
+    }
+
+    @Benchmark
+    public ItemSearchIndex.SearchResult firstPageUnderPrice() {
+        return index.search(query, 50.0, 0, 20);
+    }
+}
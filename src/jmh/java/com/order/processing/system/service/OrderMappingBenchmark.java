@@ -0,0 +1,54 @@
+package com.order.processing.system.service;
+
+import com.order.processing.system.benchmark.BenchmarkOrders;
+import com.order.processing.system.dto.CatalogItem;
+import com.order.processing.system.dto.OrderResponse;
+import com.order.processing.system.model.Item;
+import com.order.processing.system.model.Order;
+import com.order.processing.system.model.OrderItem;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-DTO mapping cost of {@link OrderService} as the number of order lines grows.
+ * Lives in the service package because the mapping methods are package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderMappingBenchmark {
+
+    @Param({"1", "10", "100", "1000"})
+    private int lines;
+
+    private OrderService orderService;
+    private Order order;
+    private OrderItem line;
+    private Map<Long, CatalogItem> catalog;
+
+    @Setup
+    public void setUp() {
+        // Mapping touches none of the service's collaborators
+        orderService = new OrderService(null, null, null, null, null, null, null, null, null, null);
+        List<Item> items = BenchmarkOrders.items(lines);
+        catalog = BenchmarkOrders.catalog(items);
+        order = BenchmarkOrders.order(items);
+        line = order.getItems().get(0);
+    }
+
+    @Benchmark
+    public OrderResponse mapToOrderResponse() {
+        return orderService.mapToOrderResponse(order, catalog);
+    }
+
+    @Benchmark
+    public OrderResponse.OrderItemDTO mapToOrderItemDTO() {
+        return orderService.mapToOrderItemDTO(line, catalog);
+    }
+}
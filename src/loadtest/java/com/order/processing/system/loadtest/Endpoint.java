@@ -0,0 +1,21 @@
+package com.order.processing.system.loadtest;
+
+/**
+ * Operations the load generator can issue, in the order they are reported.
+ */
+enum Endpoint {
+    CREATE("POST /api/orders"),
+    GET("GET /api/orders/{id}"),
+    LIST("GET /api/orders?status="),
+    CANCEL("PATCH /api/orders/{id}/cancel");
+
+    private final String label;
+
+    Endpoint(String label) {
+        this.label = label;
+    }
+
+    String label() {
+        return label;
+    }
+}
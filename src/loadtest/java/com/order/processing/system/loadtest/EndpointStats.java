@@ -0,0 +1,92 @@
+package com.order.processing.system.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency and outcome counters of one endpoint.
+ * Latencies are recorded in microseconds from each request's intended start time, so time a
+ * request spent waiting behind a slow server is counted rather than hidden.
+ */
+final class EndpointStats {
+
+    private final Recorder recorder = new Recorder(3);
+    private final Histogram total = new Histogram(3);
+    private Histogram interval;
+
+    private final LongAdder success = new LongAdder();
+    private final LongAdder clientErrors = new LongAdder();
+    private final LongAdder serverErrors = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    void record(long latencyMicros, int statusCode) {
+        recorder.recordValue(Math.max(latencyMicros, 0));
+        if (statusCode >= 500) {
+            serverErrors.increment();
+        } else if (statusCode >= 400) {
+            clientErrors.increment();
+        } else {
+            success.increment();
+        }
+    }
+
+    void recordFailure(long latencyMicros) {
+        recorder.recordValue(Math.max(latencyMicros, 0));
+        failures.increment();
+    }
+
+    void recordDropped() {
+        dropped.increment();
+    }
+
+    /**
+     * Moves everything recorded since the last call into the cumulative histogram.
+     *
+     * @return Latencies recorded during the interval just ended
+     */
+    synchronized Histogram drainInterval() {
+        interval = recorder.getIntervalHistogram(interval);
+        total.add(interval);
+        return interval;
+    }
+
+    /**
+     * Discards everything recorded so far, e.g. at the end of the warm-up.
+     */
+    synchronized void reset() {
+        recorder.reset();
+        total.reset();
+        success.reset();
+        clientErrors.reset();
+        serverErrors.reset();
+        failures.reset();
+        dropped.reset();
+    }
+
+    synchronized Histogram total() {
+        return total.copy();
+    }
+
+    long success() {
+        return success.sum();
+    }
+
+    long clientErrors() {
+        return clientErrors.sum();
+    }
+
+    long serverErrors() {
+        return serverErrors.sum();
+    }
+
+    long failures() {
+        return failures.sum();
+    }
+
+    long dropped() {
+        return dropped.sum();
+    }
+}
@@ -0,0 +1,351 @@
+package com.order.processing.system.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.order.processing.system.Application;
+import com.order.processing.system.model.OrderStatus;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator and soak runner for the order API.
+ * <p>
+ * Unless {@code --base-url} is given, the application is started in-process on the H2
+ * {@code test} profile; {@code --stack=reactive} starts the WebFlux and R2DBC implementation
+ * instead, which needs the {@code reactive} Maven profile. Requests arrive on a schedule fixed by {@code --rate}, independent of
+ * how fast earlier requests complete, and each latency is measured from the request's intended
+ * start time, so a stalled server shows up as latency instead of as a lower request rate
+ * (coordinated omission). Per-endpoint p50/p99/p999 latencies and throughput are printed every
+ * {@code --report-every} and at the end, and full histograms are written to {@code --output-dir}.
+ * <p>
+ * Run with {@code mvn -Pload-test verify -Dload.args="--rate=500 --duration=10m"}.
+ */
+public final class LoadGenerator {
+
+    private static final int RECENT_ORDER_IDS = 10_000;
+    private static final String REACTIVE_APPLICATION = "com.order.processing.reactive.ReactiveApplication";
+
+    private final LoadTestOptions options;
+    private final String baseUrl;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final PrintStream out = System.out;
+
+    private final Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+    private final Endpoint[] weightedEndpoints;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /** Ring of recently created order IDs, the targets of reads and cancellations. */
+    private final AtomicReferenceArray<UUID> recentOrderIds = new AtomicReferenceArray<>(RECENT_ORDER_IDS);
+    private final AtomicLong createdOrders = new AtomicLong();
+    private List<Long> itemIds;
+
+    LoadGenerator(LoadTestOptions options, String baseUrl) {
+        this.options = options;
+        this.baseUrl = baseUrl;
+        this.client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+        for (Endpoint endpoint : Endpoint.values()) {
+            stats.put(endpoint, new EndpointStats());
+        }
+        List<Endpoint> weighted = new ArrayList<>();
+        options.mix().forEach((endpoint, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                weighted.add(endpoint);
+            }
+        });
+        this.weightedEndpoints = weighted.toArray(Endpoint[]::new);
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        ConfigurableApplicationContext application = null;
+        String baseUrl = options.baseUrl();
+        if (baseUrl == null) {
+            application = startApplication(options.stack(), options.appArgs());
+            baseUrl = "http://localhost:" + application.getEnvironment().getProperty("local.server.port");
+        }
+        try {
+            new LoadGenerator(options, baseUrl).run();
+        } finally {
+            if (application != null) {
+                application.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication(LoadTestOptions.Stack stack, List<String> appArgs)
+            throws ClassNotFoundException {
+        // Looked up by name: the reactive stack is only compiled with -Preactive
+        Class<?> applicationClass = stack == LoadTestOptions.Stack.REACTIVE
+            ? Class.forName(REACTIVE_APPLICATION)
+            : Application.class;
+        List<String> args = new ArrayList<>(List.of(
+            stack == LoadTestOptions.Stack.REACTIVE ? "--spring.profiles.active=test,reactive" : "--spring.profiles.active=test",
+            "--server.port=0",
+            "--spring.jpa.show-sql=false",
+            // The base configuration logs every SQL statement and bind parameter
+            "--logging.level.root=WARN",
+            "--logging.level.org.hibernate.SQL=WARN",
+            "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+            "--logging.level.com.zaxxer.hikari=WARN",
+            "--logging.level.com.order.processing.system=INFO"));
+        args.addAll(appArgs);
+        return SpringApplication.run(applicationClass, args.toArray(String[]::new));
+    }
+
+    void run() throws Exception {
+        itemIds = loadItemIds();
+        if (itemIds.isEmpty()) {
+            throw new IllegalStateException("The target has no items to order");
+        }
+        for (int i = 0; i < options.seedOrders(); i++) {
+            HttpResponse<String> response = client.send(createRequest(), HttpResponse.BodyHandlers.ofString());
+            rememberCreatedOrder(response);
+        }
+
+        out.printf("Target %s, %.1f req/s (%s arrivals), warm-up %s, duration %s, mix %s%n",
+            baseUrl, options.rate(), options.arrivals(), options.warmup(), options.duration(), options.mix());
+        if (!options.warmup().isZero()) {
+            drive(options.warmup());
+            awaitInFlight();
+            stats.values().forEach(EndpointStats::reset);
+        }
+
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor();
+        long reportMillis = options.reportEvery().toMillis();
+        reporter.scheduleAtFixedRate(() -> report("interval", reportMillis / 1000.0, false),
+            reportMillis, reportMillis, TimeUnit.MILLISECONDS);
+        long started = System.nanoTime();
+        long cpuStarted = processCpuNanos();
+        try {
+            drive(options.duration());
+            awaitInFlight();
+        } finally {
+            reporter.shutdownNow();
+            reporter.awaitTermination(5, TimeUnit.SECONDS);
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        report("total", seconds, true);
+        reportCpu(seconds, (processCpuNanos() - cpuStarted) / 1e9);
+        writeHistograms();
+    }
+
+    /**
+     * Issues arrivals at the target rate for the given time. The dispatcher never waits for
+     * responses; if it falls behind it fires immediately, keeping each arrival's intended time.
+     */
+    private void drive(Duration length) {
+        long start = System.nanoTime();
+        long end = start + length.toNanos();
+        double meanGapNanos = 1e9 / options.rate();
+        long intended = start;
+        while (intended < end) {
+            long now = System.nanoTime();
+            if (now < intended) {
+                LockSupport.parkNanos(intended - now);
+                continue;
+            }
+            fire(intended);
+            intended += nextGap(meanGapNanos);
+        }
+    }
+
+    private long nextGap(double meanGapNanos) {
+        if (options.arrivals() == LoadTestOptions.Arrivals.UNIFORM) {
+            return Math.max(1, Math.round(meanGapNanos));
+        }
+        return Math.max(1, Math.round(-Math.log(1 - ThreadLocalRandom.current().nextDouble()) * meanGapNanos));
+    }
+
+    private void fire(long intendedStart) {
+        Endpoint endpoint = weightedEndpoints[ThreadLocalRandom.current().nextInt(weightedEndpoints.length)];
+        EndpointStats endpointStats = stats.get(endpoint);
+        if (inFlight.incrementAndGet() > options.maxInFlight()) {
+            inFlight.decrementAndGet();
+            endpointStats.recordDropped();
+            return;
+        }
+        HttpRequest request;
+        try {
+            request = buildRequest(endpoint);
+        } catch (IOException e) {
+            inFlight.decrementAndGet();
+            throw new IllegalStateException("Could not build request for " + endpoint, e);
+        }
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+            .whenComplete((response, error) -> {
+                long latencyMicros = (System.nanoTime() - intendedStart) / 1_000;
+                inFlight.decrementAndGet();
+                if (error != null) {
+                    endpointStats.recordFailure(latencyMicros);
+                    return;
+                }
+                endpointStats.record(latencyMicros, response.statusCode());
+                if (endpoint == Endpoint.CREATE) {
+                    rememberCreatedOrder(response);
+                }
+            });
+    }
+
+    private HttpRequest buildRequest(Endpoint endpoint) throws IOException {
+        return switch (endpoint) {
+            case CREATE -> createRequest();
+            case GET -> HttpRequest.newBuilder(uri("/api/orders/" + randomOrderId())).GET().build();
+            case LIST -> {
+                OrderStatus[] statuses = OrderStatus.values();
+                OrderStatus status = statuses[ThreadLocalRandom.current().nextInt(statuses.length)];
+                yield HttpRequest.newBuilder(uri("/api/orders?limit=20&status=" + status)).GET().build();
+            }
+            case CANCEL -> HttpRequest.newBuilder(uri("/api/orders/" + randomOrderId() + "/cancel"))
+                .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                .build();
+        };
+    }
+
+    private HttpRequest createRequest() throws IOException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        ObjectNode body = objectMapper.createObjectNode();
+        body.put("customerId", options.customerId());
+        ArrayNode lines = body.putArray("items");
+        int lineCount = 1 + random.nextInt(Math.max(1, options.maxLines()));
+        for (int i = 0; i < lineCount; i++) {
+            lines.addObject()
+                .put("itemId", itemIds.get(random.nextInt(itemIds.size())))
+                .put("quantity", 1 + random.nextInt(3));
+        }
+        return HttpRequest.newBuilder(uri("/api/orders"))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+            .build();
+    }
+
+    private void rememberCreatedOrder(HttpResponse<String> response) {
+        if (response.statusCode() / 100 != 2) {
+            return;
+        }
+        try {
+            // 200 carries the order itself, 202 (asynchronous acceptance) an acceptance receipt
+            JsonNode body = objectMapper.readTree(response.body());
+            JsonNode id = body.has("orderId") ? body.get("orderId") : body.path("id");
+            long slot = createdOrders.getAndIncrement() % RECENT_ORDER_IDS;
+            recentOrderIds.set((int) slot, UUID.fromString(id.asText()));
+        } catch (IOException | IllegalArgumentException e) {
+            // Unparseable body: the request is still counted, it just won't be reused as a target
+        }
+    }
+
+    private UUID randomOrderId() {
+        long known = Math.min(createdOrders.get(), RECENT_ORDER_IDS);
+        UUID id = known == 0 ? null : recentOrderIds.get(ThreadLocalRandom.current().nextInt((int) known));
+        // Reads of an unknown order still exercise the lookup path (404)
+        return id != null ? id : UUID.randomUUID();
+    }
+
+    private List<Long> loadItemIds() throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(
+            HttpRequest.newBuilder(uri("/api/items")).GET().build(), HttpResponse.BodyHandlers.ofString());
+        List<Long> ids = new ArrayList<>();
+        objectMapper.readTree(response.body()).forEach(item -> ids.add(item.path("id").asLong()));
+        return ids;
+    }
+
+    private void awaitInFlight() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Prints one line per endpoint. Latencies and counts cover the interval (or the whole run
+     * when {@code cumulative}); the outcome columns are always totals since the warm-up.
+     */
+    private synchronized void report(String label, double seconds, boolean cumulative) {
+        out.printf("%n[%s] %.1fs%n", label, seconds);
+        out.printf("%-32s %9s %9s %9s %9s %9s %9s %7s %7s %7s %7s%n", "endpoint", "count", "req/s",
+            "p50 ms", "p99 ms", "p999 ms", "max ms", "4xx", "5xx", "failed", "dropped");
+        for (Endpoint endpoint : Endpoint.values()) {
+            EndpointStats endpointStats = stats.get(endpoint);
+            Histogram interval = endpointStats.drainInterval();
+            Histogram histogram = cumulative ? endpointStats.total() : interval;
+            if (!options.mix().containsKey(endpoint)) {
+                continue;
+            }
+            out.printf("%-32s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %7d %7d %7d %7d%n",
+                endpoint.label(),
+                histogram.getTotalCount(),
+                histogram.getTotalCount() / seconds,
+                histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getValueAtPercentile(99.9) / 1000.0,
+                histogram.getMaxValue() / 1000.0,
+                endpointStats.clientErrors(),
+                endpointStats.serverErrors(),
+                endpointStats.failures(),
+                endpointStats.dropped());
+        }
+    }
+
+    /**
+     * Prints the CPU time this process used during the measured phase, per request. When the
+     * application runs in-process this includes the generator's own share, which is the same
+     * for any target at a given rate, so the figure compares stacks by throughput per core.
+     */
+    private void reportCpu(double seconds, double cpuSeconds) {
+        long requests = stats.values().stream().mapToLong(endpointStats -> endpointStats.total().getTotalCount()).sum();
+        int cores = Runtime.getRuntime().availableProcessors();
+        out.printf("%nProcess CPU %.1f s over %.1f s (%.0f%% of %d core%s), %.3f ms per request%n",
+            cpuSeconds, seconds, 100 * cpuSeconds / (seconds * cores), cores, cores == 1 ? "" : "s",
+            requests == 0 ? 0.0 : 1000 * cpuSeconds / requests);
+    }
+
+    private static long processCpuNanos() {
+        return ((com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean())
+            .getProcessCpuTime();
+    }
+
+    private void writeHistograms() throws IOException {
+        Files.createDirectories(options.outputDir());
+        for (Endpoint endpoint : options.mix().keySet()) {
+            try (PrintStream file = new PrintStream(
+                    Files.newOutputStream(options.outputDir().resolve(endpoint.name().toLowerCase() + ".hgrm")))) {
+                // Values are recorded in microseconds; scale so the file reads in milliseconds
+                stats.get(endpoint).total().outputPercentileDistribution(file, 1000.0);
+            }
+        }
+        out.printf("%nLatency histograms written to %s%n", options.outputDir().toAbsolutePath());
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+}
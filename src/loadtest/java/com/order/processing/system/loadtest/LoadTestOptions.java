@@ -0,0 +1,133 @@
+package com.order.processing.system.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Settings of a load run, parsed from {@code --name=value} arguments.
+ * Arguments starting with {@code --spring.}, {@code --server.} or {@code --order-processing.}
+ * are passed through to the application started by the generator.
+ *
+ * @param rate          Target arrival rate across all endpoints, in requests per second
+ * @param duration      Length of the measured phase
+ * @param warmup        Length of the unmeasured warm-up phase before it
+ * @param reportEvery   Interval between progress reports
+ * @param arrivals      How arrival times are spaced
+ * @param mix           Relative weight of each endpoint
+ * @param maxInFlight   Arrivals beyond this many outstanding requests are dropped and counted
+ * @param maxLines      Maximum number of lines per created order
+ * @param customerId    Customer placing the generated orders
+ * @param seedOrders    Orders created before the run so reads and cancels have targets
+ * @param baseUrl       Target an already running instance instead of starting one
+ * @param stack         Which implementation of the API to start when no base URL is given
+ * @param outputDir     Where the per-endpoint latency histograms (.hgrm) are written
+ * @param appArgs       Arguments passed through to the started application
+ */
+record LoadTestOptions(double rate,
+                       Duration duration,
+                       Duration warmup,
+                       Duration reportEvery,
+                       Arrivals arrivals,
+                       Map<Endpoint, Integer> mix,
+                       int maxInFlight,
+                       int maxLines,
+                       long customerId,
+                       int seedOrders,
+                       String baseUrl,
+                       Stack stack,
+                       Path outputDir,
+                       List<String> appArgs) {
+
+    /**
+     * Spacing of arrivals. POISSON draws exponential gaps, which models independent clients;
+     * UNIFORM spaces arrivals evenly.
+     */
+    enum Arrivals { POISSON, UNIFORM }
+
+    /**
+     * Implementation of the API to start. REACTIVE is the WebFlux and R2DBC stack, which is
+     * only on the classpath when the reactive Maven profile is active too.
+     */
+    enum Stack { BLOCKING, REACTIVE }
+
+    static LoadTestOptions parse(String... args) {
+        double rate = 100;
+        Duration duration = Duration.ofSeconds(60);
+        Duration warmup = Duration.ofSeconds(10);
+        Duration reportEvery = Duration.ofSeconds(10);
+        Arrivals arrivals = Arrivals.POISSON;
+        Map<Endpoint, Integer> mix = parseMix("create=30,get=45,list=20,cancel=5");
+        int maxInFlight = 1000;
+        int maxLines = 5;
+        long customerId = 1;
+        int seedOrders = 50;
+        String baseUrl = null;
+        Stack stack = Stack.BLOCKING;
+        Path outputDir = Path.of("target", "loadtest");
+        List<String> appArgs = new ArrayList<>();
+
+        for (String arg : args) {
+            if (arg.isBlank()) {
+                continue;
+            }
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            String name = arg.substring(2, eq);
+            String value = arg.substring(eq + 1);
+            if (name.startsWith("spring.") || name.startsWith("server.") || name.startsWith("order-processing.")) {
+                appArgs.add(arg);
+                continue;
+            }
+            switch (name) {
+                case "rate" -> rate = Double.parseDouble(value);
+                case "duration" -> duration = parseDuration(value);
+                case "warmup" -> warmup = parseDuration(value);
+                case "report-every" -> reportEvery = parseDuration(value);
+                case "arrivals" -> arrivals = Arrivals.valueOf(value.toUpperCase(Locale.ROOT));
+                case "mix" -> mix = parseMix(value);
+                case "max-in-flight" -> maxInFlight = Integer.parseInt(value);
+                case "max-lines" -> maxLines = Integer.parseInt(value);
+                case "customer-id" -> customerId = Long.parseLong(value);
+                case "seed-orders" -> seedOrders = Integer.parseInt(value);
+                case "base-url" -> baseUrl = value;
+                case "stack" -> stack = Stack.valueOf(value.toUpperCase(Locale.ROOT));
+                case "output-dir" -> outputDir = Path.of(value);
+                default -> throw new IllegalArgumentException("Unknown option: --" + name);
+            }
+        }
+        if (rate <= 0) {
+            throw new IllegalArgumentException("--rate must be positive");
+        }
+        return new LoadTestOptions(rate, duration, warmup, reportEvery, arrivals, mix, maxInFlight,
+            maxLines, customerId, seedOrders, baseUrl, stack, outputDir, List.copyOf(appArgs));
+    }
+
+    /**
+     * Parses durations such as {@code 90s}, {@code 15m} or {@code 2h}.
+     */
+    private static Duration parseDuration(String value) {
+        return Duration.parse("PT" + value.toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Parses weights such as {@code create=30,get=45,list=20,cancel=5}; omitted endpoints get no traffic.
+     */
+    private static Map<Endpoint, Integer> parseMix(String value) {
+        Map<Endpoint, Integer> mix = new EnumMap<>(Endpoint.class);
+        for (String part : value.split(",")) {
+            String[] weight = part.trim().split("=");
+            mix.put(Endpoint.valueOf(weight[0].trim().toUpperCase(Locale.ROOT)), Integer.parseInt(weight[1].trim()));
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("--mix needs at least one positive weight");
+        }
+        return mix;
+    }
+}
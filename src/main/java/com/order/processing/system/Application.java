@@ -2,13 +2,19 @@ package com.order.processing.system;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
-@SpringBootApplication
+/**
+ * The blocking application. R2DBC is excluded: with {@code mvn -Preactive} it is on the
+ * classpath, and Boot would otherwise run {@code schema.sql} and {@code data.sql} against an
+ * R2DBC connection factory instead of the JDBC data source.
+ */
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
 @EnableScheduling
 @EnableAsync
 public class Application {
@@ -0,0 +1,355 @@
+package com.order.processing.system.analytics;
+
+import com.order.processing.system.cache.ExpiringCache;
+import com.order.processing.system.dto.CustomerStatsResponse;
+import com.order.processing.system.dto.OrderStatsResponse;
+import com.order.processing.system.model.Order;
+import com.order.processing.system.model.OrderStat;
+import com.order.processing.system.model.OrderStat.Metric;
+import com.order.processing.system.model.OrderStatus;
+import com.order.processing.system.repository.OrderRepository;
+import com.order.processing.system.repository.OrderStatRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Incrementally maintained order aggregates: orders per status, and orders and revenue per
+ * customer and per day. {@code OrderService} reports every creation, cancellation and promotion
+ * once its transaction commits; queries are answered from memory without touching the orders.
+ * <p>
+ * Changes accumulate as in-memory deltas and are periodically added to the {@code order_stats}
+ * table with relative updates, so several instances can flush concurrently. After each flush the
+ * status and recent day rows are reloaded, which picks up other instances' changes; customer rows
+ * are read on demand and cached briefly. An empty table is seeded from the orders on startup,
+ * before the server accepts requests.
+ * <p>
+ * Until startup completes, every transaction that reports a change holds the seed gate from the
+ * report until it completes, and seeding holds it exclusively. The seed therefore reads every
+ * change whose delta was already recorded, which it drops, and none of the changes reported after it.
+ */
+@Slf4j
+@Component
+public class OrderAnalytics implements SmartInitializingSingleton {
+
+    private final OrderStatRepository orderStatRepository;
+    private final OrderRepository orderRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int retentionDays;
+
+    /** Deltas not yet flushed. Recorders share the lock; a flush takes it exclusively to swap the map. */
+    private Map<OrderStat.Key, Delta> pending = new ConcurrentHashMap<>();
+    private final ReadWriteLock pendingLock = new ReentrantReadWriteLock();
+
+    /** Last reloaded status and day rows, plus the deltas of a flush in progress. */
+    private volatile View view = new View(Map.of(), Map.of());
+
+    /** Persisted customer rows; only cached if no flush completed while they were read. */
+    private final ExpiringCache<Long, Totals> customers;
+    private final AtomicLong flushes = new AtomicLong();
+
+    private final ReadWriteLock seedGate = new ReentrantReadWriteLock();
+    private volatile boolean initialized;
+
+    public OrderAnalytics(OrderStatRepository orderStatRepository,
+                          OrderRepository orderRepository,
+                          TransactionTemplate transactionTemplate,
+                          @Value("${order-processing.analytics.retention-days:400}") int retentionDays,
+                          @Value("${order-processing.analytics.customer-cache-size:10000}") int customerCacheSize,
+                          @Value("${order-processing.analytics.customer-cache-ttl:30s}") Duration customerCacheTtl) {
+        this.orderStatRepository = orderStatRepository;
+        this.orderRepository = orderRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.retentionDays = retentionDays;
+        this.customers = new ExpiringCache<>(customerCacheSize, customerCacheTtl);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        initialize();
+    }
+
+    /**
+     * Seeds the aggregates from the orders if the table is empty, then loads them. Waits for
+     * transactions that already reported a change to complete, and holds back new reports
+     * until the seed is written.
+     */
+    public synchronized void initialize() {
+        seedGate.writeLock().lock();
+        try {
+            if (orderStatRepository.count() == 0) {
+                try {
+                    int rows = transactionTemplate.execute(status -> seedFromOrders());
+                    // The seed read every change recorded so far
+                    pendingLock.writeLock().lock();
+                    try {
+                        pending = new ConcurrentHashMap<>();
+                    } finally {
+                        pendingLock.writeLock().unlock();
+                    }
+                    log.info("Seeded {} order aggregate rows from existing orders", rows);
+                } catch (DataIntegrityViolationException e) {
+                    log.info("Order aggregates were seeded concurrently by another instance");
+                }
+            }
+            view = new View(loadSnapshot(), Map.of());
+            initialized = true;
+        } finally {
+            seedGate.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Records a new order once the current transaction commits.
+     */
+    public void orderCreated(Order order) {
+        String customer = String.valueOf(order.getCustomer().getId());
+        String day = dayOf(order);
+        double total = order.getTotalAmount();
+        afterCommit(() -> {
+            record(Metric.STATUS, order.getStatus().name(), 1, 0);
+            record(Metric.CUSTOMER, customer, 1, total);
+            record(Metric.DAY, day, 1, total);
+        });
+    }
+
+    /**
+     * Records the cancellation of a PENDING order once the current transaction commits.
+     */
+    public void orderCancelled(Order order) {
+        String customer = String.valueOf(order.getCustomer().getId());
+        String day = dayOf(order);
+        double total = order.getTotalAmount();
+        afterCommit(() -> {
+            record(Metric.STATUS, OrderStatus.PENDING.name(), -1, 0);
+            record(Metric.STATUS, OrderStatus.CANCELLED.name(), 1, 0);
+            record(Metric.CUSTOMER, customer, -1, -total);
+            record(Metric.DAY, day, -1, -total);
+        });
+    }
+
+    /**
+     * Records the promotion of PENDING orders to PROCESSING once the current transaction commits.
+     */
+    public void ordersPromoted(int count) {
+        if (count == 0) {
+            return;
+        }
+        afterCommit(() -> {
+            record(Metric.STATUS, OrderStatus.PENDING.name(), -count, 0);
+            record(Metric.STATUS, OrderStatus.PROCESSING.name(), count, 0);
+        });
+    }
+
+    /**
+     * @param days Number of days to include, ending today
+     * @return Orders per status, and orders and revenue per day, oldest day first
+     */
+    public OrderStatsResponse getStats(int days) {
+        Map<OrderStatus, Long> byStatus = new EnumMap<>(OrderStatus.class);
+        for (OrderStatus status : OrderStatus.values()) {
+            byStatus.put(status, current(new OrderStat.Key(Metric.STATUS, status.name()), Totals.ZERO).orders());
+        }
+        List<OrderStatsResponse.DailyRevenue> daily = new ArrayList<>(days);
+        LocalDate today = LocalDate.now();
+        for (LocalDate day = today.minusDays(days - 1L); !day.isAfter(today); day = day.plusDays(1)) {
+            Totals totals = current(new OrderStat.Key(Metric.DAY, day.toString()), Totals.ZERO);
+            daily.add(new OrderStatsResponse.DailyRevenue(day, totals.orders(), totals.revenue()));
+        }
+        return new OrderStatsResponse(byStatus, daily);
+    }
+
+    /**
+     * @param customerId The customer
+     * @return The customer's non-cancelled orders and their revenue
+     */
+    public CustomerStatsResponse getCustomerStats(long customerId) {
+        Totals persisted = customers.get(customerId);
+        if (persisted == null) {
+            long flushesBeforeLoad = flushes.get();
+            persisted = orderStatRepository.findById(new OrderStat.Key(Metric.CUSTOMER, String.valueOf(customerId)))
+                .map(row -> new Totals(row.getOrderCount(), row.getRevenue()))
+                .orElse(Totals.ZERO);
+            // A flush that completed meanwhile may be missing from the row and is no longer pending
+            if (flushes.get() == flushesBeforeLoad) {
+                customers.put(customerId, persisted);
+            }
+        }
+        Totals totals = current(new OrderStat.Key(Metric.CUSTOMER, String.valueOf(customerId)), persisted);
+        return new CustomerStatsResponse(customerId, totals.orders(), totals.revenue());
+    }
+
+    /**
+     * Adds the pending deltas to the table and reloads the status and day rows.
+     * On failure the deltas are kept and retried by the next flush.
+     */
+    public synchronized void flush() {
+        Map<OrderStat.Key, Totals> flushing = new HashMap<>();
+        pendingLock.writeLock().lock();
+        try {
+            pending.forEach((key, delta) -> flushing.put(key, delta.totals()));
+            pending = new ConcurrentHashMap<>();
+        } finally {
+            pendingLock.writeLock().unlock();
+        }
+        view = new View(view.snapshot(), flushing);
+
+        try {
+            if (!flushing.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> flushing.forEach(this::write));
+            }
+            Map<OrderStat.Key, Totals> snapshot = loadSnapshot();
+            flushes.incrementAndGet();
+            flushing.keySet().stream()
+                .filter(key -> key.getMetric() == Metric.CUSTOMER)
+                .forEach(key -> customers.remove(Long.valueOf(key.getDimension())));
+            view = new View(snapshot, Map.of());
+        } catch (RuntimeException e) {
+            log.warn("Flushing {} order aggregate deltas failed, will retry: {}", flushing.size(), e.getMessage());
+            view = new View(view.snapshot(), Map.of());
+            flushing.forEach((key, totals) -> record(key, totals.orders(), totals.revenue()));
+        }
+    }
+
+    private void write(OrderStat.Key key, Totals delta) {
+        if (delta.isZero()) {
+            return;
+        }
+        int updated = orderStatRepository.increment(key.getMetric().name(), key.getDimension(), delta.orders(), delta.revenue());
+        if (updated == 0) {
+            orderStatRepository.saveAndFlush(new OrderStat(key, delta.orders(), delta.revenue()));
+        }
+    }
+
+    private int seedFromOrders() {
+        List<OrderStat> rows = new ArrayList<>();
+        for (Object[] row : orderRepository.countGroupedByStatus()) {
+            rows.add(new OrderStat(new OrderStat.Key(Metric.STATUS, ((OrderStatus) row[0]).name()), (Long) row[1], 0));
+        }
+        for (Object[] row : orderRepository.sumGroupedByCustomer(OrderStatus.CANCELLED)) {
+            rows.add(new OrderStat(new OrderStat.Key(Metric.CUSTOMER, String.valueOf(row[0])), (Long) row[1], (Double) row[2]));
+        }
+        for (Object[] row : orderRepository.sumGroupedByDay(OrderStatus.CANCELLED)) {
+            rows.add(new OrderStat(new OrderStat.Key(Metric.DAY, String.valueOf(row[0])), (Long) row[1], (Double) row[2]));
+        }
+        orderStatRepository.saveAllAndFlush(rows);
+        return rows.size();
+    }
+
+    private Map<OrderStat.Key, Totals> loadSnapshot() {
+        Map<OrderStat.Key, Totals> snapshot = new HashMap<>();
+        List<OrderStat> rows = new ArrayList<>(orderStatRepository.findByKeyMetric(Metric.STATUS));
+        rows.addAll(orderStatRepository.findByKeyMetricAndKeyDimensionGreaterThanEqual(
+            Metric.DAY, LocalDate.now().minusDays(retentionDays).toString()));
+        rows.forEach(row -> snapshot.put(row.getKey(), new Totals(row.getOrderCount(), row.getRevenue())));
+        return snapshot;
+    }
+
+    private Totals current(OrderStat.Key key, Totals persisted) {
+        View current = view;
+        Totals totals = key.getMetric() == Metric.CUSTOMER
+            ? persisted
+            : current.snapshot().getOrDefault(key, persisted);
+        Totals flushing = current.flushing().get(key);
+        if (flushing != null) {
+            totals = totals.plus(flushing);
+        }
+        Delta delta = pending.get(key);
+        return delta == null ? totals : totals.plus(delta.totals());
+    }
+
+    private void record(Metric metric, String dimension, long orders, double revenue) {
+        record(new OrderStat.Key(metric, dimension), orders, revenue);
+    }
+
+    private void record(OrderStat.Key key, long orders, double revenue) {
+        pendingLock.readLock().lock();
+        try {
+            pending.computeIfAbsent(key, k -> new Delta()).add(orders, revenue);
+        } finally {
+            pendingLock.readLock().unlock();
+        }
+    }
+
+    private static String dayOf(Order order) {
+        return (order.getCreatedAt() != null ? order.getCreatedAt().toLocalDate() : LocalDate.now()).toString();
+    }
+
+    private void afterCommit(Runnable action) {
+        boolean gated = !initialized;
+        if (gated) {
+            seedGate.readLock().lock();
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            try {
+                action.run();
+            } finally {
+                if (gated) {
+                    seedGate.readLock().unlock();
+                }
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (gated) {
+                    seedGate.readLock().unlock();
+                }
+            }
+        });
+    }
+
+    private record Totals(long orders, double revenue) {
+        static final Totals ZERO = new Totals(0, 0);
+
+        Totals plus(Totals other) {
+            return new Totals(orders + other.orders, revenue + other.revenue);
+        }
+
+        boolean isZero() {
+            return orders == 0 && revenue == 0;
+        }
+    }
+
+    private record View(Map<OrderStat.Key, Totals> snapshot, Map<OrderStat.Key, Totals> flushing) {
+    }
+
+    private static final class Delta {
+        private final LongAdder orders = new LongAdder();
+        private final DoubleAdder revenue = new DoubleAdder();
+
+        void add(long orderDelta, double revenueDelta) {
+            orders.add(orderDelta);
+            revenue.add(revenueDelta);
+        }
+
+        Totals totals() {
+            return new Totals(orders.sum(), revenue.sum());
+        }
+    }
+}
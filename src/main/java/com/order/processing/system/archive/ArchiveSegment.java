@@ -0,0 +1,268 @@
+package com.order.processing.system.archive;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * One immutable archive file. Records are sorted by order ID and grouped into blocks that are
+ * deflate-compressed independently; a footer holds a sparse index with the first ID and file
+ * position of every block, plus a Bloom filter over all IDs. A lookup consults the Bloom filter,
+ * binary-searches the sparse index and inflates a single block.
+ * <pre>
+ * block*                     deflate( (msb:long lsb:long length:int payload:byte[length])* )
+ * index                      count:int (firstMsb:long firstLsb:long offset:long length:int)*
+ * bloom                      hashes:int words:int word:long*
+ * footer                     indexOffset:long records:int MAGIC:int
+ * </pre>
+ * Segments are written to a temporary file and atomically renamed, so a segment file is
+ * either complete or absent.
+ */
+final class ArchiveSegment implements AutoCloseable {
+
+    static final String SUFFIX = ".seg";
+    private static final int MAGIC = 0x4f524431; // "ORD1"
+    private static final int FOOTER_BYTES = Long.BYTES + Integer.BYTES + Integer.BYTES;
+    private static final int BLOOM_BITS_PER_RECORD = 10;
+    private static final int BLOOM_HASHES = 7;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final UUID[] firstIds;
+    private final long[] offsets;
+    private final int[] lengths;
+    private final long[] bloom;
+    private final int bloomHashes;
+    private final int records;
+
+    private ArchiveSegment(Path path, FileChannel channel, UUID[] firstIds, long[] offsets, int[] lengths,
+                           long[] bloom, int bloomHashes, int records) {
+        this.path = path;
+        this.channel = channel;
+        this.firstIds = firstIds;
+        this.offsets = offsets;
+        this.lengths = lengths;
+        this.bloom = bloom;
+        this.bloomHashes = bloomHashes;
+        this.records = records;
+    }
+
+    /**
+     * Writes the records as a new segment at {@code target}.
+     *
+     * @param target         The final segment path; must not exist yet
+     * @param records        Serialized records keyed by order ID
+     * @param recordsPerBlock How many records share one compressed block
+     */
+    static void write(Path target, Map<UUID, byte[]> records, int recordsPerBlock) throws IOException {
+        List<Map.Entry<UUID, byte[]>> sorted = new ArrayList<>(records.entrySet());
+        sorted.sort(Map.Entry.comparingByKey(Comparator.naturalOrder()));
+        long[] bloom = new long[Math.max(1, (sorted.size() * BLOOM_BITS_PER_RECORD + 63) / 64)];
+        sorted.forEach(entry -> addToBloom(bloom, BLOOM_HASHES, entry.getKey()));
+
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            ByteArrayOutputStream index = new ByteArrayOutputStream();
+            DataOutputStream indexOut = new DataOutputStream(index);
+            int blocks = (sorted.size() + recordsPerBlock - 1) / recordsPerBlock;
+            indexOut.writeInt(blocks);
+            long offset = 0;
+            for (int from = 0; from < sorted.size(); from += recordsPerBlock) {
+                List<Map.Entry<UUID, byte[]>> block = sorted.subList(from, Math.min(from + recordsPerBlock, sorted.size()));
+                byte[] compressed = compress(block);
+                UUID first = block.get(0).getKey();
+                indexOut.writeLong(first.getMostSignificantBits());
+                indexOut.writeLong(first.getLeastSignificantBits());
+                indexOut.writeLong(offset);
+                indexOut.writeInt(compressed.length);
+                writeFully(out, ByteBuffer.wrap(compressed));
+                offset += compressed.length;
+            }
+            indexOut.writeInt(BLOOM_HASHES);
+            indexOut.writeInt(bloom.length);
+            for (long word : bloom) {
+                indexOut.writeLong(word);
+            }
+            indexOut.writeLong(offset);
+            indexOut.writeInt(sorted.size());
+            indexOut.writeInt(MAGIC);
+            writeFully(out, ByteBuffer.wrap(index.toByteArray()));
+            out.force(true);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Opens a segment and loads its index and Bloom filter into memory.
+     */
+    static ArchiveSegment open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size < FOOTER_BYTES) {
+                throw new IOException("Truncated archive segment " + path);
+            }
+            ByteBuffer footer = read(channel, size - FOOTER_BYTES, FOOTER_BYTES);
+            long indexOffset = footer.getLong();
+            int records = footer.getInt();
+            if (footer.getInt() != MAGIC) {
+                throw new IOException("Not an archive segment: " + path);
+            }
+            ByteBuffer index = read(channel, indexOffset, Math.toIntExact(size - FOOTER_BYTES - indexOffset));
+            int blocks = index.getInt();
+            UUID[] firstIds = new UUID[blocks];
+            long[] offsets = new long[blocks];
+            int[] lengths = new int[blocks];
+            for (int i = 0; i < blocks; i++) {
+                firstIds[i] = new UUID(index.getLong(), index.getLong());
+                offsets[i] = index.getLong();
+                lengths[i] = index.getInt();
+            }
+            int bloomHashes = index.getInt();
+            long[] bloom = new long[index.getInt()];
+            index.asLongBuffer().get(bloom);
+            return new ArchiveSegment(path, channel, firstIds, offsets, lengths, bloom, bloomHashes, records);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @param id The order ID
+     * @return The serialized record, if this segment holds the order
+     */
+    Optional<byte[]> find(UUID id) {
+        if (!mightContain(bloom, bloomHashes, id)) {
+            return Optional.empty();
+        }
+        int block = Arrays.binarySearch(firstIds, id);
+        if (block < 0) {
+            block = -block - 2; // the block starting before the insertion point
+        }
+        if (block < 0) {
+            return Optional.empty();
+        }
+        try (DataInputStream in = new DataInputStream(new InflaterInputStream(
+                new ByteArrayInputStream(read(channel, offsets[block], lengths[block]).array())))) {
+            while (true) {
+                UUID recordId = new UUID(in.readLong(), in.readLong());
+                byte[] payload = new byte[in.readInt()];
+                in.readFully(payload);
+                int order = recordId.compareTo(id);
+                if (order == 0) {
+                    return Optional.of(payload);
+                }
+                if (order > 0) {
+                    return Optional.empty();
+                }
+            }
+        } catch (EOFException endOfBlock) {
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read archive segment " + path, e);
+        }
+    }
+
+    Path path() {
+        return path;
+    }
+
+    int records() {
+        return records;
+    }
+
+    long sizeBytes() throws IOException {
+        return channel.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static byte[] compress(List<Map.Entry<UUID, byte[]>> block) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes, deflater))) {
+            for (Map.Entry<UUID, byte[]> record : block) {
+                out.writeLong(record.getKey().getMostSignificantBits());
+                out.writeLong(record.getKey().getLeastSignificantBits());
+                out.writeInt(record.getValue().length);
+                out.write(record.getValue());
+            }
+        } finally {
+            deflater.end();
+        }
+        return bytes.toByteArray();
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of archive segment");
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static void addToBloom(long[] bloom, int hashes, UUID id) {
+        long bits = bloom.length * 64L;
+        long h1 = mix(id.getMostSignificantBits());
+        long h2 = mix(id.getLeastSignificantBits()) | 1;
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bits);
+            bloom[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    private static boolean mightContain(long[] bloom, int hashes, UUID id) {
+        long bits = bloom.length * 64L;
+        long h1 = mix(id.getMostSignificantBits());
+        long h2 = mix(id.getLeastSignificantBits()) | 1;
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bits);
+            if ((bloom[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Stafford variant 13 of the SplitMix64 finalizer. */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
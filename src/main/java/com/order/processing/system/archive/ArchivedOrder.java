@@ -0,0 +1,21 @@
+package com.order.processing.system.archive;
+
+import com.order.processing.system.dto.OrderResponse;
+import com.order.processing.system.dto.OrderVersion;
+
+/**
+ * An order as it was when it left the hot tables: its final representation and the
+ * version its entity tag was derived from, so conditional requests keep matching.
+ *
+ * @param order   The order's representation at archival time
+ * @param version The order's optimistic-lock version at archival time
+ */
+public record ArchivedOrder(OrderResponse order, long version) {
+
+    /**
+     * @return The version fields the order's entity tag is computed from
+     */
+    public OrderVersion orderVersion() {
+        return new OrderVersion(version, order.getUpdatedAt());
+    }
+}
@@ -0,0 +1,208 @@
+package com.order.processing.system.archive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+
+/**
+ * Cold storage for orders moved out of the hot tables. Every {@link #append} writes one new,
+ * immutable, compressed segment file to the archive directory; segments are never modified, so
+ * reads need no locking. The sparse index and Bloom filter of every segment are held in memory,
+ * so a lookup costs a few in-memory probes and at most one small block read per candidate segment.
+ * <p>
+ * Other instances may write segments to a shared directory. A lookup that misses every open
+ * segment therefore lists the directory for segments it has not opened yet, at most once per
+ * {@code rescan-interval}, so an order archived elsewhere is found without a restart.
+ */
+@Slf4j
+@Component
+public class OrderArchive {
+
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+    private final int recordsPerBlock;
+    private final long rescanIntervalNanos;
+    private final LongSupplier nanoClock;
+
+    /** Open segments, newest first. */
+    private final List<ArchiveSegment> segments = new CopyOnWriteArrayList<>();
+    private final Set<Path> openPaths = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock rescanLock = new ReentrantLock();
+    /** Guarded by {@link #rescanLock}. */
+    private long lastRescan;
+
+    @Autowired
+    public OrderArchive(ObjectMapper objectMapper,
+                        @Value("${order-processing.archive.directory:data/order-archive}") Path directory,
+                        @Value("${order-processing.archive.orders-per-block:64}") int recordsPerBlock,
+                        @Value("${order-processing.archive.rescan-interval:1s}") Duration rescanInterval) {
+        this(objectMapper, directory, recordsPerBlock, rescanInterval, System::nanoTime);
+    }
+
+    OrderArchive(ObjectMapper objectMapper, Path directory, int recordsPerBlock, Duration rescanInterval, LongSupplier nanoClock) {
+        this.objectMapper = objectMapper;
+        this.directory = directory;
+        this.recordsPerBlock = recordsPerBlock;
+        this.rescanIntervalNanos = rescanInterval.toNanos();
+        this.nanoClock = nanoClock;
+        this.lastRescan = nanoClock.getAsLong() - rescanIntervalNanos;
+    }
+
+    /**
+     * Opens the existing segments and removes temporary files left by interrupted writes.
+     */
+    @PostConstruct
+    void open() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.sorted().toList()) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(ArchiveSegment.SUFFIX + ".tmp")) {
+                    Files.delete(file);
+                } else if (name.endsWith(ArchiveSegment.SUFFIX) && openPaths.add(file)) {
+                    segments.add(0, ArchiveSegment.open(file));
+                }
+            }
+        }
+        if (!segments.isEmpty()) {
+            log.info("Opened {} order archive segments holding {} orders in {}",
+                segments.size(), archivedOrders(), directory.toAbsolutePath());
+        }
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        for (ArchiveSegment segment : segments) {
+            segment.close();
+        }
+        segments.clear();
+        openPaths.clear();
+    }
+
+    /**
+     * Writes the orders to a new segment. Once this returns, the orders are durable and
+     * visible to {@link #find}; only then may they be removed from the hot tables.
+     *
+     * @param orders The orders to archive
+     * @throws UncheckedIOException if the segment cannot be written
+     */
+    public void append(List<ArchivedOrder> orders) {
+        if (orders.isEmpty()) {
+            return;
+        }
+        try {
+            Map<UUID, byte[]> records = new LinkedHashMap<>();
+            for (ArchivedOrder order : orders) {
+                records.put(order.order().getId(), objectMapper.writeValueAsBytes(order));
+            }
+            Files.createDirectories(directory);
+            // Time-ordered and unique even when several instances share the directory
+            Path file = directory.resolve(String.format("orders-%013d-%08x%s",
+                System.currentTimeMillis(), ThreadLocalRandom.current().nextInt(), ArchiveSegment.SUFFIX));
+            ArchiveSegment.write(file, records, recordsPerBlock);
+            openPaths.add(file);
+            segments.add(0, ArchiveSegment.open(file));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write order archive segment", e);
+        }
+    }
+
+    /**
+     * @param id The order ID
+     * @return The archived order, if any segment holds it, including segments other instances
+     *         wrote since the last rescan
+     * @throws UncheckedIOException if a segment cannot be read
+     */
+    public Optional<ArchivedOrder> find(UUID id) {
+        Optional<ArchivedOrder> found = find(segments, id);
+        return found.isPresent() ? found : find(openNewSegments(), id);
+    }
+
+    private Optional<ArchivedOrder> find(List<ArchiveSegment> candidates, UUID id) {
+        for (ArchiveSegment segment : candidates) {
+            Optional<byte[]> record = segment.find(id);
+            if (record.isPresent()) {
+                try {
+                    return Optional.of(objectMapper.readValue(record.get(), ArchivedOrder.class));
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Corrupt archived order " + id + " in " + segment.path(), e);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Opens segments that appeared in the directory since it was last listed, unless it was
+     * listed less than the rescan interval ago.
+     *
+     * @return The newly opened segments
+     */
+    private List<ArchiveSegment> openNewSegments() {
+        rescanLock.lock();
+        try {
+            long now = nanoClock.getAsLong();
+            if (now - lastRescan < rescanIntervalNanos || !Files.isDirectory(directory)) {
+                return List.of();
+            }
+            lastRescan = now;
+            List<ArchiveSegment> added = new ArrayList<>();
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : files.sorted().toList()) {
+                    if (file.getFileName().toString().endsWith(ArchiveSegment.SUFFIX) && openPaths.add(file)) {
+                        ArchiveSegment segment = ArchiveSegment.open(file);
+                        segments.add(0, segment);
+                        added.add(segment);
+                    }
+                }
+            }
+            if (!added.isEmpty()) {
+                log.info("Opened {} order archive segments written by other instances", added.size());
+            }
+            return added;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to scan order archive directory " + directory, e);
+        } finally {
+            rescanLock.unlock();
+        }
+    }
+
+    /**
+     * @return Number of orders across all open segments
+     */
+    public long archivedOrders() {
+        return segments.stream().mapToLong(ArchiveSegment::records).sum();
+    }
+
+    /**
+     * @return Number of open segments
+     */
+    public int segmentCount() {
+        return segments.size();
+    }
+}
@@ -0,0 +1,94 @@
+package com.order.processing.system.cache;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded map whose entries expire a fixed time after they were written.
+ * Entries are kept in insertion order, so with a single TTL the eldest entry is always the
+ * next to expire: expired entries are purged from the head on every write, and once the
+ * size bound is reached the eldest entry is dropped early.
+ *
+ * @param <K> The key type
+ * @param <V> The cached value type
+ */
+public class ExpiringCache<K, V> {
+
+    private final int capacity;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>();
+
+    /**
+     * Creates a cache holding at most {@code capacity} entries for {@code ttl} each.
+     *
+     * @param capacity Maximum number of entries, must be positive
+     * @param ttl      How long an entry stays readable after it was written
+     */
+    public ExpiringCache(int capacity, Duration ttl) {
+        this(capacity, ttl, System::nanoTime);
+    }
+
+    ExpiringCache(int capacity, Duration ttl, LongSupplier nanoClock) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * @return The value stored under {@code key}, or null if absent or expired
+     */
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (nanoClock.getAsLong() - entry.expiresAt() >= 0) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.value();
+    }
+
+    /**
+     * Stores {@code value} under {@code key}, replacing any previous value and restarting its TTL.
+     */
+    public synchronized void put(K key, V value) {
+        long now = nanoClock.getAsLong();
+        purgeExpired(now);
+        entries.remove(key);
+        entries.put(key, new Entry<>(value, now + ttlNanos));
+        if (entries.size() > capacity) {
+            Iterator<K> eldest = entries.keySet().iterator();
+            eldest.next();
+            eldest.remove();
+        }
+    }
+
+    /**
+     * Removes the entry stored under {@code key}, if any.
+     */
+    public synchronized void remove(K key) {
+        entries.remove(key);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private void purgeExpired(long now) {
+        Iterator<Map.Entry<K, Entry<V>>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext() && now - iterator.next().getValue().expiresAt() >= 0) {
+            iterator.remove();
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+}
@@ -0,0 +1,225 @@
+package com.order.processing.system.cache;
+
+import com.order.processing.system.dto.CatalogItem;
+import com.order.processing.system.model.Item;
+import com.order.processing.system.repository.ItemRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process, read-through cache of the item catalog.
+ * Items change rarely and only through {@code ItemService}, which notifies this cache of every
+ * write; all other catalog reads (item lookups, order creation, order response mapping)
+ * are served from memory and only go to the database on a miss.
+ * <p>
+ * Entries are immutable {@link CatalogItem} snapshots rather than entities, so callers that
+ * share them can neither change them nor attach them to a persistence context.
+ * <p>
+ * Each instance caches independently, so writes made by another instance become visible
+ * here only once the affected entries are evicted or the cache is invalidated.
+ */
+@Component
+public class ItemCatalogCache {
+
+    private static final String CACHE_NAME = "itemCatalog";
+
+    private final ItemRepository itemRepository;
+    private final LongKeyedCache<CatalogItem> items;
+
+    /** Bumped on every write, so loads that raced with a write don't repopulate stale data. */
+    private final AtomicLong version = new AtomicLong();
+
+    /** Distinguishes this cache's versions from those of earlier runs and other instances. */
+    private final String epoch = Long.toHexString(ThreadLocalRandom.current().nextLong());
+
+    /** Full catalog listing, kept only while the catalog fits in the cache. */
+    private volatile List<CatalogItem> allItems;
+
+    public ItemCatalogCache(ItemRepository itemRepository,
+                            MeterRegistry meterRegistry,
+                            @Value("${order-processing.item-cache.max-size:10000}") int maxSize) {
+        this.itemRepository = itemRepository;
+        this.items = new LongKeyedCache<>(maxSize);
+
+        FunctionCounter.builder("cache.gets", items, LongKeyedCache::hitCount)
+                .tag("cache", CACHE_NAME).tag("result", "hit")
+                .description("The number of times cache lookup methods have returned a cached value.")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.gets", items, LongKeyedCache::missCount)
+                .tag("cache", CACHE_NAME).tag("result", "miss")
+                .description("The number of times cache lookup methods have returned an uncached value.")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.evictions", items, LongKeyedCache::evictionCount)
+                .tag("cache", CACHE_NAME)
+                .description("The number of times the cache was evicted.")
+                .register(meterRegistry);
+        Gauge.builder("cache.size", items, LongKeyedCache::size)
+                .tag("cache", CACHE_NAME)
+                .description("The number of entries in this cache.")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the item with the given ID, loading it on a miss.
+     *
+     * @param id The item ID
+     * @return Optional containing the item if it exists
+     */
+    public Optional<CatalogItem> get(long id) {
+        CatalogItem cached = items.get(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        long versionBeforeLoad = version.get();
+        Optional<CatalogItem> loaded = itemRepository.findById(id).map(CatalogItem::of);
+        loaded.ifPresent(item -> putIfUnchanged(item, versionBeforeLoad));
+        return loaded;
+    }
+
+    /**
+     * Returns the items with the given IDs, loading all misses with a single query.
+     * IDs that don't exist are absent from the result.
+     *
+     * @param ids The item IDs
+     * @return Map of item ID to item
+     */
+    public Map<Long, CatalogItem> getAll(Collection<Long> ids) {
+        Map<Long, CatalogItem> result = new HashMap<>(ids.size() * 2);
+        Set<Long> missing = new HashSet<>();
+        for (Long id : ids) {
+            CatalogItem cached = items.get(id);
+            if (cached != null) {
+                result.put(id, cached);
+            } else {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            long versionBeforeLoad = version.get();
+            for (Item entity : itemRepository.findAllById(missing)) {
+                CatalogItem item = CatalogItem.of(entity);
+                result.put(item.id(), item);
+                putIfUnchanged(item, versionBeforeLoad);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the whole catalog. The listing is served from memory while the catalog
+     * fits within the cache bound; larger catalogs are read from the database each time.
+     *
+     * @return List of all items
+     */
+    public List<CatalogItem> findAll() {
+        List<CatalogItem> snapshot = allItems;
+        if (snapshot != null) {
+            return snapshot;
+        }
+        long versionBeforeLoad = version.get();
+        List<CatalogItem> loaded = itemRepository.findAll().stream().map(CatalogItem::of).toList();
+        if (loaded.size() <= items.capacity()) {
+            loaded.forEach(item -> putIfUnchanged(item, versionBeforeLoad));
+            synchronized (this) {
+                if (version.get() == versionBeforeLoad) {
+                    allItems = loaded;
+                }
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Current catalog version; changes whenever an item is created, updated or deleted.
+     *
+     * @return The catalog version
+     */
+    public long version() {
+        return version.get();
+    }
+
+    /**
+     * Catalog version qualified by this cache instance, usable as an entity tag: versions
+     * restart at zero on every start, so the bare number could repeat for a different catalog.
+     * Read it before the catalog, so a concurrent write makes the tag older rather than newer.
+     *
+     * @return The qualified catalog version, without quotes
+     */
+    public String versionTag() {
+        return epoch + "-" + version.get();
+    }
+
+    /**
+     * Writes the given items through to the cache once the current transaction commits,
+     * or immediately when no transaction is active.
+     *
+     * @param saved The items that were created or updated
+     */
+    public void putAfterCommit(Collection<Item> saved) {
+        List<CatalogItem> copy = saved.stream().map(CatalogItem::of).toList();
+        invalidate(List.of());
+        afterCommit(() -> {
+            invalidate(List.of());
+            copy.forEach(item -> items.put(item.id(), item));
+        });
+    }
+
+    /**
+     * Evicts the given items now and again once the current transaction commits,
+     * so a concurrent read of the old row can't repopulate the cache in between.
+     *
+     * @param ids The IDs of the items that were deleted or changed
+     */
+    public void evictAfterCommit(Collection<Long> ids) {
+        List<Long> copy = List.copyOf(ids);
+        invalidate(copy);
+        afterCommit(() -> invalidate(copy));
+    }
+
+    private void invalidate(Collection<Long> ids) {
+        synchronized (this) {
+            version.incrementAndGet();
+            allItems = null;
+        }
+        ids.forEach(items::remove);
+    }
+
+    private void putIfUnchanged(CatalogItem item, long versionBeforeLoad) {
+        if (version.get() != versionBeforeLoad) {
+            return;
+        }
+        items.put(item.id(), item);
+        // A write that landed between the check and the put may have missed this entry
+        if (version.get() != versionBeforeLoad) {
+            items.remove(item.id());
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,229 @@
+package com.order.processing.system.cache;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Bounded map from primitive {@code long} keys to values, with CLOCK (second-chance) eviction.
+ * Keys live in a {@code long[]} with open addressing, so lookups neither box the key
+ * nor allocate entry objects. Reads take a shared lock; writes and evictions take an exclusive one.
+ *
+ * @param <V> The cached value type
+ */
+public class LongKeyedCache<V> {
+
+    private final int capacity;
+    private final int mask;
+    private final long[] keys;
+    private final Object[] values;
+    private final boolean[] referenced;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private int size;
+    private int clockHand;
+
+    /**
+     * Creates a cache holding at most {@code capacity} entries.
+     *
+     * @param capacity Maximum number of entries, must be positive
+     */
+    public LongKeyedCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        // Keep the load factor at or below 0.5 so linear probe sequences stay short
+        int tableSize = Integer.highestOneBit(Math.max(2, capacity * 2 - 1)) << 1;
+        this.mask = tableSize - 1;
+        this.keys = new long[tableSize];
+        this.values = new Object[tableSize];
+        this.referenced = new boolean[tableSize];
+    }
+
+    /**
+     * Returns the value for the key and marks it recently used, or null if absent.
+     *
+     * @param key The key to look up
+     * @return The cached value, or null on a miss
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        lock.readLock().lock();
+        try {
+            int slot = find(key);
+            if (slot < 0) {
+                misses.increment();
+                return null;
+            }
+            // Benign race: concurrent readers may all set the same flag
+            referenced[slot] = true;
+            hits.increment();
+            return (V) values[slot];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Inserts or replaces the value for the key, evicting an entry if the cache is full.
+     *
+     * @param key   The key
+     * @param value The value, must not be null
+     */
+    public void put(long key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Value must not be null");
+        }
+        lock.writeLock().lock();
+        try {
+            int slot = find(key);
+            if (slot >= 0) {
+                values[slot] = value;
+                referenced[slot] = true;
+                return;
+            }
+            if (size == capacity) {
+                evictOne();
+            }
+            slot = indexFor(key);
+            while (values[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            values[slot] = value;
+            referenced[slot] = false;
+            size++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the entry for the key, if present.
+     *
+     * @param key The key to remove
+     */
+    public void remove(long key) {
+        lock.writeLock().lock();
+        try {
+            int slot = find(key);
+            if (slot >= 0) {
+                delete(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes all entries. Hit, miss and eviction counters are kept.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            Arrays.fill(values, null);
+            Arrays.fill(referenced, false);
+            size = 0;
+            clockHand = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    private int find(long key) {
+        int slot = indexFor(key);
+        while (values[slot] != null) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private int indexFor(long key) {
+        // Fibonacci hashing spreads sequential database ids across the table
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+
+    /**
+     * Advances the clock hand, giving recently used entries a second chance,
+     * and removes the first entry that has not been used since the last sweep.
+     */
+    private void evictOne() {
+        while (true) {
+            int slot = clockHand;
+            clockHand = (clockHand + 1) & mask;
+            if (values[slot] == null) {
+                continue;
+            }
+            if (referenced[slot]) {
+                referenced[slot] = false;
+                continue;
+            }
+            delete(slot);
+            evictions.increment();
+            return;
+        }
+    }
+
+    /**
+     * Removes the entry at the slot and shifts later entries of the same probe run back,
+     * so lookups never need tombstones.
+     */
+    private void delete(int slot) {
+        int hole = slot;
+        int next = slot;
+        while (true) {
+            next = (next + 1) & mask;
+            if (values[next] == null) {
+                break;
+            }
+            int home = indexFor(keys[next]);
+            // Move the entry into the hole unless its home slot lies cyclically in (hole, next]
+            boolean homeBetween = hole <= next
+                    ? hole < home && home <= next
+                    : hole < home || home <= next;
+            if (!homeBetween) {
+                keys[hole] = keys[next];
+                values[hole] = values[next];
+                referenced[hole] = referenced[next];
+                hole = next;
+            }
+        }
+        values[hole] = null;
+        referenced[hole] = false;
+        size--;
+    }
+}
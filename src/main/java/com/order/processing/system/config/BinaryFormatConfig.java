@@ -0,0 +1,63 @@
+package com.order.processing.system.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Lets API clients ask for CBOR ({@code application/cbor}) or Smile
+ * ({@code application/x-jackson-smile}) instead of JSON through the {@code Accept} header, and
+ * send request bodies in either format with the matching {@code Content-Type}.
+ * <p>
+ * Both formats encode the same Jackson model as JSON, so the DTOs stay the single schema and
+ * every endpoint supports them without changes. JSON remains the default for requests that do not
+ * ask for a binary type. The mappers come from Boot's builder, so {@code spring.jackson.*}
+ * settings and registered modules apply to all three formats alike.
+ */
+@Configuration
+public class BinaryFormatConfig implements WebMvcConfigurer {
+
+    /**
+     * Replaces Spring MVC's default CBOR converter, which would not use Boot's Jackson settings.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    /**
+     * Replaces Spring MVC's default Smile converter, which would not use Boot's Jackson settings.
+     * Smile back-references repeated property names, which pays off on order listings.
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    /**
+     * The representation depends on {@code Accept}, so shared caches must key on it too;
+     * otherwise a cached JSON body could be served for a binary request with the same ETag.
+     * That ETag is weak: JSON, CBOR and Smile bodies of one version differ byte for byte, so
+     * they are only semantically equivalent, which is what a weak validator promises.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+                return true;
+            }
+        }).addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,61 @@
+package com.order.processing.system.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Replaces the auto-configured pool with a primary and a replica pool behind a
+ * {@link ReadWriteRoutingDataSource}, so {@code @Transactional(readOnly = true)} work runs on
+ * its own connections.
+ * <p>
+ * The primary pool is configured from {@code spring.datasource.*} as before. The replica pool
+ * defaults to the primary's URL and credentials, which still separates the two workloads when
+ * there is no physical replica, and is sized under {@code order-processing.datasource.replica.hikari.*}.
+ * Only the routing DataSource is a bean, so the {@code db} health check and the readiness probe
+ * keep checking the primary and a replica outage does not take the instance out of rotation.
+ */
+@Configuration
+@ConditionalOnProperty(name = "order-processing.datasource.replica.enabled", havingValue = "true")
+public class DataSourceConfig {
+
+    private static final String REPLICA_PREFIX = "order-processing.datasource.replica";
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties,
+                                 Environment environment,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${order-processing.datasource.replica.retry-after:30s}") Duration retryAfter) {
+        Binder binder = Binder.get(environment);
+
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+
+        HikariDataSource replica = properties.initializeDataSourceBuilder().type(HikariDataSource.class)
+            .url(environment.getProperty(REPLICA_PREFIX + ".url", properties.determineUrl()))
+            .username(environment.getProperty(REPLICA_PREFIX + ".username", properties.determineUsername()))
+            .password(environment.getProperty(REPLICA_PREFIX + ".password", properties.determinePassword()))
+            .build();
+        replica.setPoolName(primary.getPoolName() != null ? primary.getPoolName() + "-replica" : "replica");
+        replica.setReadOnly(true);
+        binder.bind(REPLICA_PREFIX + ".hikari", Bindable.ofInstance(replica));
+
+        // Both pools are hidden behind the router, so bind their hikaricp.* meters here
+        MicrometerMetricsTrackerFactory metricsTrackerFactory = new MicrometerMetricsTrackerFactory(meterRegistry);
+        primary.setMetricsTrackerFactory(metricsTrackerFactory);
+        replica.setMetricsTrackerFactory(metricsTrackerFactory);
+
+        return new ReadWriteRoutingDataSource(primary, replica, retryAfter, meterRegistry);
+    }
+}
@@ -0,0 +1,152 @@
+package com.order.processing.system.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * DataSource that serves {@code readOnly} transactions from a replica pool and everything else
+ * from the primary pool, so long-running reads cannot take the connections order creation needs.
+ * <p>
+ * The routing decision is made when a statement first needs a physical connection rather than
+ * when the transaction begins: Spring only marks the transaction read-only after the transaction
+ * manager has asked for a connection, so the lookup is deferred through a
+ * {@link LazyConnectionDataSourceProxy}.
+ * <p>
+ * If the replica cannot hand out a connection, the read is served by the primary instead and the
+ * replica is skipped for {@code retryAfter}, so an outage costs one connection timeout rather than
+ * one per request. Each read sent to the primary this way is counted in
+ * {@code db.replica.fallbacks}.
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    private static final String PRIMARY = "primary";
+    private static final String REPLICA = "replica";
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final long retryAfterNanos;
+    private final LongSupplier nanoClock;
+    private final Counter fallbacks;
+    private volatile long replicaRetryAt;
+    private volatile boolean replicaDown;
+
+    /**
+     * @param primary    Pool used for read-write transactions and work outside a transaction
+     * @param replica    Pool used for read-only transactions
+     * @param retryAfter How long reads go to the primary after the replica failed
+     * @param registry   Registry for the fallback counter
+     */
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, Duration retryAfter, MeterRegistry registry) {
+        this(primary, replica, retryAfter, registry, System::nanoTime);
+    }
+
+    ReadWriteRoutingDataSource(DataSource primary, DataSource replica, Duration retryAfter,
+                               MeterRegistry registry, LongSupplier nanoClock) {
+        this.primary = primary;
+        this.replica = replica;
+        this.retryAfterNanos = retryAfter.toNanos();
+        this.nanoClock = nanoClock;
+        this.fallbacks = Counter.builder("db.replica.fallbacks")
+            .description("Read-only transactions served by the primary because the replica was unavailable")
+            .register(registry);
+        Router router = new Router();
+        router.setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        router.setDefaultTargetDataSource(primary);
+        router.afterPropertiesSet();
+        setTargetDataSource(router);
+        afterPropertiesSet();
+    }
+
+    /**
+     * @return The pool used for read-write transactions
+     */
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    /**
+     * @return The pool used for read-only transactions
+     */
+    public DataSource getReplica() {
+        return replica;
+    }
+
+    /**
+     * @return Whether read-only transactions are currently sent to the replica
+     */
+    public boolean isReplicaAvailable() {
+        return !replicaDown || nanoClock.getAsLong() - replicaRetryAt >= 0;
+    }
+
+    /**
+     * Closes both pools.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            closeIfPossible(replica);
+        } finally {
+            closeIfPossible(primary);
+        }
+    }
+
+    private static void closeIfPossible(DataSource dataSource) throws IOException {
+        if (dataSource instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+
+    private Connection replicaConnectionOrPrimary() throws SQLException {
+        try {
+            Connection connection = replica.getConnection();
+            replicaDown = false;
+            return connection;
+        } catch (SQLException | RuntimeException e) {
+            if (!replicaDown) {
+                log.warn("Replica unavailable, serving reads from the primary for the next {} ms: {}",
+                    retryAfterNanos / 1_000_000, e.getMessage());
+            }
+            replicaRetryAt = nanoClock.getAsLong() + retryAfterNanos;
+            replicaDown = true;
+            fallbacks.increment();
+            return primary.getConnection();
+        }
+    }
+
+    /**
+     * Picks the pool per physical connection; only consulted once a statement needs one.
+     */
+    private class Router extends AbstractRoutingDataSource {
+
+        @Override
+        protected Object determineCurrentLookupKey() {
+            return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? REPLICA : PRIMARY;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (determineCurrentLookupKey() == PRIMARY) {
+                return primary.getConnection();
+            }
+            if (!isReplicaAvailable()) {
+                fallbacks.increment();
+                return primary.getConnection();
+            }
+            return replicaConnectionOrPrimary();
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package com.order.processing.system.controller;
 
+import com.order.processing.system.dto.CatalogItem;
 import com.order.processing.system.dto.ItemRequest;
+import com.order.processing.system.dto.ItemSearchResponse;
+import com.order.processing.system.dto.StockRequest;
+import com.order.processing.system.dto.StockResponse;
 import com.order.processing.system.model.Item;
 import com.order.processing.system.service.ItemService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -10,6 +14,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -21,16 +26,76 @@ public class ItemController {
 
     private final ItemService itemService;
 
+    /**
+     * Item reads carry the catalog version as ETag and answer a matching
+     * {@code If-None-Match} with 304 Not Modified without touching the catalog.
+     */
     @GetMapping
     @Operation(summary = "Get all items")
-    public ResponseEntity<List<Item>> getAllItems() {
-        return ResponseEntity.ok(itemService.getAllItems());
+    public ResponseEntity<List<CatalogItem>> getAllItems(WebRequest webRequest) {
+        String eTag = itemService.getCatalogETag();
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).body(itemService.getAllItems());
+    }
+
+    /**
+     * Searches item names and descriptions for a case-insensitive substring.
+     * Served from an in-memory trigram index; results are ranked best match first.
+     *
+     * @param q        The substring to look for
+     * @param maxPrice Optional inclusive upper bound on the price
+     * @param offset   Number of ranked results to skip
+     * @param limit    Page size (at most 100)
+     * @return ResponseEntity containing the page of matching items and the total match count
+     * @throws IllegalArgumentException if q is blank or offset negative
+     */
+    @GetMapping("/search")
+    @Operation(summary = "Search items by name or description, optionally up to a price")
+    public ResponseEntity<ItemSearchResponse> searchItems(@RequestParam String q,
+                                                          @RequestParam(required = false) Double maxPrice,
+                                                          @RequestParam(defaultValue = "0") int offset,
+                                                          @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(itemService.searchItems(q, maxPrice, offset, limit));
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get item by ID")
-    public ResponseEntity<Item> getItem(@PathVariable Long id) {
-        return ResponseEntity.ok(itemService.getItem(id));
+    public ResponseEntity<CatalogItem> getItem(@PathVariable Long id, WebRequest webRequest) {
+        String eTag = itemService.getCatalogETag();
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).body(itemService.getItem(id));
+    }
+
+    /**
+     * Reads an item's stock. Allotted units are only those held by the instance answering.
+     *
+     * @param id The item ID
+     * @return ResponseEntity containing the item's stock
+     * @throws jakarta.persistence.EntityNotFoundException if the item does not exist
+     */
+    @GetMapping("/{id}/stock")
+    @Operation(summary = "Get the stock of an item")
+    public ResponseEntity<StockResponse> getStock(@PathVariable Long id) {
+        return ResponseEntity.ok(itemService.getStock(id));
+    }
+
+    /**
+     * Adds units to the stock of an item created with a stock.
+     *
+     * @param id      The item ID
+     * @param request The units to add
+     * @return ResponseEntity containing the item's stock afterwards
+     * @throws jakarta.persistence.EntityNotFoundException if the item does not exist
+     * @throws IllegalStateException if the item's stock is not tracked
+     */
+    @PostMapping("/{id}/stock")
+    @Operation(summary = "Add units to an item's stock")
+    public ResponseEntity<StockResponse> addStock(@PathVariable Long id, @Valid @RequestBody StockRequest request) {
+        return ResponseEntity.ok(itemService.addStock(id, request.getQuantity()));
     }
 
     @PostMapping
@@ -40,7 +105,7 @@ public class ItemController {
         item.setName(request.getName());
         item.setPrice(request.getPrice());
         item.setDescription(request.getDescription());
-        return new ResponseEntity<>(itemService.createItem(item), HttpStatus.CREATED);
+        return new ResponseEntity<>(itemService.createItem(item, request.getStock()), HttpStatus.CREATED);
     }
 
     @PostMapping("/batch")
@@ -55,7 +120,8 @@ public class ItemController {
                     return item;
                 })
                 .toList();
-        return new ResponseEntity<>(itemService.createItems(items), HttpStatus.CREATED);
+        List<Integer> stocks = requests.stream().map(ItemRequest::getStock).toList();
+        return new ResponseEntity<>(itemService.createItems(items, stocks), HttpStatus.CREATED);
     }
 
     @DeleteMapping("/{id}")
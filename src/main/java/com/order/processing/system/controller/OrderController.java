@@ -1,17 +1,41 @@
 package com.order.processing.system.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.order.processing.system.analytics.OrderAnalytics;
+import com.order.processing.system.dto.BatchOrderResponse;
 import com.order.processing.system.dto.CreateOrderRequest;
+import com.order.processing.system.dto.CustomerStatsResponse;
+import com.order.processing.system.dto.OrderAcceptanceResponse;
+import com.order.processing.system.dto.OrderListQuery;
+import com.order.processing.system.dto.OrderPageResponse;
 import com.order.processing.system.dto.OrderResponse;
-import com.order.processing.system.model.OrderStatus;
+import com.order.processing.system.dto.OrderStatsResponse;
+import com.order.processing.system.dto.OrderSummaryPageResponse;
+import com.order.processing.system.exception.IdempotencyKeyReuseException;
+import com.order.processing.system.exception.OrderBacklogFullException;
+import com.order.processing.system.exception.OrderStatusConflictException;
+import com.order.processing.system.service.AsyncOrderService;
+import com.order.processing.system.service.IdempotentOrderService;
 import com.order.processing.system.service.OrderService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.net.URI;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -24,45 +48,251 @@ import java.util.UUID;
 @Tag(name = "Order Management", description = "APIs for managing orders")
 public class OrderController {
 
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+    private static final int MAX_STATS_DAYS = 366;
+
     private final OrderService orderService;
+    private final IdempotentOrderService idempotentOrderService;
+    private final ObjectProvider<AsyncOrderService> asyncOrderService;
+    private final OrderAnalytics orderAnalytics;
+    private final ObjectMapper objectMapper;
 
     /**
      * Creates a new order in the system.
+     * When asynchronous acceptance is enabled the order is validated and queued, and the
+     * response is 202 Accepted with the order ID; its persistence can be followed through
+     * the status endpoint. Otherwise the order is created synchronously.
+     * <p>
+     * A request carrying an {@code Idempotency-Key} is always created synchronously, together
+     * with its key; repeating the key returns the original order with an
+     * {@code Idempotent-Replayed: true} header instead of creating another.
      *
-     * @param request The order creation request containing customer ID and items
-     * @return ResponseEntity containing the created order details
+     * @param request        The order creation request containing customer ID and items
+     * @param idempotencyKey Optional client-chosen key identifying this logical request
+     * @return ResponseEntity containing the created order details, or the acceptance state
      * @throws EntityNotFoundException if customer or items are not found
+     * @throws OrderBacklogFullException if the asynchronous queue is full
+     * @throws IdempotencyKeyReuseException if the key was used with a different request (422)
      */
     @PostMapping
     @Operation(summary = "Create a new order")
-    public ResponseEntity<OrderResponse> createOrder(@Valid @RequestBody CreateOrderRequest request) {
-        return ResponseEntity.ok(orderService.createOrder(request));
+    public ResponseEntity<?> createOrder(@Valid @RequestBody CreateOrderRequest request,
+                                         @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        if (idempotencyKey != null) {
+            IdempotentOrderService.Result result = idempotentOrderService.createOrder(idempotencyKey, request);
+            return ResponseEntity.ok()
+                    .header(IDEMPOTENT_REPLAYED, String.valueOf(result.replayed()))
+                    .body(result.order());
+        }
+        AsyncOrderService async = asyncOrderService.getIfAvailable();
+        if (async == null) {
+            return ResponseEntity.ok(orderService.createOrder(request));
+        }
+        UUID orderId = async.accept(request);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/orders/" + orderId + "/status"))
+                .body(new OrderAcceptanceResponse(orderId, OrderAcceptanceResponse.State.ACCEPTED, null));
+    }
+
+    /**
+     * Reports whether an order has been persisted. Orders created synchronously
+     * are reported as PERSISTED as soon as they exist.
+     *
+     * @param id The UUID of the order
+     * @return ResponseEntity containing the order's acceptance state
+     * @throws EntityNotFoundException if the order is unknown
+     */
+    @GetMapping("/{id}/status")
+    @Operation(summary = "Get the persistence state of a submitted order")
+    public ResponseEntity<OrderAcceptanceResponse> getOrderStatus(@PathVariable UUID id) {
+        AsyncOrderService async = asyncOrderService.getIfAvailable();
+        Optional<OrderAcceptanceResponse> status = async != null
+                ? async.getStatus(id)
+                : Optional.of(id)
+                    .filter(orderService::orderExists)
+                    .map(found -> new OrderAcceptanceResponse(found, OrderAcceptanceResponse.State.PERSISTED, null));
+        return ResponseEntity.ok(status.orElseThrow(
+                () -> new EntityNotFoundException("Order not found with id: " + id)));
+    }
+
+    /**
+     * Creates many orders in one call. Each order is validated and inserted independently
+     * of the others, so the response reports success or failure per order.
+     *
+     * @param requests The order creation requests
+     * @return ResponseEntity containing one result per submitted order
+     * @throws IllegalArgumentException if the batch exceeds the maximum size
+     */
+    @PostMapping("/batch")
+    @Operation(summary = "Create multiple orders")
+    public ResponseEntity<BatchOrderResponse> createOrders(@RequestBody List<CreateOrderRequest> requests) {
+        return ResponseEntity.ok(orderService.createOrders(requests));
     }
 
     /**
      * Retrieves order details by its unique identifier.
+     * The response carries an ETag derived from the order's version and update time; a request
+     * whose {@code If-None-Match} still matches is answered with 304 Not Modified after reading
+     * only those two columns, without loading the customer or line items.
      *
-     * @param id The UUID of the order to retrieve
-     * @return ResponseEntity containing the order details
+     * @param id         The UUID of the order to retrieve
+     * @param webRequest The current request, for conditional request handling
+     * @return ResponseEntity containing the order details, or 304 if unchanged
      * @throws EntityNotFoundException if order is not found
      */
     @GetMapping("/{id}")
     @Operation(summary = "Get order by ID")
-    public ResponseEntity<OrderResponse> getOrder(@PathVariable UUID id) {
-        return ResponseEntity.ok(orderService.getOrder(id));
+    public ResponseEntity<OrderResponse> getOrder(@PathVariable UUID id, WebRequest webRequest) {
+        // Read before the order: if it changes in between, the tag is stale and the next poll refetches
+        String eTag = orderService.getOrderETag(id);
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).body(orderService.getOrder(id));
     }
 
     /**
-     * Retrieves all orders, optionally filtered by status.
+     * Retrieves one page of orders, optionally filtered by status and total amount.
+     * Orders are returned oldest first ({@code sort=CREATED_AT}, the default) or cheapest first
+     * ({@code sort=TOTAL_AMOUNT}); pass the returned {@code nextCursor} back as {@code cursor}
+     * to fetch the following page.
      *
-     * @param status Optional order status to filter results
-     * @return ResponseEntity containing list of orders matching the criteria
+     * @param query  Filter, ordering, cursor and page size
+     * @param view   Must be absent; {@code view=summary} is served by the summary handler
+     * @param fields Must be absent; only {@code view=summary} can be narrowed
+     * @return ResponseEntity containing the page of orders and the next cursor
+     * @throws IllegalArgumentException if the cursor is malformed, or a view or fields are given
      */
     @GetMapping
-    @Operation(summary = "Get all orders, optionally filtered by status")
-    public ResponseEntity<List<OrderResponse>> getAllOrders(
-            @RequestParam(required = false) OrderStatus status) {
-        return ResponseEntity.ok(orderService.getAllOrders(status));
+    @Operation(summary = "Get a page of orders, optionally filtered by status and total amount")
+    public ResponseEntity<OrderPageResponse> getAllOrders(@ParameterObject OrderListQuery query,
+                                                          @RequestParam(required = false) String view,
+                                                          @RequestParam(required = false) Set<String> fields) {
+        rejectSummaryParameters(view, fields);
+        return ResponseEntity.ok(orderService.getAllOrders(query));
+    }
+
+    /**
+     * Retrieves one page of order summaries ({@code view=summary}): only the columns of the
+     * order row, read without touching customers or line items. {@code fields} narrows the
+     * summary further, e.g. {@code fields=id,status,totalAmount}; filters, ordering and cursor
+     * work as for the full listing.
+     *
+     * @param query  Filter, ordering, cursor and page size
+     * @param fields Optional summary properties to return
+     * @return ResponseEntity containing the page of summaries and the next cursor
+     * @throws IllegalArgumentException if a field is unknown or the cursor is malformed
+     */
+    @GetMapping(params = "view=summary")
+    @Operation(summary = "Get a page of order summaries without customers or line items")
+    public ResponseEntity<OrderSummaryPageResponse> getOrderSummaries(@ParameterObject OrderListQuery query,
+                                                                      @RequestParam(required = false) Set<String> fields) {
+        return ResponseEntity.ok(orderService.getOrderSummaries(query, fields));
+    }
+
+    /**
+     * Streams all orders matching the filter as newline-delimited JSON.
+     * Orders are read page by page, each page in its own short read transaction,
+     * and written out as they are read, so memory use does not depend on the result size.
+     *
+     * @param query  Filter and ordering; a cursor, if given, is the position to start after
+     * @param view   Must be absent; {@code view=summary} is served by the summary handler
+     * @param fields Must be absent; only {@code view=summary} can be narrowed
+     * @return ResponseEntity streaming one JSON order per line
+     * @throws IllegalArgumentException if a view or fields are given
+     */
+    @GetMapping(value = "/stream", produces = NDJSON)
+    @Operation(summary = "Stream all orders as newline-delimited JSON, optionally filtered")
+    public ResponseEntity<StreamingResponseBody> streamOrders(@ParameterObject OrderListQuery query,
+                                                              @RequestParam(required = false) String view,
+                                                              @RequestParam(required = false) Set<String> fields) {
+        rejectSummaryParameters(view, fields);
+        // Request the largest page the service allows; it caps the size itself
+        query.setLimit(Integer.MAX_VALUE);
+        StreamingResponseBody body = outputStream -> {
+            try (SequenceWriter writer = objectMapper.writer()
+                    .withRootValueSeparator("\n")
+                    .writeValues(outputStream)) {
+                do {
+                    OrderPageResponse page = orderService.getAllOrders(query);
+                    writer.writeAll(page.getOrders());
+                    writer.flush();
+                    query.setCursor(page.getNextCursor());
+                } while (query.getCursor() != null);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(body);
+    }
+
+    /**
+     * Streams the summaries of all orders matching the filter as newline-delimited JSON,
+     * like {@link #streamOrders} but reading only the order rows.
+     *
+     * @param query  Filter and ordering; a cursor, if given, is the position to start after
+     * @param fields Optional summary properties to return
+     * @return ResponseEntity streaming one JSON order summary per line
+     * @throws IllegalArgumentException if a field is unknown
+     */
+    @GetMapping(value = "/stream", params = "view=summary", produces = NDJSON)
+    @Operation(summary = "Stream all order summaries as newline-delimited JSON, optionally filtered")
+    public ResponseEntity<StreamingResponseBody> streamOrderSummaries(@ParameterObject OrderListQuery query,
+                                                                      @RequestParam(required = false) Set<String> fields) {
+        query.setLimit(Integer.MAX_VALUE);
+        // Validate the fields before the response is committed
+        OrderSummaryPageResponse first = orderService.getOrderSummaries(query, fields);
+        StreamingResponseBody body = outputStream -> {
+            try (SequenceWriter writer = objectMapper.writer()
+                    .withRootValueSeparator("\n")
+                    .writeValues(outputStream)) {
+                OrderSummaryPageResponse page = first;
+                while (true) {
+                    writer.writeAll(page.getOrders());
+                    writer.flush();
+                    if (page.getNextCursor() == null) {
+                        break;
+                    }
+                    query.setCursor(page.getNextCursor());
+                    page = orderService.getOrderSummaries(query, fields);
+                }
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(body);
+    }
+
+    /**
+     * Returns the order counts per status and the orders and revenue of each recent day.
+     * Served from incrementally maintained aggregates; changes from other instances appear
+     * after their next aggregate flush.
+     *
+     * @param days Number of days to report, ending today (1 to 366)
+     * @return ResponseEntity containing the aggregates
+     * @throws IllegalArgumentException if days is out of range
+     */
+    @GetMapping("/stats")
+    @Operation(summary = "Get order counts per status and daily revenue")
+    public ResponseEntity<OrderStatsResponse> getOrderStats(@RequestParam(defaultValue = "30") int days) {
+        if (days < 1 || days > MAX_STATS_DAYS) {
+            throw new IllegalArgumentException("days must be between 1 and " + MAX_STATS_DAYS);
+        }
+        return ResponseEntity.ok(orderAnalytics.getStats(days));
+    }
+
+    /**
+     * Returns the number of non-cancelled orders of a customer and their revenue.
+     *
+     * @param customerId The customer ID
+     * @return ResponseEntity containing the customer's aggregates, zero if it has no orders
+     */
+    @GetMapping("/stats/customers/{customerId}")
+    @Operation(summary = "Get a customer's order count and revenue")
+    public ResponseEntity<CustomerStatsResponse> getCustomerStats(@PathVariable long customerId) {
+        return ResponseEntity.ok(orderAnalytics.getCustomerStats(customerId));
     }
 
     /**
@@ -71,11 +301,29 @@ public class OrderController {
      * @param id The UUID of the order to cancel
      * @return ResponseEntity containing the updated order details
      * @throws EntityNotFoundException if order is not found
-     * @throws IllegalStateException if order is not in PENDING status
+     * @throws OrderStatusConflictException if order is not in PENDING status (409)
      */
     @PatchMapping("/{id}/cancel")
     @Operation(summary = "Cancel an order")
     public ResponseEntity<OrderResponse> cancelOrder(@PathVariable UUID id) {
         return ResponseEntity.ok(orderService.cancelOrder(id));
     }
+
+    /**
+     * The full listing is served when no {@code view} is given. Any other view than
+     * {@code summary} (mapped to its own handler) is unknown, and full orders cannot be narrowed
+     * with {@code fields}; both are errors rather than silently ignored.
+     *
+     * @param view   The requested view, or null
+     * @param fields The requested fields, or null
+     * @throws IllegalArgumentException if a view or any fields were requested
+     */
+    private static void rejectSummaryParameters(String view, Set<String> fields) {
+        if (view != null) {
+            throw new IllegalArgumentException("Unknown view '" + view + "'; supported: summary");
+        }
+        if (fields != null) {
+            throw new IllegalArgumentException("fields is only supported with view=summary");
+        }
+    }
 }
@@ -0,0 +1,45 @@
+package com.order.processing.system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Outcome of a batch order submission, with one result per submitted order
+ * in submission order.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchOrderResponse {
+    private int created;
+    private int failed;
+    private List<OrderResult> results;
+
+    public enum ResultStatus {
+        CREATED,
+        FAILED
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class OrderResult {
+        /** Position of the order in the submitted batch. */
+        private int index;
+        private ResultStatus status;
+        private UUID orderId;
+        private String error;
+
+        public static OrderResult created(int index, UUID orderId) {
+            return new OrderResult(index, ResultStatus.CREATED, orderId, null);
+        }
+
+        public static OrderResult failed(int index, String error) {
+            return new OrderResult(index, ResultStatus.FAILED, null, error);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.order.processing.system.dto;
+
+import com.order.processing.system.model.Item;
+
+/**
+ * Immutable snapshot of an item as held by the catalog cache. Cached entries are shared by
+ * every request, so they must not be entities: a caller could modify one, or attach it to a
+ * persistence context. Serializes with the same properties as {@link Item}.
+ *
+ * @param id           The item ID
+ * @param name         The item name
+ * @param price        The current price
+ * @param description  The description, possibly null
+ * @param stockTracked Whether orders are checked against the item's stock
+ */
+public record CatalogItem(Long id, String name, Double price, String description, boolean stockTracked) {
+
+    /**
+     * @param item The item entity
+     * @return A snapshot of the item's current state
+     */
+    public static CatalogItem of(Item item) {
+        return new CatalogItem(item.getId(), item.getName(), item.getPrice(), item.getDescription(),
+            item.isStockTracked());
+    }
+}
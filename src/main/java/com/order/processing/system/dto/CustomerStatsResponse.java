@@ -0,0 +1,17 @@
+package com.order.processing.system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Number and revenue of a customer's orders that have not been cancelled.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerStatsResponse {
+    private Long customerId;
+    private long orders;
+    private double revenue;
+}
@@ -3,6 +3,7 @@ package com.order.processing.system.dto;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.Data;
 
 @Data
@@ -15,4 +16,8 @@ public class ItemRequest {
     private Double price;
 
     private String description;
+
+    /** Initial stock; omit for an item whose stock is not tracked. */
+    @PositiveOrZero(message = "Stock must not be negative")
+    private Integer stock;
 }
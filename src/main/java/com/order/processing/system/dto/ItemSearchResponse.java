@@ -0,0 +1,22 @@
+package com.order.processing.system.dto;
+
+import com.order.processing.system.model.Item;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of ranked item search results.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemSearchResponse {
+    private List<Item> items;
+    /** Number of items matching the query and filter, across all pages. */
+    private long total;
+    private int offset;
+    private int limit;
+}
@@ -0,0 +1,28 @@
+package com.order.processing.system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Persistence state of an order submitted through the asynchronous create path.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderAcceptanceResponse {
+    private UUID orderId;
+    private State state;
+    private String error;
+
+    public enum State {
+        /** Queued; not yet written to the database. */
+        ACCEPTED,
+        /** Written to the database. */
+        PERSISTED,
+        /** Rejected by the writer; {@code error} says why. */
+        FAILED
+    }
+}
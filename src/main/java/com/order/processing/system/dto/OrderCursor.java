@@ -0,0 +1,92 @@
+package com.order.processing.system.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position in one of the {@link OrderSort} orderings of orders.
+ * Encoded as an opaque URL-safe token so clients don't depend on its layout.
+ * Exactly one sort key is set, the one of {@code sort}.
+ *
+ * @param sort        The ordering this position belongs to
+ * @param createdAt   Creation timestamp of the last order returned, set for {@link OrderSort#CREATED_AT}
+ * @param totalAmount Total amount of the last order returned, set for {@link OrderSort#TOTAL_AMOUNT}
+ * @param id          ID of the last order returned
+ */
+public record OrderCursor(OrderSort sort, LocalDateTime createdAt, Double totalAmount, UUID id) {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * @throws IllegalArgumentException if the sort key of {@code sort} is missing, or the other one is set
+     */
+    public OrderCursor {
+        if (sort == null || id == null) {
+            throw new IllegalArgumentException("Cursor needs a sort and an id");
+        }
+        boolean byTotal = sort == OrderSort.TOTAL_AMOUNT;
+        if (byTotal != (totalAmount != null) || byTotal == (createdAt != null)) {
+            throw new IllegalArgumentException("Cursor of sort " + sort + " needs exactly its own sort key");
+        }
+    }
+
+    /**
+     * Builds the position just after an order in the given ordering.
+     *
+     * @param sort        The ordering
+     * @param createdAt   The order's creation timestamp
+     * @param totalAmount The order's total amount
+     * @param id          The order's ID
+     * @return The keyset position
+     */
+    public static OrderCursor after(OrderSort sort, LocalDateTime createdAt, double totalAmount, UUID id) {
+        return sort == OrderSort.TOTAL_AMOUNT
+                ? new OrderCursor(sort, null, totalAmount, id)
+                : new OrderCursor(sort, createdAt, null, id);
+    }
+
+    /**
+     * Encodes this position as an opaque cursor token.
+     *
+     * @return URL-safe Base64 token
+     */
+    public String encode() {
+        Object key = sort == OrderSort.TOTAL_AMOUNT ? totalAmount : createdAt;
+        String raw = sort + SEPARATOR + key + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor token produced by {@link #encode()}.
+     *
+     * @param token The cursor token
+     * @return The decoded keyset position
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static OrderCursor decode(String token) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+
+        String[] parts = raw.split("\\|", -1);
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+        try {
+            OrderSort sort = OrderSort.valueOf(parts[0]);
+            UUID id = UUID.fromString(parts[2]);
+            return sort == OrderSort.TOTAL_AMOUNT
+                    ? new OrderCursor(sort, null, Double.valueOf(parts[1]), id)
+                    : new OrderCursor(sort, LocalDateTime.parse(parts[1]), null, id);
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+}
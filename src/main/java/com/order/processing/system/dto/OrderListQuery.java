@@ -0,0 +1,27 @@
+package com.order.processing.system.dto;
+
+import com.order.processing.system.model.OrderStatus;
+import lombok.Data;
+
+/**
+ * Filter, ordering and paging parameters of the order listing, bound from query parameters.
+ */
+@Data
+public class OrderListQuery {
+    /** Only orders in this status; all statuses when null. */
+    private OrderStatus status;
+
+    /** Only orders whose total is at least this amount. */
+    private Double minTotal;
+
+    /** Only orders whose total is at most this amount. */
+    private Double maxTotal;
+
+    private OrderSort sort = OrderSort.CREATED_AT;
+
+    /** Cursor returned with the previous page; null for the first page. */
+    private String cursor;
+
+    /** Requested page size; defaulted and capped by the server. */
+    private Integer limit;
+}
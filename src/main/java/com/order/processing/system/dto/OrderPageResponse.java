@@ -0,0 +1,19 @@
+package com.order.processing.system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One keyset page of orders. {@code nextCursor} is null on the last page;
+ * otherwise it is passed back as the {@code cursor} parameter to fetch the next page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderPageResponse {
+    private List<OrderResponse> orders;
+    private String nextCursor;
+}
@@ -1,5 +1,6 @@
 package com.order.processing.system.dto;
 
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.order.processing.system.model.OrderStatus;
 import lombok.Data;
 
@@ -7,7 +8,16 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
+/**
+ * An order as returned by the API, in JSON, CBOR or Smile.
+ * <p>
+ * The property order is pinned so all three encodings lay fields out identically across
+ * releases. Clients must ignore properties they do not know: new properties are only ever
+ * appended, and existing ones are never renamed, retyped or removed. In CBOR and Smile the
+ * {@code id} is written as 16 raw bytes rather than a string.
+ */
 @Data
+@JsonPropertyOrder({"id", "status", "createdAt", "updatedAt", "customer", "items", "totalAmount"})
 public class OrderResponse {
     private UUID id;
     private OrderStatus status;
@@ -18,6 +28,7 @@ public class OrderResponse {
     private double totalAmount;
 
     @Data
+    @JsonPropertyOrder({"itemId", "itemName", "itemPrice", "quantity", "subtotal"})
     public static class OrderItemDTO {
         private Long itemId;
         private String itemName;
@@ -27,6 +38,7 @@ public class OrderResponse {
     }
 
     @Data
+    @JsonPropertyOrder({"id", "name", "email"})
     public static class CustomerDTO {
         private Long id;
         private String name;
@@ -0,0 +1,12 @@
+package com.order.processing.system.dto;
+
+/**
+ * Orderings supported by the keyset-paginated order listing. Each ordering is
+ * made total by using the order ID as a tie-breaker.
+ */
+public enum OrderSort {
+    /** Oldest first, by (createdAt, id). */
+    CREATED_AT,
+    /** Cheapest first, by (totalAmount, id). */
+    TOTAL_AMOUNT
+}
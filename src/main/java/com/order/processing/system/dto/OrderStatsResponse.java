@@ -0,0 +1,31 @@
+package com.order.processing.system.dto;
+
+import com.order.processing.system.model.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Order counts per status and revenue per day, from the incrementally maintained aggregates.
+ * Revenue counts every order that has not been cancelled, at its purchase-time total.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatsResponse {
+    private Map<OrderStatus, Long> ordersByStatus;
+    private List<DailyRevenue> dailyRevenue;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DailyRevenue {
+        private LocalDate date;
+        private long orders;
+        private double revenue;
+    }
+}
@@ -0,0 +1,62 @@
+package com.order.processing.system.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.order.processing.system.model.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * The columns of an order that live in the {@code orders} row itself, as returned by
+ * {@code view=summary} listings. Selected directly by the page query, so neither the customer
+ * nor the line items are read. Properties dropped through {@code fields=} are left null and
+ * omitted from the response.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({"id", "status", "createdAt", "updatedAt", "customerId", "totalAmount"})
+public class OrderSummary {
+
+    /** Property names accepted by {@code fields=}. */
+    public static final Set<String> FIELDS = Set.of("id", "status", "createdAt", "updatedAt", "customerId", "totalAmount");
+
+    private UUID id;
+    private OrderStatus status;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Long customerId;
+    private Double totalAmount;
+
+    /**
+     * Clears every property not named in {@code fields}.
+     *
+     * @param fields Property names to keep, all of them in {@link #FIELDS}
+     */
+    public void retain(Set<String> fields) {
+        if (!fields.contains("id")) {
+            id = null;
+        }
+        if (!fields.contains("status")) {
+            status = null;
+        }
+        if (!fields.contains("createdAt")) {
+            createdAt = null;
+        }
+        if (!fields.contains("updatedAt")) {
+            updatedAt = null;
+        }
+        if (!fields.contains("customerId")) {
+            customerId = null;
+        }
+        if (!fields.contains("totalAmount")) {
+            totalAmount = null;
+        }
+    }
+}
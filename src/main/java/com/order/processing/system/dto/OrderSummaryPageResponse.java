@@ -0,0 +1,18 @@
+package com.order.processing.system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One keyset page of order summaries; the cursor works exactly as in {@link OrderPageResponse}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderSummaryPageResponse {
+    private List<OrderSummary> orders;
+    private String nextCursor;
+}
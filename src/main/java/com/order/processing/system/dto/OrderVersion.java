@@ -0,0 +1,26 @@
+package com.order.processing.system.dto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * The fields of an order that change whenever its representation changes,
+ * read without loading the order's customer or line items.
+ *
+ * @param version   The order's optimistic-lock version
+ * @param updatedAt When the order was last updated
+ */
+public record OrderVersion(long version, LocalDateTime updatedAt) {
+
+    /**
+     * Weak, because the same version is served as JSON, CBOR or Smile and possibly gzipped;
+     * Tomcat also refuses to compress a response that carries a strong tag.
+     *
+     * @return A weak entity tag, quoted, that changes whenever the order does
+     */
+    public String eTag() {
+        long updatedNanos = updatedAt == null ? 0
+            : updatedAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + updatedAt.getNano();
+        return "W/\"" + version + "-" + Long.toHexString(updatedNanos) + "\"";
+    }
+}
@@ -0,0 +1,21 @@
+package com.order.processing.system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Stock of one item as seen by the instance answering.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockResponse {
+    private Long itemId;
+    /** Whether orders for the item are checked against its stock. */
+    private boolean tracked;
+    /** Units not yet allotted to any instance. */
+    private long unallotted;
+    /** Units allotted to this instance and not reserved; other instances may hold more. */
+    private long allotted;
+}
@@ -0,0 +1,19 @@
+package com.order.processing.system.exception;
+
+import lombok.Getter;
+
+/**
+ * Thrown when an order asks for more units of a stock-tracked item than are left.
+ */
+@Getter
+public class InsufficientStockException extends IllegalStateException {
+
+    private final Long itemId;
+    private final int requested;
+
+    public InsufficientStockException(Long itemId, int requested) {
+        super("Not enough stock for item " + itemId + ": " + requested + " requested");
+        this.itemId = itemId;
+        this.requested = requested;
+    }
+}
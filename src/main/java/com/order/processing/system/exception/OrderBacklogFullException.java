@@ -0,0 +1,12 @@
+package com.order.processing.system.exception;
+
+/**
+ * Thrown when the asynchronous order queue is full and a new order cannot be accepted.
+ * Callers should back off and retry.
+ */
+public class OrderBacklogFullException extends RuntimeException {
+
+    public OrderBacklogFullException(String message) {
+        super(message);
+    }
+}
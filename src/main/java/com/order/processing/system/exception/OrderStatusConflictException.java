@@ -0,0 +1,26 @@
+package com.order.processing.system.exception;
+
+import com.order.processing.system.model.OrderStatus;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * Thrown when a status transition cannot be applied because the order is not in the
+ * expected status, either because the transition is not allowed or because another
+ * writer changed the order first.
+ */
+@Getter
+public class OrderStatusConflictException extends IllegalStateException {
+
+    private final UUID orderId;
+    private final OrderStatus currentStatus;
+    private final OrderStatus targetStatus;
+
+    public OrderStatusConflictException(UUID orderId, OrderStatus currentStatus, OrderStatus targetStatus) {
+        super("Order " + orderId + " is " + currentStatus + " and cannot move to " + targetStatus);
+        this.orderId = orderId;
+        this.currentStatus = currentStatus;
+        this.targetStatus = targetStatus;
+    }
+}
@@ -1,38 +1,22 @@
 package com.order.processing.system.health;
 
-import org.springframework.beans.factory.annotation.Autowired;
+import lombok.RequiredArgsConstructor;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.HealthIndicator;
-import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
+/**
+ * Reports the database snapshot kept by {@link DatabaseHealthMonitor}; probing this indicator
+ * never takes a connection.
+ */
 @Component
+@RequiredArgsConstructor
 public class DatabaseHealthIndicator implements HealthIndicator {
 
-    @Autowired
-    private JdbcTemplate jdbcTemplate;
+    private final DatabaseHealthMonitor monitor;
 
     @Override
     public Health health() {
-        try {
-            // Test database connectivity
-            int result = jdbcTemplate.queryForObject("SELECT 1", Integer.class);
-            if (result == 1) {
-                return Health.up()
-                        .withDetail("database", "PostgreSQL")
-                        .withDetail("status", "Connected")
-                        .build();
-            }
-            return Health.down()
-                    .withDetail("database", "PostgreSQL")
-                    .withDetail("status", "Invalid response")
-                    .build();
-        } catch (Exception e) {
-            return Health.down()
-                    .withDetail("database", "PostgreSQL")
-                    .withDetail("status", "Disconnected")
-                    .withDetail("error", e.getMessage())
-                    .build();
-        }
+        return monitor.getHealth();
     }
 }
@@ -0,0 +1,246 @@
+package com.order.processing.system.health;
+
+import com.order.processing.system.config.ReadWriteRoutingDataSource;
+import com.order.processing.system.metrics.OrderMetrics;
+import com.order.processing.system.service.AsyncOrderService;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.LongSupplier;
+
+/**
+ * Checks the database on its own thread at a fixed interval and keeps the result, so health
+ * probes read a snapshot instead of each taking a pooled connection on the request path.
+ * <p>
+ * Each refresh validates one connection of the primary pool, waiting at most the connection
+ * timeout. The check is skipped while requests are queuing for connections, since borrowing
+ * one then would only lengthen that queue; the last database status is kept and the snapshot
+ * says so. A check that is still hanging when the next refresh comes is not repeated. The
+ * snapshot also carries the usage of every connection pool and the order backlog. If no
+ * refresh completes for three intervals, the snapshot is reported as DOWN because it is stale.
+ */
+@Slf4j
+@Component
+public class DatabaseHealthMonitor {
+
+    private final DataSource dataSource;
+    private final OrderMetrics orderMetrics;
+    private final ObjectProvider<AsyncOrderService> asyncOrderService;
+    private final Duration refreshInterval;
+    private final Duration timeout;
+    private final LongSupplier nanoClock;
+    private final ExecutorService checker = Executors.newSingleThreadExecutor(daemon("health-check"));
+    private final ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor(daemon("health-refresh"));
+
+    private volatile Snapshot snapshot;
+    private Status databaseStatus = Status.UNKNOWN;
+    private Future<Long> check;
+
+    @Autowired
+    public DatabaseHealthMonitor(DataSource dataSource,
+                                 OrderMetrics orderMetrics,
+                                 ObjectProvider<AsyncOrderService> asyncOrderService,
+                                 @Value("${health-check.refresh-interval:10s}") Duration refreshInterval,
+                                 @Value("${health-check.connection-timeout:3000}") long timeoutMillis) {
+        this(dataSource, orderMetrics, asyncOrderService, refreshInterval, Duration.ofMillis(timeoutMillis), System::nanoTime);
+    }
+
+    DatabaseHealthMonitor(DataSource dataSource,
+                          OrderMetrics orderMetrics,
+                          ObjectProvider<AsyncOrderService> asyncOrderService,
+                          Duration refreshInterval,
+                          Duration timeout,
+                          LongSupplier nanoClock) {
+        this.dataSource = dataSource;
+        this.orderMetrics = orderMetrics;
+        this.asyncOrderService = asyncOrderService;
+        this.refreshInterval = refreshInterval;
+        this.timeout = timeout;
+        this.nanoClock = nanoClock;
+    }
+
+    @PostConstruct
+    void start() {
+        refresher.scheduleWithFixedDelay(this::refreshQuietly, 0, refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        refresher.shutdownNow();
+        checker.shutdownNow();
+    }
+
+    /**
+     * Returns the latest snapshot without touching the database.
+     *
+     * @return The health computed by the last refresh; UNKNOWN before the first one completes,
+     * DOWN if refreshes have stopped completing
+     */
+    public Health getHealth() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return Health.unknown().withDetail("database", "not checked yet").build();
+        }
+        long ageNanos = nanoClock.getAsLong() - current.takenAt();
+        if (ageNanos > 3 * refreshInterval.toNanos()) {
+            return Health.down()
+                .withDetails(current.health().getDetails())
+                .withDetail("stale", "last refresh " + Duration.ofNanos(ageNanos).toSeconds() + "s ago")
+                .build();
+        }
+        return current.health();
+    }
+
+    /**
+     * Checks the database, unless it is not safe to, and replaces the snapshot.
+     * Called on the refresh thread; blocks for at most the connection timeout.
+     */
+    synchronized void refresh() {
+        Map<String, Object> pools = poolDetails();
+        Health.Builder builder;
+        if (check != null && !check.isDone()) {
+            databaseStatus = Status.DOWN;
+            builder = Health.down().withDetail("database", "previous check still running");
+        } else if (isSaturated(primaryPool())) {
+            builder = Health.status(databaseStatus)
+                .withDetail("database", "not checked, requests are waiting for connections");
+        } else {
+            builder = checkDatabase();
+        }
+        Health health = builder
+            .withDetail("checkedAt", Instant.now().toString())
+            .withDetail("pools", pools)
+            .withDetail("backlog", backlogDetails())
+            .build();
+        snapshot = new Snapshot(health, nanoClock.getAsLong());
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            // An exception would cancel the schedule
+            log.error("Health refresh failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private Health.Builder checkDatabase() {
+        check = checker.submit(this::validateConnection);
+        try {
+            long validationMillis = check.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            databaseStatus = Status.UP;
+            return Health.up().withDetail("database", "UP").withDetail("validationMs", validationMillis);
+        } catch (TimeoutException e) {
+            databaseStatus = Status.DOWN;
+            return Health.down().withDetail("database", "DOWN")
+                .withDetail("error", "no valid connection within " + timeout.toMillis() + " ms");
+        } catch (ExecutionException e) {
+            databaseStatus = Status.DOWN;
+            return Health.down().withDetail("database", "DOWN").withDetail("error", e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Health.unknown().withDetail("database", "check interrupted");
+        }
+    }
+
+    private long validateConnection() throws SQLException {
+        long start = System.nanoTime();
+        try (Connection connection = primaryDataSource().getConnection()) {
+            if (!connection.isValid((int) Math.max(1, timeout.toSeconds()))) {
+                throw new SQLException("Database connection is invalid");
+            }
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    private DataSource primaryDataSource() {
+        return dataSource instanceof ReadWriteRoutingDataSource routing ? routing.getPrimary() : dataSource;
+    }
+
+    private HikariPoolMXBean primaryPool() {
+        HikariDataSource hikari = hikari(primaryDataSource());
+        return hikari == null ? null : hikari.getHikariPoolMXBean();
+    }
+
+    private static boolean isSaturated(HikariPoolMXBean pool) {
+        return pool != null && pool.getThreadsAwaitingConnection() > 0;
+    }
+
+    private Map<String, Object> poolDetails() {
+        List<DataSource> dataSources = dataSource instanceof ReadWriteRoutingDataSource routing
+            ? List.of(routing.getPrimary(), routing.getReplica())
+            : List.of(dataSource);
+        Map<String, Object> details = new LinkedHashMap<>();
+        for (DataSource candidate : dataSources) {
+            HikariDataSource hikari = hikari(candidate);
+            // The MXBean is null until the pool has handed out its first connection
+            HikariPoolMXBean pool = hikari == null ? null : hikari.getHikariPoolMXBean();
+            if (pool == null) {
+                continue;
+            }
+            int max = hikari.getMaximumPoolSize();
+            details.put(hikari.getPoolName(), Map.of(
+                "active", pool.getActiveConnections(),
+                "idle", pool.getIdleConnections(),
+                "max", max,
+                "waiting", pool.getThreadsAwaitingConnection(),
+                "utilization", max == 0 ? 0.0 : (double) pool.getActiveConnections() / max));
+        }
+        return details;
+    }
+
+    private Map<String, Object> backlogDetails() {
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("pendingOrders", orderMetrics.getPendingBacklog());
+        AsyncOrderService async = asyncOrderService.getIfAvailable();
+        if (async != null) {
+            details.put("asyncQueue", async.getQueueSize());
+            details.put("asyncQueueRemaining", async.getRemainingCapacity());
+        }
+        return details;
+    }
+
+    private static HikariDataSource hikari(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private record Snapshot(Health health, long takenAt) {
+    }
+}
@@ -0,0 +1,258 @@
+package com.order.processing.system.inventory;
+
+import com.order.processing.system.exception.InsufficientStockException;
+import com.order.processing.system.model.Order;
+import com.order.processing.system.model.OrderItem;
+import com.order.processing.system.repository.ItemRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reserves stock for orders from in-memory counters, so orders for a hot item don't queue on
+ * its database row.
+ * <p>
+ * Only items created with {@code stockTracked} are reserved; others can always be ordered.
+ * {@code items.stock} holds the units not yet allotted to any instance. Each instance claims
+ * units from that column in allotments of {@code allotment-size} with a conditional UPDATE, and serves
+ * reservations from a {@link StripedStock} until the allotment runs out. The row is therefore
+ * written once per allotment rather than once per order, and a unit is never both in the
+ * column and in an allotment, so no instance can sell it twice.
+ * <p>
+ * Reservations run in the transaction that inserts the order, which may hold a whole batch
+ * chunk. A claim therefore runs in its own short transaction that commits at once, so the item
+ * row is never locked for the length of an order transaction; it briefly needs a second
+ * connection, once per allotment. No lock of this class is held while a statement runs, so a
+ * reservation waiting on a row lock cannot block one that holds it. Units reserved by an order
+ * that rolls back go back to the allotment, and so do the units of a cancelled order once the
+ * cancellation commits.
+ * <p>
+ * Surplus above the allotment size, which builds up through cancellations, is written back to
+ * the column by {@link #returnSurplus()}. The whole allotment is written back on shutdown.
+ * Units allotted to an instance that crashes are not returned and have to be restocked, so a
+ * crash can cost sales but never oversell.
+ */
+@Slf4j
+@Component
+public class StockReservations {
+
+    private final ItemRepository itemRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate claimTemplate;
+    private final int allotmentSize;
+    private final int stripes;
+    private final Map<Long, StripedStock> stocks = new ConcurrentHashMap<>();
+
+    @Autowired
+    public StockReservations(ItemRepository itemRepository,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${order-processing.stock.allotment-size:100}") int allotmentSize) {
+        this(itemRepository, transactionManager, allotmentSize, Runtime.getRuntime().availableProcessors());
+    }
+
+    StockReservations(ItemRepository itemRepository, PlatformTransactionManager transactionManager, int allotmentSize, int cpus) {
+        this.itemRepository = itemRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.claimTemplate = new TransactionTemplate(transactionManager);
+        this.claimTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.allotmentSize = allotmentSize;
+        this.stripes = Integer.highestOneBit(Math.max(1, cpus) * 2 - 1);
+    }
+
+    /**
+     * Reserves the ordered quantities of the order's lines that are marked as reserved. The
+     * caller marks the lines of stock-tracked items, from the catalog, so the lines' item
+     * references are never initialized here.
+     *
+     * @param order The order about to be inserted, with its lines
+     * @throws InsufficientStockException if a tracked item has fewer units left than ordered;
+     *                                    the surrounding transaction must then roll back
+     * @throws IllegalStateException if no transaction is active
+     */
+    public void reserve(Order order) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Stock must be reserved in the transaction that inserts the order");
+        }
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (OrderItem line : order.getItems()) {
+            if (line.isStockReserved()) {
+                quantities.merge(line.getItem().getId(), line.getQuantity(), Integer::sum);
+            }
+        }
+        quantities.forEach(this::reserve);
+    }
+
+    /**
+     * Returns the units of the order's reserved lines to this instance's allotment once the
+     * current transaction commits, or immediately when no transaction is active.
+     *
+     * @param order The cancelled order, with its lines
+     */
+    public void releaseAfterCommit(Order order) {
+        Map<Long, Integer> quantities = new TreeMap<>();
+        order.getItems().stream()
+            .filter(OrderItem::isStockReserved)
+            .forEach(line -> quantities.merge(line.getItem().getId(), line.getQuantity(), Integer::sum));
+        if (quantities.isEmpty()) {
+            return;
+        }
+        Runnable release = () -> quantities.forEach((itemId, quantity) -> stockOf(itemId).add(quantity));
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            release.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                release.run();
+            }
+        });
+    }
+
+    /**
+     * @param itemId The item ID
+     * @return Units of the item allotted to this instance and not reserved
+     */
+    public long allotted(Long itemId) {
+        StripedStock stock = stocks.get(itemId);
+        return stock == null ? 0 : stock.total();
+    }
+
+    /**
+     * Writes allotted units above twice the allotment size back to {@code items.stock}, keeping
+     * one allotment, so other instances can sell them.
+     *
+     * @return Number of items whose surplus was returned
+     */
+    public int returnSurplus() {
+        return returnUnits(allotmentSize, 2L * allotmentSize);
+    }
+
+    /**
+     * Writes the whole allotment back to {@code items.stock}.
+     */
+    @PreDestroy
+    void returnAll() {
+        int items = returnUnits(0, 0);
+        if (items > 0) {
+            log.info("Returned allotted stock of {} items", items);
+        }
+    }
+
+    private int returnUnits(long keep, long threshold) {
+        int returned = 0;
+        for (Map.Entry<Long, StripedStock> entry : stocks.entrySet()) {
+            StripedStock stock = entry.getValue();
+            if (stock.total() <= threshold) {
+                continue;
+            }
+            long surplus;
+            stock.lock();
+            try {
+                long units = stock.drain();
+                surplus = units > threshold ? units - keep : 0;
+                stock.spread(units - surplus);
+            } finally {
+                stock.unlock();
+            }
+            if (surplus > 0) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> itemRepository.returnStock(entry.getKey(), surplus));
+                    returned++;
+                } catch (RuntimeException e) {
+                    stock.add(surplus);
+                    log.warn("Returning {} units of item {} failed, will retry: {}", surplus, entry.getKey(), e.getMessage());
+                }
+            }
+        }
+        return returned;
+    }
+
+    private void reserve(Long itemId, int quantity) {
+        StripedStock stock = stockOf(itemId);
+        if (!stock.tryTake(quantity)) {
+            long units = takeOrDrain(stock, quantity);
+            if (units < quantity) {
+                // The drained units stay out of the cells while claiming, so no one else takes them
+                long needed = quantity - units;
+                long claimed;
+                try {
+                    claimed = claim(itemId, needed);
+                } catch (RuntimeException e) {
+                    stock.add(units);
+                    throw e;
+                }
+                if (claimed < needed) {
+                    stock.add(units);
+                    throw new InsufficientStockException(itemId, quantity);
+                }
+                stock.add(units + claimed - quantity);
+            }
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                // If the outcome is unknown the units are kept out: that may lose them but never sells one twice
+                if (status == STATUS_ROLLED_BACK) {
+                    stock.add(quantity);
+                }
+            }
+        });
+    }
+
+    /**
+     * Takes {@code quantity} units if the cells hold that many together; otherwise empties the
+     * cells and hands their units to the caller.
+     *
+     * @return {@code quantity} if the units were taken, otherwise the fewer units drained
+     */
+    private static long takeOrDrain(StripedStock stock, long quantity) {
+        stock.lock();
+        try {
+            long units = stock.drain();
+            if (units >= quantity) {
+                stock.spread(units - quantity);
+                return quantity;
+            }
+            return units;
+        } finally {
+            stock.unlock();
+        }
+    }
+
+    /**
+     * Claims at least {@code needed} units from the item's row in a transaction of its own that
+     * commits before this returns: a full allotment if possible, otherwise whatever is left.
+     *
+     * @return The units claimed, or 0 if fewer than {@code needed} were left
+     */
+    private long claim(Long itemId, long needed) {
+        Long claimed = claimTemplate.execute(status -> {
+            long allotment = Math.max(needed, allotmentSize);
+            if (itemRepository.takeStock(itemId, allotment) > 0) {
+                return allotment;
+            }
+            long left = itemRepository.findStockById(itemId).orElse(0);
+            if (left > needed && itemRepository.takeStock(itemId, left) > 0) {
+                return left;
+            }
+            return itemRepository.takeStock(itemId, needed) > 0 ? needed : 0L;
+        });
+        return claimed == null ? 0 : claimed;
+    }
+
+    private StripedStock stockOf(Long itemId) {
+        return stocks.computeIfAbsent(itemId, id -> new StripedStock(stripes));
+    }
+}
@@ -0,0 +1,121 @@
+package com.order.processing.system.inventory;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Units of one item held by this instance, spread over cells on separate cache lines so that
+ * concurrent reservations of a hot item mostly update different cells.
+ * <p>
+ * A reservation takes its whole quantity from a single cell with one compare-and-set, starting
+ * at the calling thread's home cell. It never takes part of a cell and gives it back, so a
+ * reservation cannot fail only because another one is briefly holding units. When no single
+ * cell has enough, the caller takes {@link #lock()} and {@link #drain() drains} every cell, which
+ * gives the exact count of unreserved units.
+ */
+final class StripedStock {
+
+    /** Longs per 64-byte cache line; only the first of each group is used. */
+    private static final int PADDING = 8;
+
+    private final AtomicLongArray cells;
+    private final int mask;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * @param stripes Number of cells, a power of two
+     */
+    StripedStock(int stripes) {
+        if (Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("Stripes must be a power of two: " + stripes);
+        }
+        this.cells = new AtomicLongArray(stripes * PADDING);
+        this.mask = stripes - 1;
+    }
+
+    /**
+     * Takes {@code quantity} units from one cell that holds at least that many.
+     *
+     * @return false if no single cell had enough; nothing was taken
+     */
+    boolean tryTake(long quantity) {
+        int home = homeCell();
+        for (int i = 0; i <= mask; i++) {
+            int index = ((home + i) & mask) * PADDING;
+            long units = cells.get(index);
+            while (units >= quantity) {
+                if (cells.compareAndSet(index, units, units - quantity)) {
+                    return true;
+                }
+                units = cells.get(index);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds units to the calling thread's home cell.
+     */
+    void add(long units) {
+        if (units > 0) {
+            cells.addAndGet(homeCell() * PADDING, units);
+        }
+    }
+
+    /**
+     * Empties every cell. Call with the lock held and {@link #spread} what is not used.
+     *
+     * @return The units the cells held
+     */
+    long drain() {
+        long total = 0;
+        for (int i = 0; i <= mask; i++) {
+            total += cells.getAndSet(i * PADDING, 0);
+        }
+        return total;
+    }
+
+    /**
+     * Distributes units evenly over the cells.
+     */
+    void spread(long units) {
+        int stripes = mask + 1;
+        long share = units / stripes;
+        long remainder = units % stripes;
+        int home = homeCell();
+        for (int i = 0; i < stripes; i++) {
+            long cellUnits = share + (i < remainder ? 1 : 0);
+            if (cellUnits > 0) {
+                cells.addAndGet(((home + i) & mask) * PADDING, cellUnits);
+            }
+        }
+    }
+
+    /**
+     * @return The units currently held, read cell by cell and so only approximate under load
+     */
+    long total() {
+        long total = 0;
+        for (int i = 0; i <= mask; i++) {
+            total += cells.get(i * PADDING);
+        }
+        return total;
+    }
+
+    /**
+     * Serializes drains. Never hold it across a database statement, which may wait on a row
+     * lock held by a transaction that is itself waiting for this lock.
+     */
+    void lock() {
+        lock.lock();
+    }
+
+    void unlock() {
+        lock.unlock();
+    }
+
+    private int homeCell() {
+        long id = Thread.currentThread().getId();
+        return (int) ((id * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+}
@@ -0,0 +1,100 @@
+package com.order.processing.system.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Business counters of the order lifecycle and gauges describing the promotion scheduler.
+ * Call timings of services and repositories are recorded separately, by {@code @Timed}
+ * and by Spring Data's repository metrics. Creations and cancellations are counted once
+ * the current transaction commits, so rolled-back writes are never counted.
+ */
+@Component
+public class OrderMetrics {
+
+    private final Counter created;
+    private final Counter cancelled;
+    private final Counter promoted;
+    private final Timer promotionRuns;
+
+    private final AtomicLong pendingBacklog = new AtomicLong();
+    private final AtomicLong lastPromotionNanos = new AtomicLong();
+
+    public OrderMetrics(MeterRegistry meterRegistry) {
+        this.created = Counter.builder("orders.created")
+                .description("Orders persisted, through any endpoint")
+                .register(meterRegistry);
+        this.cancelled = Counter.builder("orders.cancelled")
+                .description("Orders moved from PENDING to CANCELLED")
+                .register(meterRegistry);
+        this.promoted = Counter.builder("orders.promoted")
+                .description("Orders moved from PENDING to PROCESSING by the scheduler")
+                .register(meterRegistry);
+        this.promotionRuns = Timer.builder("orders.promotion.duration")
+                .description("Duration of scheduled promotion runs")
+                .register(meterRegistry);
+
+        Gauge.builder("orders.pending.backlog", pendingBacklog, AtomicLong::get)
+                .description("PENDING orders found at the start of the last promotion run")
+                .register(meterRegistry);
+        Gauge.builder("orders.promotion.last.duration", lastPromotionNanos, nanos -> nanos.get() / 1e9)
+                .description("Duration of the last promotion run")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Counts created orders once the current transaction commits.
+     */
+    public void orderCreated(int count) {
+        afterCommit(() -> created.increment(count));
+    }
+
+    /**
+     * Counts a cancelled order once the current transaction commits.
+     */
+    public void orderCancelled() {
+        afterCommit(cancelled::increment);
+    }
+
+    public void ordersPromoted(int count) {
+        promoted.increment(count);
+    }
+
+    public void pendingBacklog(long count) {
+        pendingBacklog.set(count);
+    }
+
+    /**
+     * @return PENDING orders found at the start of the last promotion run
+     */
+    public long getPendingBacklog() {
+        return pendingBacklog.get();
+    }
+
+    public void promotionRun(Duration duration) {
+        lastPromotionNanos.set(duration.toNanos());
+        promotionRuns.record(duration);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,61 @@
+package com.order.processing.system.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Records which order an {@code Idempotency-Key} created, so a retried request returns that
+ * order instead of creating another. Rows are only ever inserted (and purged once expired);
+ * the key's primary key constraint is what serializes concurrent requests with the same key.
+ */
+@Data
+@Entity
+@NoArgsConstructor
+@Table(name = "idempotency_keys", indexes = {
+    @Index(name = "idx_idempotency_keys_created_at", columnList = "createdAt")
+})
+public class IdempotencyKey implements Persistable<String> {
+
+    public static final int MAX_LENGTH = 255;
+
+    @Id
+    @Column(name = "idempotency_key", length = MAX_LENGTH)
+    private String key;
+
+    @Column(nullable = false)
+    private UUID orderId;
+
+    /** SHA-256 of the request the key was first used with, to reject reuse with another payload. */
+    @Column(nullable = false, length = 64)
+    private String requestHash;
+
+    @CreationTimestamp
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    public IdempotencyKey(String key, UUID orderId, String requestHash) {
+        this.key = key;
+        this.orderId = orderId;
+        this.requestHash = requestHash;
+    }
+
+    @Override
+    public String getId() {
+        return key;
+    }
+
+    /**
+     * Always new: keys are never updated, so saving one must INSERT (and fail on a duplicate)
+     * rather than merge into an existing row.
+     */
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
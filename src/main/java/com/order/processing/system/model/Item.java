@@ -3,6 +3,7 @@ package com.order.processing.system.model;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 @Data
 @Entity
@@ -20,4 +21,12 @@ public class Item {
     private Double price;
 
     private String description;
+
+    /**
+     * Whether orders are checked against the item's stock. Fixed when the item is created, so a
+     * cached copy of the item is always right about it.
+     */
+    @ColumnDefault("false")
+    @Column(nullable = false, updatable = false)
+    private boolean stockTracked;
 }
@@ -2,9 +2,12 @@ package com.order.processing.system.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.springframework.data.domain.Persistable;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -14,12 +17,31 @@ import java.util.UUID;
 @Data
 @Entity
 @NoArgsConstructor
-@Table(name = "orders")
-public class Order {
+@Table(name = "orders", indexes = {
+    @Index(name = "idx_orders_created_at_id", columnList = "createdAt, id"),
+    @Index(name = "idx_orders_status_created_at_id", columnList = "status, createdAt, id"),
+    @Index(name = "idx_orders_total_amount_id", columnList = "totalAmount, id"),
+    @Index(name = "idx_orders_status_updated_at_id", columnList = "status, updatedAt, id"),
+    @Index(name = "idx_orders_status_partition_bucket", columnList = "status, partitionBucket")
+})
+public class Order implements Persistable<UUID> {
+    /** Number of hash buckets the order id space is split into for partitioned processing. */
+    public static final int PARTITION_BUCKETS = 1024;
+
+    /**
+     * Assigned by the application when the order is built, so the id can be handed
+     * to the client before the order is written (asynchronous acceptance).
+     */
     @Id
-    @GeneratedValue
     private UUID id;
 
+    /**
+     * Hash bucket of the id in [0, {@link #PARTITION_BUCKETS}), set together with the id.
+     * Scheduler instances split the buckets between them.
+     */
+    @Column(nullable = false)
+    private int partitionBucket;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "customer_id", nullable = false)
     private Customer customer;
@@ -28,6 +50,17 @@ public class Order {
     @Column(nullable = false)
     private OrderStatus status = OrderStatus.PENDING;
 
+    /** Sum of the line subtotals at their snapshot prices, computed once when the order is created. */
+    @Column(nullable = false)
+    private double totalAmount;
+
+    /**
+     * Optimistic lock. Entity saves check it; the conditional status updates in
+     * {@code OrderRepository} increment it themselves.
+     */
+    @Version
+    private Long version;
+
     @CreationTimestamp
     private LocalDateTime createdAt;
 
@@ -37,13 +70,40 @@ public class Order {
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<OrderItem> items = new ArrayList<>();
 
+    /**
+     * Tracks whether this instance came from the database, so Spring Data persists new
+     * orders directly instead of merging them (which would first SELECT the assigned id).
+     */
+    @Transient
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private boolean persisted;
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        this.persisted = true;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+        this.partitionBucket = id == null ? 0 : Math.floorMod(id.hashCode(), PARTITION_BUCKETS);
+    }
+
     public void addItem(OrderItem item) {
         items.add(item);
         item.setOrder(this);
+        totalAmount += item.getUnitPrice() * item.getQuantity();
     }
 
     public void removeItem(OrderItem item) {
         items.remove(item);
         item.setOrder(null);
+        totalAmount -= item.getUnitPrice() * item.getQuantity();
     }
 }
@@ -9,8 +9,13 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @Table(name = "order_items")
 public class OrderItem {
+    /**
+     * Sequence-backed so Hibernate can pre-allocate ids and batch the line inserts;
+     * IDENTITY would force one round trip per row to read back the generated key.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_items_seq")
+    @SequenceGenerator(name = "order_items_seq", sequenceName = "order_items_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -23,4 +28,18 @@ public class OrderItem {
 
     @Column(nullable = false)
     private Integer quantity;
+
+    /** Item price at the time the order was placed; later price changes don't affect the order. */
+    @Column(nullable = false)
+    private Double unitPrice;
+
+    /**
+     * Item name at the time the order was placed, so the order still reads after the item is
+     * renamed or deleted. Null on lines written before the column existed and never backfilled.
+     */
+    private String itemName;
+
+    /** Whether the quantity was taken from the item's stock, and so is given back if the order is cancelled. */
+    @Column(nullable = false)
+    private boolean stockReserved;
 }
@@ -0,0 +1,67 @@
+package com.order.processing.system.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+
+/**
+ * One persisted order aggregate: the number of orders and their revenue for a single
+ * dimension value, such as one status, one customer or one day.
+ * Rows are inserted once and then only changed by relative increments.
+ */
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "order_stats")
+public class OrderStat implements Persistable<OrderStat.Key> {
+
+    @EmbeddedId
+    private Key key;
+
+    @Column(nullable = false)
+    private long orderCount;
+
+    @Column(nullable = false)
+    private double revenue;
+
+    @Override
+    public Key getId() {
+        return key;
+    }
+
+    /**
+     * Always new: existing rows are changed through {@code OrderStatRepository.increment},
+     * never by saving the entity.
+     */
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+
+    public enum Metric {
+        /** Orders per {@link OrderStatus}; revenue is not tracked per status. */
+        STATUS,
+        /** Non-cancelled orders and their revenue per customer ID. */
+        CUSTOMER,
+        /** Non-cancelled orders and their revenue per creation date (ISO-8601). */
+        DAY
+    }
+
+    @Data
+    @Embeddable
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        @Enumerated(EnumType.STRING)
+        @Column(length = 16)
+        private Metric metric;
+
+        @Column(length = 64)
+        private String dimension;
+    }
+}
@@ -1,9 +1,46 @@
 package com.order.processing.system.model;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 public enum OrderStatus {
     PENDING,
     PROCESSING,
     SHIPPED,
     DELIVERED,
-    CANCELLED
+    CANCELLED;
+
+    /** Allowed transitions; statuses without an entry are terminal. */
+    private static final Map<OrderStatus, Set<OrderStatus>> TRANSITIONS = new EnumMap<>(OrderStatus.class);
+
+    static {
+        TRANSITIONS.put(PENDING, EnumSet.of(PROCESSING, CANCELLED));
+        TRANSITIONS.put(PROCESSING, EnumSet.of(SHIPPED));
+        TRANSITIONS.put(SHIPPED, EnumSet.of(DELIVERED));
+    }
+
+    /**
+     * @return The statuses an order in this status may move to directly
+     */
+    public Set<OrderStatus> allowedTransitions() {
+        return Collections.unmodifiableSet(TRANSITIONS.getOrDefault(this, EnumSet.noneOf(OrderStatus.class)));
+    }
+
+    /**
+     * @param target The status to move to
+     * @return true if an order in this status may move directly to {@code target}
+     */
+    public boolean canTransitionTo(OrderStatus target) {
+        return TRANSITIONS.getOrDefault(this, Set.of()).contains(target);
+    }
+
+    /**
+     * @return true if an order in this status can no longer change
+     */
+    public boolean isTerminal() {
+        return !TRANSITIONS.containsKey(this);
+    }
 }
@@ -0,0 +1,42 @@
+package com.order.processing.system.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Heartbeat of a running scheduler instance; the number of unexpired rows decides
+ * each instance's fair share of the partitions.
+ */
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "scheduler_instances")
+public class SchedulerInstance implements Persistable<String> {
+
+    @Id
+    @Column(length = 64)
+    private String instanceId;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Override
+    public String getId() {
+        return instanceId;
+    }
+
+    /**
+     * Always new: heartbeats of a known instance are written through
+     * {@code SchedulerInstanceRepository.heartbeat}.
+     */
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
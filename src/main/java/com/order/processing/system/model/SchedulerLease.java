@@ -0,0 +1,43 @@
+package com.order.processing.system.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Ownership of one scheduler partition. An instance may process the partition's orders while it
+ * holds an unexpired lease; leases are taken and released with conditional updates only.
+ */
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "scheduler_leases")
+public class SchedulerLease implements Persistable<Integer> {
+
+    @Id
+    private Integer partitionId;
+
+    /** Instance holding the lease, or null if it is free. */
+    @Column(length = 64)
+    private String owner;
+
+    private LocalDateTime expiresAt;
+
+    @Override
+    public Integer getId() {
+        return partitionId;
+    }
+
+    /**
+     * Always new: rows are only inserted once, when the partitions are first created.
+     */
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
@@ -0,0 +1,38 @@
+package com.order.processing.system.repository;
+
+import com.order.processing.system.model.IdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repository for the idempotency keys of order creation requests.
+ */
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, String> {
+
+    /**
+     * Deletes the keys created before the given time in one statement.
+     *
+     * @param cutoff Keys created before this are deleted
+     * @return Number of keys deleted
+     */
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * Deletes one key if it was created before the given time, so an expired key can be used again.
+     *
+     * @param key    The idempotency key
+     * @param cutoff The key is deleted only if created before this
+     * @return Number of keys deleted, 0 or 1
+     */
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.key = :key AND k.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("key") String key, @Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,11 +1,16 @@
 package com.order.processing.system.repository;
 
 import com.order.processing.system.model.Item;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for Item entity operations.
@@ -37,4 +42,56 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
      * @return List of items matching the provided IDs
      */
     List<Item> findByIdInOrderByNameAsc(Collection<Long> ids);
+
+    /**
+     * Reads the catalog in keyset pages, e.g. to build the search index.
+     *
+     * @param id       Only items with a greater ID are returned
+     * @param pageable Page request carrying the page size; only the size is honored
+     * @return The next items in ID order
+     */
+    List<Item> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    /**
+     * Reads the units of an item not yet allotted to any instance.
+     *
+     * @param id The item ID
+     * @return The unallotted units; empty if the item's stock is not tracked or it does not exist
+     */
+    @Query(value = "SELECT stock FROM items WHERE id = :id", nativeQuery = true)
+    Optional<Integer> findStockById(@Param("id") Long id);
+
+    /**
+     * Takes units from an item's unallotted stock if at least that many are left.
+     * Locks the item row until the current transaction ends.
+     *
+     * @param id       The item ID
+     * @param quantity Units to take
+     * @return 1 if the units were taken, 0 if fewer were left or the stock is not tracked
+     */
+    @Modifying
+    @Query(value = "UPDATE items SET stock = stock - :quantity WHERE id = :id AND stock >= :quantity", nativeQuery = true)
+    int takeStock(@Param("id") Long id, @Param("quantity") long quantity);
+
+    /**
+     * Puts units back into an item's unallotted stock.
+     *
+     * @param id       The item ID
+     * @param quantity Units to return
+     * @return 1 if the item's stock is tracked, 0 otherwise
+     */
+    @Modifying
+    @Query(value = "UPDATE items SET stock = stock + :quantity WHERE id = :id AND stock IS NOT NULL", nativeQuery = true)
+    int returnStock(@Param("id") Long id, @Param("quantity") long quantity);
+
+    /**
+     * Adds units to the stock of a stock-tracked item.
+     *
+     * @param id       The item ID
+     * @param quantity Units to add
+     * @return 1 if the item exists and its stock is tracked, 0 otherwise
+     */
+    @Modifying
+    @Query(value = "UPDATE items SET stock = COALESCE(stock, 0) + :quantity WHERE id = :id AND stock_tracked", nativeQuery = true)
+    int addStock(@Param("id") Long id, @Param("quantity") long quantity);
 }
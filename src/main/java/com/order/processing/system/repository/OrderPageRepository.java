@@ -0,0 +1,39 @@
+package com.order.processing.system.repository;
+
+import com.order.processing.system.dto.OrderCursor;
+import com.order.processing.system.dto.OrderListQuery;
+import com.order.processing.system.dto.OrderSort;
+import com.order.processing.system.dto.OrderSummary;
+import com.order.processing.system.model.Order;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Keyset page queries of the order listing. Implemented by {@link OrderPageRepositoryImpl}
+ * and exposed through {@link OrderRepository}.
+ */
+public interface OrderPageRepository {
+
+    /**
+     * Reads one keyset page of orders with their customers. Line items are loaded by
+     * {@link OrderRepository#fetchItems(List)}.
+     *
+     * @param query    Status and total filters
+     * @param sort     The ordering
+     * @param position Position to start after, or null for the first page
+     * @param limit    Maximum number of orders
+     * @return The orders of the page, in order
+     */
+    List<Order> findPage(OrderListQuery query, OrderSort sort, OrderCursor position, int limit);
+
+    /**
+     * Summary counterpart of {@link #findPage}: selects only columns of the {@code orders} row,
+     * so neither {@code customers} nor {@code order_items} is read.
+     *
+     * @param fields Summary properties to select, or null or empty for all of them; the id and
+     *               the sort key are always selected, since the next cursor is built from them
+     */
+    List<OrderSummary> findSummaryPage(OrderListQuery query, OrderSort sort, OrderCursor position, int limit,
+                                       Set<String> fields);
+}
@@ -0,0 +1,115 @@
+package com.order.processing.system.repository;
+
+import com.order.processing.system.dto.OrderCursor;
+import com.order.processing.system.dto.OrderListQuery;
+import com.order.processing.system.dto.OrderSort;
+import com.order.processing.system.dto.OrderSummary;
+import com.order.processing.system.model.Order;
+import com.order.processing.system.model.OrderStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Builds the listing queries from the filters that are actually set. A catch-all predicate
+ * such as {@code (:status IS NULL OR o.status = :status)} hides the filter from the planner,
+ * and a Postgres generic plan for it cannot use the {@code (status, created_at, id)} index.
+ * Each filter combination is its own statement instead, with its own plan.
+ * <p>
+ * Summary pages likewise select only the columns of the requested fields.
+ */
+@RequiredArgsConstructor
+class OrderPageRepositoryImpl implements OrderPageRepository {
+
+    /** JPQL path of each {@link OrderSummary} property, in a fixed order so equal field sets give equal statements. */
+    private static final Map<String, String> SUMMARY_PATHS = new LinkedHashMap<>();
+
+    static {
+        SUMMARY_PATHS.put("id", "o.id");
+        SUMMARY_PATHS.put("status", "o.status");
+        SUMMARY_PATHS.put("createdAt", "o.createdAt");
+        SUMMARY_PATHS.put("updatedAt", "o.updatedAt");
+        SUMMARY_PATHS.put("customerId", "o.customer.id");
+        SUMMARY_PATHS.put("totalAmount", "o.totalAmount");
+    }
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<Order> findPage(OrderListQuery query, OrderSort sort, OrderCursor position, int limit) {
+        return page("SELECT o FROM Order o JOIN FETCH o.customer", Order.class,
+            query, sort, position, limit);
+    }
+
+    @Override
+    public List<OrderSummary> findSummaryPage(OrderListQuery query, OrderSort sort, OrderCursor position, int limit,
+                                              Set<String> fields) {
+        Set<String> selected = new HashSet<>(fields == null || fields.isEmpty() ? OrderSummary.FIELDS : fields);
+        // The next cursor is taken from the id and sort key of the last row
+        selected.add("id");
+        selected.add(sort == OrderSort.TOTAL_AMOUNT ? "totalAmount" : "createdAt");
+        List<String> columns = SUMMARY_PATHS.keySet().stream().filter(selected::contains).toList();
+        String select = columns.stream().map(SUMMARY_PATHS::get).collect(Collectors.joining(", "));
+        return page("SELECT " + select + " FROM Order o", Tuple.class, query, sort, position, limit).stream()
+            .map(tuple -> toSummary(tuple, columns))
+            .toList();
+    }
+
+    private static OrderSummary toSummary(Tuple tuple, List<String> columns) {
+        OrderSummary summary = new OrderSummary();
+        for (int i = 0; i < columns.size(); i++) {
+            switch (columns.get(i)) {
+                case "id" -> summary.setId(tuple.get(i, UUID.class));
+                case "status" -> summary.setStatus(tuple.get(i, OrderStatus.class));
+                case "createdAt" -> summary.setCreatedAt(tuple.get(i, LocalDateTime.class));
+                case "updatedAt" -> summary.setUpdatedAt(tuple.get(i, LocalDateTime.class));
+                case "customerId" -> summary.setCustomerId(tuple.get(i, Long.class));
+                case "totalAmount" -> summary.setTotalAmount(tuple.get(i, Double.class));
+                default -> throw new IllegalStateException("Unmapped summary field " + columns.get(i));
+            }
+        }
+        return summary;
+    }
+
+    private <T> List<T> page(String selectFrom, Class<T> type, OrderListQuery query, OrderSort sort,
+                             OrderCursor position, int limit) {
+        String key = sort == OrderSort.TOTAL_AMOUNT ? "o.totalAmount" : "o.createdAt";
+        List<String> predicates = new ArrayList<>();
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        if (query.getStatus() != null) {
+            predicates.add("o.status = :status");
+            parameters.put("status", query.getStatus());
+        }
+        if (query.getMinTotal() != null) {
+            predicates.add("o.totalAmount >= :minTotal");
+            parameters.put("minTotal", query.getMinTotal());
+        }
+        if (query.getMaxTotal() != null) {
+            predicates.add("o.totalAmount <= :maxTotal");
+            parameters.put("maxTotal", query.getMaxTotal());
+        }
+        if (position != null) {
+            predicates.add("(" + key + " > :key OR (" + key + " = :key AND o.id > :id))");
+            parameters.put("key", sort == OrderSort.TOTAL_AMOUNT ? position.totalAmount() : position.createdAt());
+            parameters.put("id", position.id());
+        }
+
+        String jpql = selectFrom
+            + (predicates.isEmpty() ? "" : " WHERE " + String.join(" AND ", predicates))
+            + " ORDER BY " + key + ", o.id";
+        TypedQuery<T> typed = entityManager.createQuery(jpql, type).setMaxResults(limit);
+        parameters.forEach(typed::setParameter);
+        return typed.getResultList();
+    }
+}
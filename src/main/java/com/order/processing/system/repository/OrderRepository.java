@@ -1,11 +1,24 @@
 package com.order.processing.system.repository;
 
+import com.order.processing.system.dto.OrderVersion;
 import com.order.processing.system.model.Order;
 import com.order.processing.system.model.OrderStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -13,7 +26,12 @@ import java.util.UUID;
  * Extends JpaRepository to provide standard CRUD operations and custom query methods.
  */
 @Repository
-public interface OrderRepository extends JpaRepository<Order, UUID> {
+public interface OrderRepository extends JpaRepository<Order, UUID>, OrderPageRepository {
+
+    /**
+     * Hibernate lock timeout value meaning "skip rows locked by other transactions".
+     */
+    String SKIP_LOCKED = "-2";
 
     /**
      * Finds all orders with the specified status.
@@ -22,4 +40,204 @@ public interface OrderRepository extends JpaRepository<Order, UUID> {
      * @return List of orders matching the status
      */
     List<Order> findByStatus(OrderStatus status);
+
+    /**
+     * Finds an order together with its customer and line items in a single query.
+     * Item details are resolved from the catalog cache rather than joined here.
+     *
+     * @param id The UUID of the order
+     * @return Optional containing the fully initialized order if found
+     */
+    @EntityGraph(attributePaths = {"customer", "items"})
+    Optional<Order> findWithDetailsById(UUID id);
+
+    /**
+     * Initializes the line items of orders already loaded in the current persistence context,
+     * using one query for the whole page. Item details are resolved from the catalog cache.
+     * Kept separate from the page query because fetching a collection alongside a row limit
+     * would make Hibernate paginate in memory.
+     *
+     * @param orders The managed orders whose line items should be loaded
+     * @return The same order instances, now with initialized line items
+     */
+    @Query("""
+        SELECT DISTINCT o FROM Order o
+        LEFT JOIN FETCH o.items
+        WHERE o IN :orders
+        """)
+    List<Order> fetchItems(@Param("orders") List<Order> orders);
+
+    /**
+     * Locks the IDs of the oldest orders in the given status for update, skipping rows
+     * already locked by other transactions (e.g. a concurrent cancellation) instead of
+     * waiting for them. Dialects without SKIP LOCKED fall back to a plain FOR UPDATE.
+     *
+     * @param status   The order status to select
+     * @param pageable Page request carrying the chunk size; only the size is honored
+     * @return IDs of the locked orders, oldest first
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = SKIP_LOCKED))
+    @Query("SELECT o.id FROM Order o WHERE o.status = :status ORDER BY o.createdAt, o.id")
+    List<UUID> lockIdsByStatus(@Param("status") OrderStatus status, Pageable pageable);
+
+    /**
+     * Locks the IDs of orders in any of the given statuses that were last updated before
+     * {@code cutoff}, skipping rows locked by other transactions.
+     *
+     * @param statuses The statuses to select
+     * @param cutoff   Only orders updated before this time are selected
+     * @param pageable Page request carrying the chunk size; only the size is honored
+     * @return IDs of the locked orders, least recently updated first
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = SKIP_LOCKED))
+    @Query("""
+        SELECT o.id FROM Order o
+        WHERE o.status IN :statuses AND o.updatedAt < :cutoff
+        ORDER BY o.updatedAt, o.id
+        """)
+    List<UUID> lockIdsByStatusUpdatedBefore(@Param("statuses") Collection<OrderStatus> statuses,
+                                            @Param("cutoff") LocalDateTime cutoff,
+                                            Pageable pageable);
+
+    /**
+     * Finds orders together with their customers and line items in a single query.
+     *
+     * @param ids The UUIDs of the orders
+     * @return The fully initialized orders that exist
+     */
+    @EntityGraph(attributePaths = {"customer", "items"})
+    List<Order> findWithDetailsByIdIn(Collection<UUID> ids);
+
+    /**
+     * Deletes the line items of the given orders in one statement.
+     *
+     * @param ids IDs of the orders whose lines are deleted
+     * @return Number of lines deleted
+     */
+    @Modifying
+    @Query("DELETE FROM OrderItem i WHERE i.order.id IN :ids")
+    int deleteItemsByOrderIds(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Deletes the given orders in one statement; their lines must already be gone.
+     *
+     * @param ids IDs of the orders to delete
+     * @return Number of orders deleted
+     */
+    @Modifying
+    @Query("DELETE FROM Order o WHERE o.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Same as {@link #lockIdsByStatus}, restricted to orders whose partition bucket lies in
+     * {@code [fromBucket, toBucket]}.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = SKIP_LOCKED))
+    @Query("""
+        SELECT o.id FROM Order o
+        WHERE o.status = :status AND o.partitionBucket BETWEEN :fromBucket AND :toBucket
+        ORDER BY o.createdAt, o.id
+        """)
+    List<UUID> lockIdsByStatusAndBucketRange(@Param("status") OrderStatus status,
+                                             @Param("fromBucket") int fromBucket,
+                                             @Param("toBucket") int toBucket,
+                                             Pageable pageable);
+
+    long countByStatus(OrderStatus status);
+
+    /**
+     * Counts orders per status, to seed the order aggregates.
+     *
+     * @return Rows of {@code [OrderStatus status, Long orders]}
+     */
+    @Query("SELECT o.status, COUNT(o) FROM Order o GROUP BY o.status")
+    List<Object[]> countGroupedByStatus();
+
+    /**
+     * Counts orders and sums their totals per customer, to seed the order aggregates.
+     *
+     * @param excluded Orders in this status are left out
+     * @return Rows of {@code [Long customerId, Long orders, Double revenue]}
+     */
+    @Query("""
+        SELECT o.customer.id, COUNT(o), SUM(o.totalAmount) FROM Order o
+        WHERE o.status <> :excluded GROUP BY o.customer.id
+        """)
+    List<Object[]> sumGroupedByCustomer(@Param("excluded") OrderStatus excluded);
+
+    /**
+     * Counts orders and sums their totals per creation date, to seed the order aggregates.
+     *
+     * @param excluded Orders in this status are left out
+     * @return Rows of {@code [LocalDate day, Long orders, Double revenue]}
+     */
+    @Query("""
+        SELECT CAST(o.createdAt AS LocalDate), COUNT(o), SUM(o.totalAmount) FROM Order o
+        WHERE o.status <> :excluded GROUP BY CAST(o.createdAt AS LocalDate)
+        """)
+    List<Object[]> sumGroupedByDay(@Param("excluded") OrderStatus excluded);
+
+    /**
+     * Reads only the version and last update time of an order, for conditional requests.
+     *
+     * @param id ID of the order
+     * @return The order's version, or empty if the order does not exist
+     */
+    @Query("""
+        SELECT new com.order.processing.system.dto.OrderVersion(o.version, o.updatedAt)
+        FROM Order o WHERE o.id = :id
+        """)
+    Optional<OrderVersion> findVersionById(@Param("id") UUID id);
+
+    /**
+     * Reads only the status of an order, without loading the entity.
+     *
+     * @param id ID of the order
+     * @return The order's status, or empty if the order does not exist
+     */
+    @Query("SELECT o.status FROM Order o WHERE o.id = :id")
+    Optional<OrderStatus> findStatusById(@Param("id") UUID id);
+
+    /**
+     * Moves one order from an expected status to a new one with a single conditional UPDATE,
+     * bumping its version. Nothing is written if the order is no longer in {@code from}.
+     *
+     * @param id        ID of the order
+     * @param from      The status the order must currently be in
+     * @param to        The new status
+     * @param updatedAt Timestamp to record as the last update
+     * @return 1 if the order was moved, 0 if it does not exist or is in another status
+     */
+    @Modifying
+    @Query("""
+        UPDATE Order o SET o.status = :to, o.updatedAt = :updatedAt, o.version = o.version + 1
+        WHERE o.id = :id AND o.status = :from
+        """)
+    int transitionStatus(@Param("id") UUID id,
+                         @Param("from") OrderStatus from,
+                         @Param("to") OrderStatus to,
+                         @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Moves the given orders from one status to another in a single set-based UPDATE.
+     * Orders no longer in the expected status are left untouched.
+     *
+     * @param ids       IDs of the orders to update
+     * @param from      The status the orders must currently be in
+     * @param to        The new status
+     * @param updatedAt Timestamp to record as the last update
+     * @return Number of orders updated
+     */
+    @Modifying
+    @Query("""
+        UPDATE Order o SET o.status = :to, o.updatedAt = :updatedAt, o.version = o.version + 1
+        WHERE o.id IN :ids AND o.status = :from
+        """)
+    int updateStatus(@Param("ids") Collection<UUID> ids,
+                     @Param("from") OrderStatus from,
+                     @Param("to") OrderStatus to,
+                     @Param("updatedAt") LocalDateTime updatedAt);
 }
@@ -0,0 +1,43 @@
+package com.order.processing.system.repository;
+
+import com.order.processing.system.model.OrderStat;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository for the persisted order aggregates.
+ */
+@Repository
+public interface OrderStatRepository extends JpaRepository<OrderStat, OrderStat.Key> {
+
+    List<OrderStat> findByKeyMetric(OrderStat.Metric metric);
+
+    /**
+     * Loads the rows of one metric whose dimension sorts at or after {@code from},
+     * e.g. the days since a given ISO date.
+     */
+    List<OrderStat> findByKeyMetricAndKeyDimensionGreaterThanEqual(OrderStat.Metric metric, String from);
+
+    /**
+     * Adds to an existing aggregate without reading it, so concurrent flushes from
+     * several instances all land. Native because Hibernate's H2 dialect renders the
+     * parameter casts of the JPQL form invalidly for double columns.
+     *
+     * @param metric The {@link OrderStat.Metric} name
+     * @return 1 if the row exists and was updated, otherwise 0
+     */
+    @Modifying
+    @Query(value = """
+        UPDATE order_stats SET order_count = order_count + :orders, revenue = revenue + :revenue
+        WHERE metric = :metric AND dimension = :dimension
+        """, nativeQuery = true)
+    int increment(@Param("metric") String metric,
+                  @Param("dimension") String dimension,
+                  @Param("orders") long orders,
+                  @Param("revenue") double revenue);
+}
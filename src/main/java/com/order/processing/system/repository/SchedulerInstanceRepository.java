@@ -0,0 +1,50 @@
+package com.order.processing.system.repository;
+
+import com.order.processing.system.model.SchedulerInstance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repository for the heartbeats of running scheduler instances.
+ */
+@Repository
+public interface SchedulerInstanceRepository extends JpaRepository<SchedulerInstance, String> {
+
+    /**
+     * Extends the heartbeat of a known instance.
+     *
+     * @return 1 if the instance was known, otherwise 0
+     */
+    @Modifying
+    @Query("UPDATE SchedulerInstance i SET i.expiresAt = :expiresAt WHERE i.instanceId = :instanceId")
+    int heartbeat(@Param("instanceId") String instanceId, @Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * @return Number of instances whose heartbeat has not expired
+     */
+    long countByExpiresAtGreaterThanEqual(LocalDateTime now);
+
+    /**
+     * Deletes the heartbeats that expired before the given time.
+     *
+     * @return Number of heartbeats deleted
+     */
+    @Modifying
+    @Query("DELETE FROM SchedulerInstance i WHERE i.expiresAt < :cutoff")
+    int deleteExpiredBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * Deletes an instance's heartbeat. A query rather than {@code deleteById}, which skips
+     * entities that report themselves as new.
+     *
+     * @return 1 if the instance was known
+     */
+    @Modifying
+    @Query("DELETE FROM SchedulerInstance i WHERE i.instanceId = :instanceId")
+    int deleteByInstanceId(@Param("instanceId") String instanceId);
+}
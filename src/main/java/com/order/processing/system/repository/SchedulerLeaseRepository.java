@@ -0,0 +1,90 @@
+package com.order.processing.system.repository;
+
+import com.order.processing.system.model.SchedulerLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository for the scheduler partition leases. Every ownership change is a conditional
+ * UPDATE, so concurrent instances can never both take the same lease.
+ */
+@Repository
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, Integer> {
+
+    /**
+     * @return IDs of the existing partitions below {@code partitions}
+     */
+    @Query("SELECT l.partitionId FROM SchedulerLease l WHERE l.partitionId < :partitions")
+    List<Integer> findPartitionIds(@Param("partitions") int partitions);
+
+    /**
+     * @return IDs of the partitions the owner holds, ascending
+     */
+    @Query("""
+        SELECT l.partitionId FROM SchedulerLease l
+        WHERE l.owner = :owner AND l.partitionId < :partitions
+        ORDER BY l.partitionId
+        """)
+    List<Integer> findOwnedPartitionIds(@Param("owner") String owner, @Param("partitions") int partitions);
+
+    /**
+     * @return IDs of the partitions that are free or whose lease has expired, ascending
+     */
+    @Query("""
+        SELECT l.partitionId FROM SchedulerLease l
+        WHERE (l.owner IS NULL OR l.expiresAt < :now) AND l.partitionId < :partitions
+        ORDER BY l.partitionId
+        """)
+    List<Integer> findClaimablePartitionIds(@Param("now") LocalDateTime now, @Param("partitions") int partitions);
+
+    /**
+     * Extends every lease the owner still holds.
+     *
+     * @return Number of leases renewed
+     */
+    @Modifying
+    @Query("UPDATE SchedulerLease l SET l.expiresAt = :expiresAt WHERE l.owner = :owner")
+    int renew(@Param("owner") String owner, @Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * Takes a partition if it is free or its lease has expired.
+     *
+     * @return 1 if the lease was taken, 0 if another instance holds it
+     */
+    @Modifying
+    @Query("""
+        UPDATE SchedulerLease l SET l.owner = :owner, l.expiresAt = :expiresAt
+        WHERE l.partitionId = :partitionId AND (l.owner IS NULL OR l.expiresAt < :now)
+        """)
+    int claim(@Param("partitionId") int partitionId,
+              @Param("owner") String owner,
+              @Param("expiresAt") LocalDateTime expiresAt,
+              @Param("now") LocalDateTime now);
+
+    /**
+     * Gives up a partition if the owner still holds it.
+     *
+     * @return 1 if the lease was released
+     */
+    @Modifying
+    @Query("""
+        UPDATE SchedulerLease l SET l.owner = NULL, l.expiresAt = NULL
+        WHERE l.partitionId = :partitionId AND l.owner = :owner
+        """)
+    int release(@Param("partitionId") int partitionId, @Param("owner") String owner);
+
+    /**
+     * Gives up every partition the owner holds, e.g. on shutdown.
+     *
+     * @return Number of leases released
+     */
+    @Modifying
+    @Query("UPDATE SchedulerLease l SET l.owner = NULL, l.expiresAt = NULL WHERE l.owner = :owner")
+    int releaseAll(@Param("owner") String owner);
+}
@@ -0,0 +1,27 @@
+package com.order.processing.system.scheduler;
+
+import com.order.processing.system.service.IdempotentOrderService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdempotencyKeyCleanupScheduler {
+
+    private final IdempotentOrderService idempotentOrderService;
+
+    @Scheduled(fixedRate = 3600000, initialDelay = 300000) // hourly, with a 5-minute initial delay
+    public void purgeExpiredKeys() {
+        try {
+            int deleted = idempotentOrderService.purgeExpiredKeys();
+            if (deleted > 0) {
+                log.info("Purged {} expired idempotency keys", deleted);
+            }
+        } catch (Exception e) {
+            log.error("Error purging idempotency keys: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.order.processing.system.scheduler;
+
+import com.order.processing.system.analytics.OrderAnalytics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderAnalyticsScheduler {
+
+    private final OrderAnalytics orderAnalytics;
+
+    @Scheduled(fixedDelayString = "${order-processing.analytics.flush-interval-ms:10000}",
+               initialDelayString = "${order-processing.analytics.flush-interval-ms:10000}")
+    public void flush() {
+        try {
+            orderAnalytics.flush();
+        } catch (Exception e) {
+            log.error("Error flushing order aggregates: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.order.processing.system.scheduler;
+
+import com.order.processing.system.service.OrderArchiveService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "order-processing.archive.enabled", havingValue = "true")
+public class OrderArchiveScheduler {
+
+    private final OrderArchiveService orderArchiveService;
+    private final int afterDays;
+
+    public OrderArchiveScheduler(OrderArchiveService orderArchiveService,
+                                 @Value("${order-processing.archive.after-days:90}") int afterDays) {
+        this.orderArchiveService = orderArchiveService;
+        this.afterDays = afterDays;
+    }
+
+    @Scheduled(fixedRate = 3600000, initialDelay = 600000) // hourly, with a 10-minute initial delay
+    public void archiveTerminalOrders() {
+        try {
+            int archived = orderArchiveService.archiveTerminalOrders(LocalDateTime.now().minusDays(afterDays));
+            if (archived > 0) {
+                log.info("Archived {} orders that reached a terminal status over {} days ago", archived, afterDays);
+            }
+        } catch (Exception e) {
+            log.error("Error archiving terminal orders: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -1,13 +1,18 @@
 package com.order.processing.system.scheduler;
 
+import com.order.processing.system.metrics.OrderMetrics;
+import com.order.processing.system.model.OrderStatus;
 import com.order.processing.system.service.OrderService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 
 @Slf4j
 @Component
@@ -15,20 +20,42 @@ import java.time.format.DateTimeFormatter;
 public class OrderStatusUpdateScheduler {
 
     private final OrderService orderService;
+    private final OrderMetrics orderMetrics;
+    private final ObjectProvider<PartitionLeaseCoordinator> partitionLeaseCoordinator;
     private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
-    @Scheduled(fixedRate = 300000, initialDelay = 60000) // 5 minutes, with 1-minute initial delay
+    @Scheduled(fixedRateString = "${order-processing.scheduler.promotion-interval-ms:300000}",
+               initialDelay = 60000) // 5 minutes by default, with 1-minute initial delay
     public void updatePendingOrders() {
         String startTime = LocalDateTime.now().format(formatter);
         log.info("Starting scheduled update of pending orders at: {}", startTime);
 
+        long started = System.nanoTime();
         try {
-            int updatedCount = orderService.updatePendingOrders();
+            // Sampled before promoting: the backlog that accumulated since the previous run
+            orderMetrics.pendingBacklog(orderService.countOrders(OrderStatus.PENDING));
+            PartitionLeaseCoordinator coordinator = partitionLeaseCoordinator.getIfAvailable();
+            int updatedCount = coordinator == null ? orderService.updatePendingOrders() : updateOwnedPartitions(coordinator);
             log.info("Successfully updated {} pending orders to PROCESSING at: {}",
                     updatedCount,
                     LocalDateTime.now().format(formatter));
         } catch (Exception e) {
             log.error("Error updating pending orders: {}", e.getMessage(), e);
+        } finally {
+            orderMetrics.promotionRun(Duration.ofNanos(System.nanoTime() - started));
         }
     }
+
+    /**
+     * Promotes the PENDING orders of the partitions this instance holds a lease on.
+     */
+    private int updateOwnedPartitions(PartitionLeaseCoordinator coordinator) {
+        List<PartitionLeaseCoordinator.Partition> owned = coordinator.rebalance();
+        log.info("Instance {} holds {} scheduler partitions", coordinator.getInstanceId(), owned.size());
+        int updated = 0;
+        for (PartitionLeaseCoordinator.Partition partition : owned) {
+            updated += orderService.updatePendingOrdersInBuckets(partition.fromBucket(), partition.toBucket());
+        }
+        return updated;
+    }
 }
@@ -0,0 +1,187 @@
+package com.order.processing.system.scheduler;
+
+import com.order.processing.system.model.Order;
+import com.order.processing.system.model.SchedulerInstance;
+import com.order.processing.system.model.SchedulerLease;
+import com.order.processing.system.repository.SchedulerInstanceRepository;
+import com.order.processing.system.repository.SchedulerLeaseRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Splits the order id space between scheduler instances through the {@code scheduler_leases}
+ * table, so each PENDING order is promoted by one instance instead of all of them contending
+ * for the same rows.
+ * <p>
+ * The {@link Order#PARTITION_BUCKETS} hash buckets are grouped into a fixed number of
+ * partitions, each with one lease row. On every tick an instance refreshes its heartbeat, counts
+ * the live instances and aims for its fair share, {@code ceil(partitions / instances)}: it renews
+ * the leases it holds, releases any above its share and claims free or expired ones up to it.
+ * An instance that joins takes partitions as the others shed theirs on their next tick; one that
+ * stops releases its leases on shutdown, or they expire after the lease TTL if it crashed.
+ * <p>
+ * Ownership only decides who does the work. Promotion itself stays safe if two instances briefly
+ * process the same partition during a handover, because it locks with SKIP LOCKED and updates
+ * conditionally on the current status.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "order-processing.scheduler.partitioning.enabled", havingValue = "true", matchIfMissing = true)
+public class PartitionLeaseCoordinator {
+
+    private final SchedulerLeaseRepository leaseRepository;
+    private final SchedulerInstanceRepository instanceRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int partitions;
+    private final Duration leaseTtl;
+    private final Clock clock;
+    private final String instanceId;
+    private volatile boolean partitionsCreated;
+
+    @Autowired
+    public PartitionLeaseCoordinator(SchedulerLeaseRepository leaseRepository,
+                                     SchedulerInstanceRepository instanceRepository,
+                                     TransactionTemplate transactionTemplate,
+                                     @Value("${order-processing.scheduler.partitioning.partitions:16}") int partitions,
+                                     @Value("${order-processing.scheduler.partitioning.lease-ttl:15m}") Duration leaseTtl) {
+        this(leaseRepository, instanceRepository, transactionTemplate, partitions, leaseTtl,
+            Clock.systemDefaultZone(), defaultInstanceId());
+    }
+
+    PartitionLeaseCoordinator(SchedulerLeaseRepository leaseRepository,
+                              SchedulerInstanceRepository instanceRepository,
+                              TransactionTemplate transactionTemplate,
+                              int partitions,
+                              Duration leaseTtl,
+                              Clock clock,
+                              String instanceId) {
+        if (partitions < 1 || partitions > Order.PARTITION_BUCKETS) {
+            throw new IllegalArgumentException("Partitions must be between 1 and " + Order.PARTITION_BUCKETS);
+        }
+        this.leaseRepository = leaseRepository;
+        this.instanceRepository = instanceRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.partitions = partitions;
+        this.leaseTtl = leaseTtl;
+        this.clock = clock;
+        this.instanceId = instanceId;
+    }
+
+    /**
+     * Refreshes this instance's heartbeat and leases and moves it towards its fair share.
+     *
+     * @return The partitions this instance holds for the coming tick, by ascending ID
+     */
+    public List<Partition> rebalance() {
+        createPartitions();
+        List<Integer> owned = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now(clock);
+            LocalDateTime expiresAt = now.plus(leaseTtl);
+            if (instanceRepository.heartbeat(instanceId, expiresAt) == 0) {
+                instanceRepository.save(new SchedulerInstance(instanceId, expiresAt));
+            }
+            instanceRepository.deleteExpiredBefore(now);
+            long instances = Math.max(1, instanceRepository.countByExpiresAtGreaterThanEqual(now));
+            int fairShare = (int) ((partitions + instances - 1) / instances);
+
+            leaseRepository.renew(instanceId, expiresAt);
+            List<Integer> held = new ArrayList<>(leaseRepository.findOwnedPartitionIds(instanceId, partitions));
+            while (held.size() > fairShare) {
+                leaseRepository.release(held.remove(held.size() - 1), instanceId);
+            }
+            for (int partitionId : leaseRepository.findClaimablePartitionIds(now, partitions)) {
+                if (held.size() >= fairShare) {
+                    break;
+                }
+                if (!held.contains(partitionId)
+                        && leaseRepository.claim(partitionId, instanceId, expiresAt, now) == 1) {
+                    held.add(partitionId);
+                }
+            }
+            return held;
+        });
+        return owned.stream().sorted().map(this::partition).toList();
+    }
+
+    /**
+     * Releases this instance's leases and heartbeat, so the others take over on their next tick
+     * instead of waiting for the leases to expire.
+     */
+    @PreDestroy
+    public void leave() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                int released = leaseRepository.releaseAll(instanceId);
+                instanceRepository.deleteByInstanceId(instanceId);
+                log.info("Scheduler instance {} released {} partition leases", instanceId, released);
+            });
+        } catch (RuntimeException e) {
+            log.warn("Could not release partition leases of {}: {}", instanceId, e.getMessage());
+        }
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    /**
+     * @param partitionId The partition
+     * @return The partition with the hash bucket range it covers
+     */
+    Partition partition(int partitionId) {
+        int from = partitionId * Order.PARTITION_BUCKETS / partitions;
+        int to = (partitionId + 1) * Order.PARTITION_BUCKETS / partitions - 1;
+        return new Partition(partitionId, from, to);
+    }
+
+    /**
+     * Inserts the lease rows that don't exist yet; another instance may be doing the same.
+     */
+    private void createPartitions() {
+        if (partitionsCreated) {
+            return;
+        }
+        Set<Integer> existing = new HashSet<>(leaseRepository.findPartitionIds(partitions));
+        List<SchedulerLease> missing = IntStream.range(0, partitions)
+            .filter(partitionId -> !existing.contains(partitionId))
+            .mapToObj(partitionId -> new SchedulerLease(partitionId, null, null))
+            .toList();
+        if (!missing.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> leaseRepository.saveAllAndFlush(missing));
+            } catch (DataIntegrityViolationException e) {
+                log.info("Scheduler partitions were created concurrently by another instance");
+            }
+        }
+        partitionsCreated = true;
+    }
+
+    private static String defaultInstanceId() {
+        String host = System.getenv().getOrDefault("HOSTNAME", "instance");
+        String suffix = Integer.toHexString(ThreadLocalRandom.current().nextInt());
+        String id = host + "-" + suffix;
+        return id.length() <= 64 ? id : id.substring(id.length() - 64);
+    }
+
+    /**
+     * A partition and the inclusive range of order hash buckets it covers.
+     */
+    public record Partition(int id, int fromBucket, int toBucket) {
+    }
+}
@@ -0,0 +1,28 @@
+package com.order.processing.system.scheduler;
+
+import com.order.processing.system.inventory.StockReservations;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StockReturnScheduler {
+
+    private final StockReservations stockReservations;
+
+    @Scheduled(fixedDelayString = "${order-processing.stock.return-interval-ms:10000}",
+               initialDelayString = "${order-processing.stock.return-interval-ms:10000}")
+    public void returnSurplus() {
+        try {
+            int items = stockReservations.returnSurplus();
+            if (items > 0) {
+                log.debug("Returned surplus stock of {} items", items);
+            }
+        } catch (Exception e) {
+            log.error("Error returning surplus stock: {}", e.getMessage(), e);
+        }
+    }
+}
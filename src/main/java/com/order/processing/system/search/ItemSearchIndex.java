@@ -0,0 +1,433 @@
+package com.order.processing.system.search;
+
+import com.order.processing.system.model.Item;
+import com.order.processing.system.repository.ItemRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram index over item names and descriptions, answering case-insensitive
+ * substring queries without scanning the catalog.
+ * <p>
+ * Every item gets a dense document number; each distinct trigram of its lowercased name and
+ * description maps to the ascending list of documents containing it. A query intersects the
+ * postings of its own trigrams, rarest first, and verifies the few remaining candidates with a
+ * plain substring check. Deleted items are tombstoned and the postings compacted once
+ * tombstones make up a quarter of the documents.
+ * <p>
+ * The index is built from the database when the application is ready and kept in sync by
+ * {@code ItemService}, whose writes are applied once their transaction commits. Like
+ * {@code ItemCatalogCache}, each instance only sees its own writes.
+ */
+@Slf4j
+@Component
+public class ItemSearchIndex {
+
+    /** Queries shorter than this have no trigrams and are answered by scanning the documents. */
+    static final int GRAM_LENGTH = 3;
+    private static final int COMPACTION_MIN_TOMBSTONES = 1000;
+    /** Joins name and description in a document's text; never part of a normalized query. */
+    private static final char FIELD_SEPARATOR = '\0';
+
+    /** Lower ranks sort first: exact name, name prefix, name substring, description substring. */
+    private static final int NO_MATCH = -1;
+    private static final Comparator<Match> RANKING = Comparator.comparingInt(Match::rank)
+        .thenComparingInt(Match::nameLength)
+        .thenComparingLong(Match::id);
+
+    private final ItemRepository itemRepository;
+    private final int loadPageSize;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Everything below is guarded by lock
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private final List<Document> documents = new ArrayList<>();
+    private final Map<Long, Integer> documentsByItemId = new HashMap<>();
+    private int tombstones;
+    private boolean ready;
+    /** Writes that committed while the initial build was running, applied once it completes. */
+    private final List<Runnable> writesDuringBuild = new ArrayList<>();
+
+    public ItemSearchIndex(ItemRepository itemRepository,
+                           @Value("${order-processing.item-search.load-page-size:10000}") int loadPageSize) {
+        this.itemRepository = itemRepository;
+        this.loadPageSize = loadPageSize;
+    }
+
+    /**
+     * Loads the whole catalog in keyset pages. Until this completes, {@link #isReady()} is false
+     * and callers must answer searches some other way.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long started = System.nanoTime();
+        long lastId = Long.MIN_VALUE;
+        List<Item> page;
+        do {
+            page = itemRepository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, loadPageSize));
+            load(page);
+            if (!page.isEmpty()) {
+                lastId = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == loadPageSize);
+        markReady();
+        log.info("Indexed {} items for search in {} ms",
+            size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Adds a page of items during the initial build.
+     */
+    void load(List<Item> items) {
+        lock.writeLock().lock();
+        try {
+            items.forEach(this::index);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies the writes that arrived during the build and starts serving searches.
+     */
+    void markReady() {
+        lock.writeLock().lock();
+        try {
+            writesDuringBuild.forEach(Runnable::run);
+            writesDuringBuild.clear();
+            postings.values().forEach(Postings::trim);
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return true once the initial build has completed
+     */
+    public boolean isReady() {
+        lock.readLock().lock();
+        try {
+            return ready;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Indexes the given items, replacing earlier versions, once the current transaction commits.
+     *
+     * @param saved The items that were created or updated
+     */
+    public void indexAfterCommit(Collection<Item> saved) {
+        List<Item> copy = List.copyOf(saved);
+        afterCommit(() -> write(() -> copy.forEach(this::index)));
+    }
+
+    /**
+     * Removes the given items from the index once the current transaction commits.
+     *
+     * @param ids The IDs of the items that were deleted
+     */
+    public void removeAfterCommit(Collection<Long> ids) {
+        List<Long> copy = List.copyOf(ids);
+        afterCommit(() -> write(() -> {
+            copy.forEach(this::remove);
+            compactIfNeeded();
+        }));
+    }
+
+    /**
+     * Finds the items whose name or description contains {@code query}, ignoring case.
+     * Results are ranked: exact name matches first, then name prefixes, other name matches
+     * and description matches; within a rank shorter names come first, then lower IDs.
+     *
+     * @param query    The substring to look for; must not be blank
+     * @param maxPrice Optional inclusive upper bound on the price
+     * @param offset   Number of ranked results to skip
+     * @param limit    Maximum number of results to return
+     * @return The requested slice of the ranked results and the total number of matches
+     */
+    public SearchResult search(String query, Double maxPrice, int offset, int limit) {
+        String needle = normalize(query);
+        // Bounded max-heap of the best offset + limit matches: the worst of them sits on top
+        int wanted = offset + limit;
+        PriorityQueue<Match> best = new PriorityQueue<>(Math.max(1, Math.min(wanted, 1024)), RANKING.reversed());
+        int total = 0;
+
+        lock.readLock().lock();
+        try {
+            int[] candidates = candidates(needle);
+            int count = candidates == null ? documents.size() : candidates.length;
+            for (int i = 0; i < count; i++) {
+                Document document = documents.get(candidates == null ? i : candidates[i]);
+                if (document == null || (maxPrice != null && document.price() > maxPrice)) {
+                    continue;
+                }
+                int rank = document.rank(needle);
+                if (rank == NO_MATCH) {
+                    continue;
+                }
+                total++;
+                if (best.size() < wanted) {
+                    best.add(new Match(rank, document.nameLength(), document.id(), document.item()));
+                } else if (wanted > 0 && isBetter(rank, document, best.peek())) {
+                    best.poll();
+                    best.add(new Match(rank, document.nameLength(), document.id(), document.item()));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Match> ranked = new ArrayList<>(best);
+        ranked.sort(RANKING);
+        List<Item> page = ranked.subList(Math.min(offset, ranked.size()), ranked.size()).stream()
+            .map(Match::item)
+            .toList();
+        return new SearchResult(page, total);
+    }
+
+    /**
+     * Same order as {@link #RANKING}, without allocating a match for the many candidates
+     * that don't make the page.
+     */
+    private static boolean isBetter(int rank, Document document, Match worst) {
+        if (rank != worst.rank()) {
+            return rank < worst.rank();
+        }
+        if (document.nameLength() != worst.nameLength()) {
+            return document.nameLength() < worst.nameLength();
+        }
+        return document.id() < worst.id();
+    }
+
+    /**
+     * @return Number of items in the index
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size() - tombstones;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Intersects the postings of every trigram of the needle, rarest first.
+     *
+     * @return Ascending candidate documents, or null if the needle is too short to use the index
+     */
+    private int[] candidates(String needle) {
+        if (needle.length() < GRAM_LENGTH) {
+            return null;
+        }
+        List<Postings> lists = new ArrayList<>();
+        for (long gram : grams(needle)) {
+            Postings list = postings.get(gram);
+            if (list == null) {
+                return new int[0];
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(Postings::size));
+        int[] result = Arrays.copyOf(lists.get(0).documents, lists.get(0).size);
+        int size = result.length;
+        for (int l = 1; l < lists.size() && size > 0; l++) {
+            size = retain(result, size, lists.get(l));
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    /**
+     * Keeps the candidates that also appear in {@code list}, compacting them to the front.
+     * Walks both lists in step when they are of similar length, and binary-searches the
+     * longer one when the candidates are much fewer.
+     *
+     * @return The number of candidates kept
+     */
+    private static int retain(int[] candidates, int size, Postings list) {
+        int[] other = list.documents;
+        int kept = 0;
+        if ((long) size * 16 < list.size) {
+            int from = 0;
+            for (int i = 0; i < size && from < list.size; i++) {
+                int found = Arrays.binarySearch(other, from, list.size, candidates[i]);
+                if (found >= 0) {
+                    candidates[kept++] = candidates[i];
+                    from = found + 1;
+                } else {
+                    from = -found - 1;
+                }
+            }
+            return kept;
+        }
+        int j = 0;
+        for (int i = 0; i < size && j < list.size; i++) {
+            int candidate = candidates[i];
+            while (j < list.size && other[j] < candidate) {
+                j++;
+            }
+            if (j < list.size && other[j] == candidate) {
+                candidates[kept++] = candidate;
+                j++;
+            }
+        }
+        return kept;
+    }
+
+    private void write(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            if (ready) {
+                change.run();
+            } else {
+                writesDuringBuild.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void index(Item item) {
+        remove(item.getId());
+        String name = normalize(item.getName());
+        String description = normalize(item.getDescription());
+        Document document = new Document(item.getId(), item.getPrice(), name.length(),
+            name + FIELD_SEPARATOR + description, item);
+        int number = documents.size();
+        documents.add(document);
+        documentsByItemId.put(item.getId(), number);
+        Set<Long> grams = grams(name);
+        grams.addAll(grams(description));
+        for (long gram : grams) {
+            postings.computeIfAbsent(gram, g -> new Postings()).add(number);
+        }
+    }
+
+    private void remove(Long itemId) {
+        Integer number = documentsByItemId.remove(itemId);
+        if (number != null) {
+            documents.set(number, null);
+            tombstones++;
+        }
+    }
+
+    /**
+     * Renumbers the live documents and rebuilds the postings once tombstones make up a
+     * quarter of the documents, so deleted items stop costing memory and intersection time.
+     */
+    private void compactIfNeeded() {
+        if (tombstones < COMPACTION_MIN_TOMBSTONES || tombstones * 4 < documents.size()) {
+            return;
+        }
+        List<Document> live = documents.stream().filter(document -> document != null).toList();
+        documents.clear();
+        documentsByItemId.clear();
+        postings.clear();
+        tombstones = 0;
+        live.forEach(document -> index(document.item()));
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT).replace(FIELD_SEPARATOR, ' ');
+    }
+
+    /**
+     * @return The distinct trigrams of the text, each packed into the low 48 bits of a long
+     */
+    private static Set<Long> grams(String text) {
+        Set<Long> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+        return grams;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * One page of ranked search results.
+     *
+     * @param items The items of the requested page, best match first
+     * @param total Number of items matching the query and filter
+     */
+    public record SearchResult(List<Item> items, int total) {
+    }
+
+    /**
+     * An indexed item. The fields a query reads are kept flat, and the lowercased name and
+     * description share one string, so verifying a candidate touches as little memory as possible.
+     */
+    private record Document(long id, double price, int nameLength, String text, Item item) {
+        int rank(String needle) {
+            int at = text.indexOf(needle);
+            if (at < 0) {
+                return NO_MATCH;
+            }
+            if (at > nameLength) {
+                return 3;
+            }
+            if (at > 0) {
+                return 2;
+            }
+            return needle.length() == nameLength ? 0 : 1;
+        }
+    }
+
+    private record Match(int rank, int nameLength, long id, Item item) {
+    }
+
+    /** Growable, ascending array of document numbers. */
+    private static final class Postings {
+        private int[] documents = new int[4];
+        private int size;
+
+        void add(int document) {
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, Math.max(4, size * 2));
+            }
+            documents[size++] = document;
+        }
+
+        int size() {
+            return size;
+        }
+
+        void trim() {
+            documents = Arrays.copyOf(documents, size);
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.order.processing.system.service;
+
+import com.order.processing.system.cache.ExpiringCache;
+import com.order.processing.system.dto.BatchOrderResponse;
+import com.order.processing.system.dto.CreateOrderRequest;
+import com.order.processing.system.dto.OrderAcceptanceResponse;
+import com.order.processing.system.exception.OrderBacklogFullException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asynchronous order acceptance. Requests are validated against the customers and the item
+ * catalog, given an order ID and placed on a bounded in-memory queue; a small pool of writer threads drains the
+ * queue and persists orders in batches through {@link OrderService#createOrders(List, List)}.
+ * This keeps request threads off the connection pool, which is much smaller than the
+ * request thread pool.
+ * <p>
+ * Enabled with {@code order-processing.async.enabled=true}. Queued orders live only in memory
+ * and are lost if the instance dies before the writers persist them.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "order-processing.async.enabled", havingValue = "true")
+public class AsyncOrderService {
+
+    private final OrderService orderService;
+    private final BlockingQueue<QueuedOrder> queue;
+    private final int writerCount;
+    private final int writeBatchSize;
+
+    /** Orders accepted but not yet written; removed once the writer has handled them. */
+    private final Map<UUID, QueuedOrder> inFlight = new ConcurrentHashMap<>();
+
+    /** Recently failed orders, oldest dropped first once the bound is reached. */
+    private final Map<UUID, String> failures;
+
+    /** Customers recently found to exist, so repeat customers are accepted without a query. */
+    private final ExpiringCache<Long, Boolean> knownCustomers;
+
+    private final List<Thread> writers = new ArrayList<>();
+    private volatile boolean running = true;
+
+    public AsyncOrderService(OrderService orderService,
+                             MeterRegistry meterRegistry,
+                             @Value("${order-processing.async.queue-capacity:10000}") int queueCapacity,
+                             @Value("${order-processing.async.writers:2}") int writerCount,
+                             @Value("${order-processing.async.write-batch-size:200}") int writeBatchSize,
+                             @Value("${order-processing.async.failure-retention:10000}") int failureRetention,
+                             @Value("${order-processing.async.customer-cache-size:10000}") int customerCacheSize,
+                             @Value("${order-processing.async.customer-cache-ttl:5m}") Duration customerCacheTtl) {
+        this.orderService = orderService;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.writerCount = writerCount;
+        this.writeBatchSize = writeBatchSize;
+        this.failures = Collections.synchronizedMap(new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, String> eldest) {
+                return size() > failureRetention;
+            }
+        });
+        this.knownCustomers = new ExpiringCache<>(customerCacheSize, customerCacheTtl);
+
+        Gauge.builder("orders.async.queue.size", queue, BlockingQueue::size)
+                .description("Orders accepted but not yet picked up by a writer")
+                .register(meterRegistry);
+        Gauge.builder("orders.async.queue.remaining", queue, BlockingQueue::remainingCapacity)
+                .description("Free slots in the asynchronous order queue")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void startWriters() {
+        for (int i = 0; i < writerCount; i++) {
+            Thread writer = new Thread(this::drainQueue, "order-writer-" + i);
+            writer.setDaemon(true);
+            writer.start();
+            writers.add(writer);
+        }
+    }
+
+    /**
+     * Validates the request's customer and items and queues the order for persistence.
+     * A customer is looked up once per cache TTL; one deleted in the meantime makes the
+     * order fail when it is written.
+     *
+     * @param request The order creation request
+     * @return The ID the order will be persisted under
+     * @throws jakarta.persistence.EntityNotFoundException if the customer or an item is not found
+     * @throws OrderBacklogFullException if the queue is full
+     */
+    public UUID accept(CreateOrderRequest request) {
+        if (!running) {
+            throw new OrderBacklogFullException("Order intake is shutting down");
+        }
+        if (knownCustomers.get(request.getCustomerId()) == null) {
+            orderService.validateCustomer(request.getCustomerId());
+            knownCustomers.put(request.getCustomerId(), Boolean.TRUE);
+        }
+        orderService.validateItems(request);
+
+        QueuedOrder order = new QueuedOrder(UUID.randomUUID(), request);
+        inFlight.put(order.id(), order);
+        if (!queue.offer(order)) {
+            inFlight.remove(order.id());
+            throw new OrderBacklogFullException("Order queue is full, retry later");
+        }
+        return order.id();
+    }
+
+    /**
+     * Reports whether an order submitted through {@link #accept} has been persisted.
+     *
+     * @param id The order ID returned by {@link #accept}
+     * @return The acceptance state, or empty if the order is unknown
+     */
+    public Optional<OrderAcceptanceResponse> getStatus(UUID id) {
+        if (inFlight.containsKey(id)) {
+            return Optional.of(new OrderAcceptanceResponse(id, OrderAcceptanceResponse.State.ACCEPTED, null));
+        }
+        String error = failures.get(id);
+        if (error != null) {
+            return Optional.of(new OrderAcceptanceResponse(id, OrderAcceptanceResponse.State.FAILED, error));
+        }
+        if (orderService.orderExists(id)) {
+            return Optional.of(new OrderAcceptanceResponse(id, OrderAcceptanceResponse.State.PERSISTED, null));
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * @return Orders accepted but not yet picked up by a writer
+     */
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    /**
+     * @return Free slots in the queue before {@link #accept} starts rejecting orders
+     */
+    public int getRemainingCapacity() {
+        return queue.remainingCapacity();
+    }
+
+    /**
+     * Stops accepting orders and gives the writers a bounded time to persist what is queued.
+     */
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        running = false;
+        for (Thread writer : writers) {
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        }
+        if (!queue.isEmpty()) {
+            log.warn("Shutting down with {} accepted orders not persisted", queue.size());
+        }
+    }
+
+    private void drainQueue() {
+        List<QueuedOrder> batch = new ArrayList<>(writeBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                QueuedOrder first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, writeBatchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Order writer failed on a batch of {} orders: {}", batch.size(), e.getMessage(), e);
+                batch.forEach(order -> fail(order.id(), e.getMessage()));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<QueuedOrder> batch) {
+        BatchOrderResponse response = orderService.createOrders(
+                batch.stream().map(QueuedOrder::request).toList(),
+                batch.stream().map(QueuedOrder::id).toList());
+
+        for (BatchOrderResponse.OrderResult result : response.getResults()) {
+            UUID id = batch.get(result.getIndex()).id();
+            if (result.getStatus() == BatchOrderResponse.ResultStatus.CREATED) {
+                inFlight.remove(id);
+            } else {
+                fail(id, result.getError());
+            }
+        }
+        log.debug("Order writer persisted {} of {} queued orders", response.getCreated(), batch.size());
+    }
+
+    private void fail(UUID id, String error) {
+        failures.put(id, error);
+        inFlight.remove(id);
+    }
+
+    private record QueuedOrder(UUID id, CreateOrderRequest request) {
+    }
+}
@@ -0,0 +1,171 @@
+package com.order.processing.system.service;
+
+import com.order.processing.system.cache.ExpiringCache;
+import com.order.processing.system.dto.CreateOrderRequest;
+import com.order.processing.system.dto.OrderItemRequest;
+import com.order.processing.system.dto.OrderResponse;
+import com.order.processing.system.exception.IdempotencyKeyReuseException;
+import com.order.processing.system.model.IdempotencyKey;
+import com.order.processing.system.repository.IdempotencyKeyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Creates orders at most once per {@code Idempotency-Key}.
+ * <p>
+ * Recently used keys are answered from a bounded in-memory cache holding the original response.
+ * Every key is also stored in the {@code idempotency_keys} table in the same transaction as its
+ * order, so retries are recognized after a restart and on other instances. The key row is
+ * inserted before the order: a concurrent request with the same key blocks on, then fails,
+ * the primary key and is answered with the winner's order.
+ * <p>
+ * A key is honoured for the TTL after it was first used, whether it is read from the cache or
+ * from the table. An expired key that has not been purged yet is deleted and used afresh.
+ */
+@Slf4j
+@Service
+public class IdempotentOrderService {
+
+    private final OrderService orderService;
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ExpiringCache<String, StoredResponse> recentKeys;
+    private final Duration ttl;
+
+    public IdempotentOrderService(OrderService orderService,
+                                  IdempotencyKeyRepository idempotencyKeyRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  @Value("${order-processing.idempotency.cache-size:10000}") int cacheSize,
+                                  @Value("${order-processing.idempotency.ttl:24h}") Duration ttl) {
+        this.orderService = orderService;
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.recentKeys = new ExpiringCache<>(cacheSize, ttl);
+        this.ttl = ttl;
+    }
+
+    /**
+     * Creates the order unless the key was already used, in which case the order created
+     * under the key is returned and nothing is written.
+     *
+     * @param key     The client's idempotency key
+     * @param request The order creation request
+     * @return The order and whether it was replayed rather than created
+     * @throws IllegalArgumentException if the key is blank or too long
+     * @throws IdempotencyKeyReuseException if the key was used with a different request
+     */
+    public Result createOrder(String key, CreateOrderRequest request) {
+        if (key.isBlank() || key.length() > IdempotencyKey.MAX_LENGTH) {
+            throw new IllegalArgumentException(
+                "Idempotency-Key must be 1 to " + IdempotencyKey.MAX_LENGTH + " characters");
+        }
+        String requestHash = fingerprint(request);
+
+        LocalDateTime now = LocalDateTime.now();
+        StoredResponse cached = recentKeys.get(key);
+        if (cached != null && cached.expiresAt().isAfter(now)) {
+            return replay(key, requestHash, cached);
+        }
+        IdempotencyKey stored = idempotencyKeyRepository.findById(key).orElse(null);
+        if (stored != null && expiresAt(stored).isAfter(now)) {
+            return replay(key, requestHash, load(stored));
+        }
+        boolean expired = stored != null;
+
+        try {
+            UUID orderId = UUID.randomUUID();
+            OrderResponse response = transactionTemplate.execute(status -> {
+                if (expired) {
+                    idempotencyKeyRepository.deleteCreatedBefore(key, now.minus(ttl));
+                }
+                idempotencyKeyRepository.saveAndFlush(new IdempotencyKey(key, orderId, requestHash));
+                return orderService.createOrder(orderId, request);
+            });
+            recentKeys.put(key, new StoredResponse(requestHash, response, now.plus(ttl)));
+            return new Result(response, false);
+        } catch (DataIntegrityViolationException e) {
+            // Another request with this key committed first
+            IdempotencyKey winner = idempotencyKeyRepository.findById(key).orElseThrow(() -> e);
+            return replay(key, requestHash, load(winner));
+        }
+    }
+
+    /**
+     * Deletes persisted keys older than the TTL.
+     *
+     * @return Number of keys deleted
+     */
+    public int purgeExpiredKeys() {
+        Integer deleted = transactionTemplate.execute(status ->
+            idempotencyKeyRepository.deleteCreatedBefore(LocalDateTime.now().minus(ttl)));
+        return deleted == null ? 0 : deleted;
+    }
+
+    private Result replay(String key, String requestHash, StoredResponse stored) {
+        if (!stored.requestHash().equals(requestHash)) {
+            throw new IdempotencyKeyReuseException(key);
+        }
+        log.debug("Replaying order {} for Idempotency-Key {}", stored.response().getId(), key);
+        return new Result(stored.response(), true);
+    }
+
+    /**
+     * Rebuilds the response of a key created before a restart or by another instance,
+     * and caches it for further retries.
+     */
+    private StoredResponse load(IdempotencyKey stored) {
+        StoredResponse response = new StoredResponse(
+            stored.getRequestHash(), orderService.getOrder(stored.getOrderId()), expiresAt(stored));
+        recentKeys.put(stored.getKey(), response);
+        return response;
+    }
+
+    private LocalDateTime expiresAt(IdempotencyKey stored) {
+        return stored.getCreatedAt().plus(ttl);
+    }
+
+    /**
+     * Hashes the fields that define an order, so a key reused for a different order is detected.
+     */
+    static String fingerprint(CreateOrderRequest request) {
+        StringBuilder canonical = new StringBuilder().append(request.getCustomerId());
+        if (request.getItems() != null) {
+            for (OrderItemRequest item : request.getItems()) {
+                canonical.append('|').append(item.getItemId()).append('x').append(item.getQuantity());
+            }
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Outcome of an idempotent create.
+     *
+     * @param order    The order created under the key
+     * @param replayed true if the order already existed and nothing was created by this call
+     */
+    public record Result(OrderResponse order, boolean replayed) {
+    }
+
+    /**
+     * @param expiresAt When the key stops being honoured; the cache's own TTL starts at the
+     *                  later time the response was cached
+     */
+    private record StoredResponse(String requestHash, OrderResponse response, LocalDateTime expiresAt) {
+    }
+}
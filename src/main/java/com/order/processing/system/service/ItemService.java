@@ -1,39 +1,156 @@
 package com.order.processing.system.service;
 
+import com.order.processing.system.cache.ItemCatalogCache;
+import com.order.processing.system.dto.CatalogItem;
+import com.order.processing.system.dto.ItemSearchResponse;
+import com.order.processing.system.dto.StockResponse;
+import com.order.processing.system.inventory.StockReservations;
 import com.order.processing.system.model.Item;
 import com.order.processing.system.repository.ItemRepository;
+import com.order.processing.system.search.ItemSearchIndex;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Comparator;
 import java.util.List;
 
 @Service
+@Timed("service.invocations")
 @RequiredArgsConstructor
 public class ItemService {
 
     private final ItemRepository itemRepository;
+    private final ItemCatalogCache itemCatalogCache;
+    private final ItemSearchIndex itemSearchIndex;
+    private final StockReservations stockReservations;
 
-    @Transactional(readOnly = true)
-    public List<Item> getAllItems() {
-        return itemRepository.findAll();
+    @Value("${order-processing.item-search.max-limit:100}")
+    private int maxSearchLimit = 100;
+
+    /**
+     * Catalog reads are served by {@link ItemCatalogCache}, which runs its own
+     * read-only query on a miss; no transaction (and no connection) is needed on a hit.
+     */
+    public List<CatalogItem> getAllItems() {
+        return itemCatalogCache.findAll();
+    }
+
+    /**
+     * @return Weak entity tag of the current catalog, changing whenever any item is written;
+     *         weak so that responses can still be compressed
+     */
+    public String getCatalogETag() {
+        return "W/\"" + itemCatalogCache.versionTag() + "\"";
     }
 
-    @Transactional(readOnly = true)
-    public Item getItem(Long id) {
-        return itemRepository.findById(id)
+    public CatalogItem getItem(Long id) {
+        return itemCatalogCache.get(id)
                 .orElseThrow(() -> new EntityNotFoundException("Item not found with id: " + id));
     }
 
+    /**
+     * Reads an item's stock: the units not yet allotted, and those allotted to this instance.
+     *
+     * @param id The item ID
+     * @return The item's stock
+     * @throws EntityNotFoundException if the item does not exist
+     */
+    public StockResponse getStock(Long id) {
+        CatalogItem item = getItem(id);
+        if (!item.stockTracked()) {
+            return new StockResponse(id, false, 0, 0);
+        }
+        long unallotted = itemRepository.findStockById(id).orElse(0);
+        return new StockResponse(id, true, unallotted, stockReservations.allotted(id));
+    }
+
+    /**
+     * Adds units to a stock-tracked item's stock.
+     *
+     * @param id       The item ID
+     * @param quantity Units to add
+     * @return The item's stock afterwards
+     * @throws EntityNotFoundException if the item does not exist
+     * @throws IllegalStateException if the item's stock is not tracked
+     */
+    @Transactional
+    public StockResponse addStock(Long id, int quantity) {
+        if (itemRepository.addStock(id, quantity) == 0) {
+            getItem(id);
+            throw new IllegalStateException("Stock of item " + id + " is not tracked");
+        }
+        return getStock(id);
+    }
+
+    /**
+     * Finds items whose name or description contains the query, ignoring case, ranked by
+     * {@link ItemSearchIndex#search}. While the index is still being built after startup,
+     * falls back to a name-only database query sorted by name.
+     *
+     * @param query    The substring to look for
+     * @param maxPrice Optional inclusive upper bound on the price
+     * @param offset   Number of ranked results to skip
+     * @param limit    Page size, capped at the configured maximum
+     * @return The requested page and the total number of matches
+     * @throws IllegalArgumentException if the query is blank or the offset negative
+     */
+    public ItemSearchResponse searchItems(String query, Double maxPrice, int offset, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be blank");
+        }
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset must not be negative");
+        }
+        int pageSize = Math.max(1, Math.min(limit, maxSearchLimit));
+        if (itemSearchIndex.isReady()) {
+            ItemSearchIndex.SearchResult result = itemSearchIndex.search(query, maxPrice, offset, pageSize);
+            return new ItemSearchResponse(result.items(), result.total(), offset, pageSize);
+        }
+        List<Item> matches = itemRepository.findByNameContainingIgnoreCase(query).stream()
+                .filter(item -> maxPrice == null || item.getPrice() <= maxPrice)
+                .sorted(Comparator.comparing(Item::getName).thenComparing(Item::getId))
+                .toList();
+        List<Item> page = matches.subList(Math.min(offset, matches.size()), Math.min(offset + pageSize, matches.size()));
+        return new ItemSearchResponse(page, matches.size(), offset, pageSize);
+    }
+
+    /**
+     * @param item         The item to create
+     * @param initialStock Units in stock, or null if the item's stock is not tracked
+     * @return The saved item
+     */
     @Transactional
-    public Item createItem(Item item) {
-        return itemRepository.save(item);
+    public Item createItem(Item item, Integer initialStock) {
+        item.setStockTracked(initialStock != null);
+        Item saved = itemRepository.save(item);
+        stockUp(saved, initialStock);
+        itemCatalogCache.putAfterCommit(List.of(saved));
+        itemSearchIndex.indexAfterCommit(List.of(saved));
+        return saved;
     }
 
+    /**
+     * @param items         The items to create
+     * @param initialStocks Units in stock of the item at the same position, null entries for
+     *                      items whose stock is not tracked
+     * @return The saved items
+     */
     @Transactional
-    public List<Item> createItems(List<Item> items) {
-        return itemRepository.saveAll(items);
+    public List<Item> createItems(List<Item> items, List<Integer> initialStocks) {
+        for (int i = 0; i < items.size(); i++) {
+            items.get(i).setStockTracked(initialStocks.get(i) != null);
+        }
+        List<Item> saved = itemRepository.saveAll(items);
+        for (int i = 0; i < saved.size(); i++) {
+            stockUp(saved.get(i), initialStocks.get(i));
+        }
+        itemCatalogCache.putAfterCommit(saved);
+        itemSearchIndex.indexAfterCommit(saved);
+        return saved;
     }
 
     @Transactional
@@ -42,10 +159,20 @@ public class ItemService {
             throw new EntityNotFoundException("Item not found with id: " + id);
         }
         itemRepository.deleteById(id);
+        itemCatalogCache.evictAfterCommit(List.of(id));
+        itemSearchIndex.removeAfterCommit(List.of(id));
     }
 
     @Transactional
     public void deleteItems(List<Long> ids) {
         itemRepository.deleteAllById(ids);
+        itemCatalogCache.evictAfterCommit(ids);
+        itemSearchIndex.removeAfterCommit(ids);
+    }
+
+    private void stockUp(Item item, Integer initialStock) {
+        if (initialStock != null && initialStock > 0) {
+            itemRepository.addStock(item.getId(), initialStock);
+        }
     }
 }
@@ -0,0 +1,93 @@
+package com.order.processing.system.service;
+
+import com.order.processing.system.archive.ArchivedOrder;
+import com.order.processing.system.archive.OrderArchive;
+import com.order.processing.system.dto.OrderResponse;
+import com.order.processing.system.model.Order;
+import com.order.processing.system.model.OrderStatus;
+import com.order.processing.system.repository.OrderRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+/**
+ * Moves orders that reached a terminal status out of the {@code orders} and {@code order_items}
+ * tables into the {@link OrderArchive}, where {@link OrderService} still finds them by ID.
+ */
+@Slf4j
+@Service
+@Timed("service.invocations")
+public class OrderArchiveService {
+
+    private static final List<OrderStatus> TERMINAL_STATUSES = Arrays.stream(OrderStatus.values())
+        .filter(OrderStatus::isTerminal)
+        .toList();
+
+    private final OrderRepository orderRepository;
+    private final OrderService orderService;
+    private final OrderArchive orderArchive;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public OrderArchiveService(OrderRepository orderRepository,
+                               OrderService orderService,
+                               OrderArchive orderArchive,
+                               TransactionTemplate transactionTemplate,
+                               @Value("${order-processing.archive.chunk-size:1000}") int chunkSize) {
+        this.orderRepository = orderRepository;
+        this.orderService = orderService;
+        this.orderArchive = orderArchive;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Archives every terminal order last updated before {@code cutoff}, one chunk per segment
+     * and transaction. Each chunk is written to the archive before its rows are deleted, so an
+     * order is never missing from both; if the delete fails the order is archived again by the
+     * next run, which is harmless because archived copies of a terminal order are identical.
+     *
+     * @param cutoff Orders updated at or after this time are kept
+     * @return Number of orders archived
+     */
+    public int archiveTerminalOrders(LocalDateTime cutoff) {
+        int total = 0;
+        int archived;
+        do {
+            archived = transactionTemplate.execute(status -> archiveChunk(cutoff));
+            total += archived;
+            if (archived > 0) {
+                log.info("Archived {} terminal orders ({} so far)", archived, total);
+            }
+        } while (archived == chunkSize);
+        return total;
+    }
+
+    /**
+     * Locks, archives and deletes up to one chunk of terminal orders.
+     * Must run inside a transaction so the rows stay locked until they are deleted.
+     */
+    private int archiveChunk(LocalDateTime cutoff) {
+        List<UUID> ids = orderRepository.lockIdsByStatusUpdatedBefore(
+            TERMINAL_STATUSES, cutoff, PageRequest.of(0, chunkSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        List<Order> orders = orderRepository.findWithDetailsByIdIn(ids);
+        List<OrderResponse> responses = orderService.mapToOrderResponses(orders);
+        orderArchive.append(IntStream.range(0, orders.size())
+            .mapToObj(i -> new ArchivedOrder(responses.get(i), orders.get(i).getVersion()))
+            .toList());
+        orderRepository.deleteItemsByOrderIds(ids);
+        return orderRepository.deleteByIds(ids);
+    }
+}
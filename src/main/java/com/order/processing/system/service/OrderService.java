@@ -1,65 +1,215 @@
 package com.order.processing.system.service;
 
+import com.order.processing.system.analytics.OrderAnalytics;
+import com.order.processing.system.archive.ArchivedOrder;
+import com.order.processing.system.archive.OrderArchive;
+import com.order.processing.system.cache.ItemCatalogCache;
+import com.order.processing.system.dto.BatchOrderResponse;
+import com.order.processing.system.dto.CatalogItem;
 import com.order.processing.system.dto.CreateOrderRequest;
+import com.order.processing.system.dto.OrderCursor;
+import com.order.processing.system.dto.OrderItemRequest;
+import com.order.processing.system.dto.OrderListQuery;
+import com.order.processing.system.dto.OrderPageResponse;
 import com.order.processing.system.dto.OrderResponse;
+import com.order.processing.system.dto.OrderSort;
+import com.order.processing.system.dto.OrderSummary;
+import com.order.processing.system.dto.OrderSummaryPageResponse;
+import com.order.processing.system.dto.OrderVersion;
+import com.order.processing.system.exception.InsufficientStockException;
+import com.order.processing.system.exception.OrderStatusConflictException;
+import com.order.processing.system.inventory.StockReservations;
+import com.order.processing.system.metrics.OrderMetrics;
 import com.order.processing.system.model.*;
 import com.order.processing.system.repository.CustomerRepository;
 import com.order.processing.system.repository.ItemRepository;
 import com.order.processing.system.repository.OrderRepository;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 /**
  * Service class for managing order-related business logic.
  * Handles order creation, retrieval, cancellation, and status updates.
  */
+@Slf4j
 @Service
+@Timed("service.invocations")
 @RequiredArgsConstructor
 public class OrderService {
 
     private final OrderRepository orderRepository;
+    private final ItemCatalogCache itemCatalogCache;
     private final ItemRepository itemRepository;
     private final CustomerRepository customerRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final OrderMetrics orderMetrics;
+    private final OrderAnalytics orderAnalytics;
+    private final OrderArchive orderArchive;
+    private final StockReservations stockReservations;
+
+    @Value("${order-processing.pagination.default-page-size:50}")
+    private int defaultPageSize = 50;
+
+    @Value("${order-processing.pagination.max-page-size:500}")
+    private int maxPageSize = 500;
+
+    @Value("${order-processing.scheduler.promotion-chunk-size:500}")
+    private int promotionChunkSize = 500;
+
+    @Value("${order-processing.batch.max-orders:5000}")
+    private int maxBatchSize = 5000;
+
+    @Value("${order-processing.batch.chunk-size:500}")
+    private int batchChunkSize = 500;
 
     /**
      * Creates a new order for a customer with specified items.
+     * All referenced items are resolved with a single {@code IN} query, and the order and
+     * its lines are written in one flush so the line inserts go out as a JDBC batch.
      *
      * @param request The order creation request containing customer ID and items
      * @return OrderResponse containing the created order details
      * @throws EntityNotFoundException if customer or any item is not found
+     * @throws InsufficientStockException if a stock-tracked item has fewer units left than ordered
      */
     @Transactional
     public OrderResponse createOrder(CreateOrderRequest request) {
+        return createOrder(UUID.randomUUID(), request);
+    }
+
+    /**
+     * Creates a new order under an ID chosen by the caller.
+     * Used for idempotent creation, where the ID is recorded with the key before the order is written.
+     *
+     * @param orderId The ID to give the order
+     * @param request The order creation request containing customer ID and items
+     * @return OrderResponse containing the created order details
+     * @throws EntityNotFoundException if customer or any item is not found
+     * @throws InsufficientStockException if a stock-tracked item has fewer units left than ordered
+     */
+    @Transactional
+    public OrderResponse createOrder(UUID orderId, CreateOrderRequest request) {
         // Find customer or throw exception if not found
         Customer customer = customerRepository.findById(request.getCustomerId())
             .orElseThrow(() -> new EntityNotFoundException("Customer not found with id: " + request.getCustomerId()));
 
-        Order order = new Order();
-        order.setCustomer(customer);
+        Map<Long, CatalogItem> itemsById = findItemsById(request.getItems());
 
-        // Process each item in the order
-        for (var itemRequest : request.getItems()) {
-            Item item = itemRepository.findById(itemRequest.getItemId())
-                .orElseThrow(() -> new EntityNotFoundException("Item not found with id: " + itemRequest.getItemId()));
+        Order savedOrder = orderRepository.save(buildOrder(orderId, request, customer, itemsById));
+        orderMetrics.orderCreated(1);
+        orderAnalytics.orderCreated(savedOrder);
+        return mapToOrderResponse(savedOrder);
+    }
 
-            OrderItem orderItem = new OrderItem();
-            orderItem.setItem(item);
-            orderItem.setQuantity(itemRequest.getQuantity());
-            order.addItem(orderItem);
+    /**
+     * Creates many orders in one call. Constraints, customers and items are validated for the
+     * whole batch up front with set queries; valid orders are then inserted in chunks, each chunk
+     * in its own transaction with batched JDBC inserts. An invalid order, or one that fails to
+     * insert, is reported in its result and does not affect the other orders.
+     *
+     * @param requests The order creation requests
+     * @return BatchOrderResponse with one result per request, in request order
+     * @throws IllegalArgumentException if the batch exceeds the configured maximum size
+     */
+    public BatchOrderResponse createOrders(List<CreateOrderRequest> requests) {
+        if (requests.size() > maxBatchSize) {
+            throw new IllegalArgumentException(
+                "Batch contains " + requests.size() + " orders; the maximum is " + maxBatchSize);
         }
+        return createOrders(requests, requests.stream().map(request -> UUID.randomUUID()).toList());
+    }
 
-        Order savedOrder = orderRepository.save(order);
-        return mapToOrderResponse(savedOrder);
+    /**
+     * Creates many orders under IDs assigned by the caller, with the same per-order
+     * validation and chunked batch inserts as {@link #createOrders(List)}.
+     * Used by the asynchronous writer, which hands out order IDs before persisting.
+     *
+     * @param requests The order creation requests
+     * @param orderIds The ID to give each order, positionally matching {@code requests}
+     * @return BatchOrderResponse with one result per request, in request order
+     */
+    public BatchOrderResponse createOrders(List<CreateOrderRequest> requests, List<UUID> orderIds) {
+        if (requests.size() != orderIds.size()) {
+            throw new IllegalArgumentException("Each order needs exactly one id");
+        }
+
+        BatchOrderResponse.OrderResult[] results = new BatchOrderResponse.OrderResult[requests.size()];
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            String violations = describeViolations(requests.get(i));
+            if (violations != null) {
+                results[i] = BatchOrderResponse.OrderResult.failed(i, violations);
+            } else {
+                candidates.add(i);
+            }
+        }
+
+        // Resolve every customer and item referenced by the batch with one query each
+        Set<Long> customerIds = candidates.stream()
+            .map(i -> requests.get(i).getCustomerId())
+            .collect(Collectors.toSet());
+        Map<Long, Customer> customers = customerRepository.findAllById(customerIds).stream()
+            .collect(Collectors.toMap(Customer::getId, customer -> customer));
+        Map<Long, CatalogItem> itemsById = findItemsById(candidates.stream()
+            .flatMap(i -> requests.get(i).getItems().stream())
+            .toList());
+
+        List<Integer> valid = new ArrayList<>();
+        for (int i : candidates) {
+            CreateOrderRequest request = requests.get(i);
+            if (!customers.containsKey(request.getCustomerId())) {
+                results[i] = BatchOrderResponse.OrderResult.failed(i,
+                    "Customer not found with id: " + request.getCustomerId());
+                continue;
+            }
+            String missingItem = request.getItems().stream()
+                .map(OrderItemRequest::getItemId)
+                .filter(itemId -> !itemsById.containsKey(itemId))
+                .findFirst()
+                .map(itemId -> "Item not found with id: " + itemId)
+                .orElse(null);
+            if (missingItem != null) {
+                results[i] = BatchOrderResponse.OrderResult.failed(i, missingItem);
+                continue;
+            }
+            valid.add(i);
+        }
+
+        for (int from = 0; from < valid.size(); from += batchChunkSize) {
+            List<Integer> chunk = valid.subList(from, Math.min(from + batchChunkSize, valid.size()));
+            insertChunk(chunk, requests, orderIds, customers, itemsById, results);
+        }
+
+        int created = (int) Arrays.stream(results)
+            .filter(result -> result.getStatus() == BatchOrderResponse.ResultStatus.CREATED)
+            .count();
+        return new BatchOrderResponse(created, results.length - created, Arrays.asList(results));
     }
 
     /**
      * Retrieves order details by ID.
+     * The order, its customer and all line items are loaded in a single query;
+     * orders no longer in the table are looked up in the archive.
      *
      * @param id The UUID of the order to retrieve
      * @return OrderResponse containing the order details
@@ -67,68 +217,401 @@ public class OrderService {
      */
     @Transactional(readOnly = true)
     public OrderResponse getOrder(UUID id) {
-        Order order = orderRepository.findById(id)
+        return orderRepository.findWithDetailsById(id)
+            .map(this::mapToOrderResponse)
+            .or(() -> orderArchive.find(id).map(ArchivedOrder::order))
+            .orElseThrow(() -> new EntityNotFoundException("Order not found with id: " + id));
+    }
+
+    /**
+     * Returns the entity tag of an order's current representation, reading only its version
+     * and update time, so unchanged orders can be answered without loading or mapping them.
+     *
+     * @param id The UUID of the order
+     * @return The order's weak entity tag
+     * @throws EntityNotFoundException if order is not found
+     */
+    public String getOrderETag(UUID id) {
+        return orderRepository.findVersionById(id)
+            .or(() -> orderArchive.find(id).map(ArchivedOrder::orderVersion))
+            .map(OrderVersion::eTag)
             .orElseThrow(() -> new EntityNotFoundException("Order not found with id: " + id));
-        return mapToOrderResponse(order);
     }
 
     /**
-     * Retrieves all orders, optionally filtered by status.
+     * Checks whether an order has been persisted.
      *
-     * @param status Optional order status to filter results
-     * @return List of OrderResponse objects matching the criteria
+     * @param id The UUID of the order
+     * @return true if the order exists
      */
     @Transactional(readOnly = true)
-    public List<OrderResponse> getAllOrders(OrderStatus status) {
-        List<Order> orders = status == null ?
-            orderRepository.findAll() :
-            orderRepository.findByStatus(status);
+    public boolean orderExists(UUID id) {
+        return orderRepository.existsById(id) || orderArchive.find(id).isPresent();
+    }
 
-        return orders.stream()
-            .map(this::mapToOrderResponse)
-            .toList();
+    /**
+     * Checks that a customer exists, reading only its primary key.
+     *
+     * @param customerId The customer ID
+     * @throws EntityNotFoundException if the customer is not found
+     */
+    public void validateCustomer(Long customerId) {
+        if (!customerRepository.existsById(customerId)) {
+            throw new EntityNotFoundException("Customer not found with id: " + customerId);
+        }
+    }
+
+    /**
+     * Checks that every item referenced by the request exists in the catalog,
+     * without touching the database when the items are cached.
+     *
+     * @param request The order creation request
+     * @throws EntityNotFoundException if any item is not found
+     */
+    public void validateItems(CreateOrderRequest request) {
+        Map<Long, CatalogItem> itemsById = findItemsById(request.getItems());
+        for (var itemRequest : request.getItems()) {
+            if (!itemsById.containsKey(itemRequest.getItemId())) {
+                throw new EntityNotFoundException("Item not found with id: " + itemRequest.getItemId());
+            }
+        }
+    }
+
+    /**
+     * Retrieves one keyset page of orders, optionally filtered by status and total amount,
+     * in (createdAt, id) or (totalAmount, id) order.
+     *
+     * @param query Filter, ordering, cursor and page size
+     * @return OrderPageResponse containing the page and the cursor for the next one
+     * @throws IllegalArgumentException if the cursor is malformed or belongs to another ordering
+     */
+    @Transactional(readOnly = true)
+    public OrderPageResponse getAllOrders(OrderListQuery query) {
+        int pageSize = resolvePageSize(query.getLimit());
+        OrderSort sort = query.getSort() == null ? OrderSort.CREATED_AT : query.getSort();
+        // Fetch one extra row to learn whether another page exists without a count query
+        List<Order> orders = orderRepository.findPage(query, sort, decodeCursor(query, sort), pageSize + 1);
+
+        String nextCursor = null;
+        if (orders.size() > pageSize) {
+            orders = orders.subList(0, pageSize);
+            Order last = orders.get(pageSize - 1);
+            nextCursor = OrderCursor.after(sort, last.getCreatedAt(), last.getTotalAmount(), last.getId()).encode();
+        }
+        if (!orders.isEmpty()) {
+            // Initialize all line items of the page in one query instead of one per order
+            orderRepository.fetchItems(orders);
+        }
+
+        return new OrderPageResponse(mapToOrderResponses(orders), nextCursor);
+    }
+
+    /**
+     * Retrieves one keyset page of order summaries, with the same filters, ordering and cursor
+     * as {@link #getAllOrders}. Only the columns of the requested fields are selected, plus the
+     * id and sort key the cursor needs, so customers and line items are never loaded.
+     *
+     * @param query  Filter, ordering, cursor and page size
+     * @param fields Summary properties to return, or null or empty for all of them
+     * @return OrderSummaryPageResponse containing the page and the cursor for the next one
+     * @throws IllegalArgumentException if a field is unknown, or the cursor is malformed or
+     *                                  belongs to another ordering
+     */
+    @Transactional(readOnly = true)
+    public OrderSummaryPageResponse getOrderSummaries(OrderListQuery query, Set<String> fields) {
+        if (fields != null && !OrderSummary.FIELDS.containsAll(fields)) {
+            throw new IllegalArgumentException("Unknown fields " + fields + "; supported: " + OrderSummary.FIELDS);
+        }
+        int pageSize = resolvePageSize(query.getLimit());
+        OrderSort sort = query.getSort() == null ? OrderSort.CREATED_AT : query.getSort();
+        List<OrderSummary> orders = orderRepository.findSummaryPage(
+            query, sort, decodeCursor(query, sort), pageSize + 1, fields);
+
+        String nextCursor = null;
+        if (orders.size() > pageSize) {
+            orders = orders.subList(0, pageSize);
+            OrderSummary last = orders.get(pageSize - 1);
+            nextCursor = OrderCursor.after(sort, last.getCreatedAt(), last.getTotalAmount(), last.getId()).encode();
+        }
+        if (fields != null && !fields.isEmpty()) {
+            // Drop the id and sort key once the cursor is taken, unless they were requested
+            orders.forEach(order -> order.retain(fields));
+        }
+        return new OrderSummaryPageResponse(orders, nextCursor);
     }
 
     /**
      * Cancels an order if it's in PENDING status.
+     * The status check and the write are one conditional UPDATE, so a concurrent promotion
+     * and a cancellation cannot both succeed. Reserved stock is released once the cancellation commits.
      *
      * @param id The UUID of the order to cancel
      * @return OrderResponse containing the updated order details
      * @throws EntityNotFoundException if order is not found
-     * @throws IllegalStateException if order is not in PENDING status
+     * @throws OrderStatusConflictException if order is not in PENDING status
      */
     @Transactional
     public OrderResponse cancelOrder(UUID id) {
-        Order order = orderRepository.findById(id)
+        transitionStatus(id, OrderStatus.PENDING, OrderStatus.CANCELLED);
+        orderMetrics.orderCancelled();
+        Order order = orderRepository.findWithDetailsById(id)
             .orElseThrow(() -> new EntityNotFoundException("Order not found with id: " + id));
+        orderAnalytics.orderCancelled(order);
+        stockReservations.releaseAfterCommit(order);
+        return mapToOrderResponse(order);
+    }
 
-        if (order.getStatus() != OrderStatus.PENDING) {
-            throw new IllegalStateException("Order can only be cancelled when in PENDING status");
+    /**
+     * Moves an order from {@code from} to {@code to} with a single conditional UPDATE.
+     * Only when nothing was updated is the current status read, to tell a missing order
+     * apart from a conflicting one.
+     *
+     * @throws IllegalArgumentException if the transition is not in the allowed-transitions table
+     * @throws EntityNotFoundException if the order does not exist
+     * @throws OrderStatusConflictException if the order is no longer in {@code from}
+     */
+    private void transitionStatus(UUID id, OrderStatus from, OrderStatus to) {
+        if (!from.canTransitionTo(to)) {
+            throw new IllegalArgumentException("Transition " + from + " -> " + to + " is not allowed");
         }
+        if (orderRepository.transitionStatus(id, from, to, LocalDateTime.now()) == 0) {
+            OrderStatus current = orderRepository.findStatusById(id)
+                .or(() -> orderArchive.find(id).map(archived -> archived.order().getStatus()))
+                .orElseThrow(() -> new EntityNotFoundException("Order not found with id: " + id));
+            throw new OrderStatusConflictException(id, current, to);
+        }
+    }
 
-        order.setStatus(OrderStatus.CANCELLED);
-        return mapToOrderResponse(orderRepository.save(order));
+    /**
+     * Counts the orders currently in the given status.
+     *
+     * @param status The status to count
+     * @return Number of orders in that status
+     */
+    @Transactional(readOnly = true)
+    public long countOrders(OrderStatus status) {
+        return orderRepository.countByStatus(status);
     }
 
     /**
      * Updates all PENDING orders to PROCESSING status.
      * This method is called automatically by a scheduler.
+     * Orders are promoted in bounded chunks, each locked with SKIP LOCKED semantics,
+     * updated with one set-based statement and committed in its own transaction,
+     * so row locks and memory stay proportional to the chunk size rather than the backlog.
      *
      * @return Number of orders updated
      */
-    @Transactional
     public int updatePendingOrders() {
-        List<Order> pendingOrders = orderRepository.findByStatus(OrderStatus.PENDING);
-        if (pendingOrders.isEmpty()) {
-            return 0;
+        return updatePendingOrdersInBuckets(0, Order.PARTITION_BUCKETS - 1);
+    }
+
+    /**
+     * Updates the PENDING orders whose partition bucket lies in the given range to PROCESSING,
+     * in the same chunks as {@link #updatePendingOrders()}. Scheduler instances each call this
+     * for the partitions they hold.
+     *
+     * @param fromBucket First partition bucket, inclusive
+     * @param toBucket   Last partition bucket, inclusive
+     * @return Number of orders updated
+     */
+    public int updatePendingOrdersInBuckets(int fromBucket, int toBucket) {
+        int total = 0;
+        int locked;
+        do {
+            PromotionChunk chunk = transactionTemplate.execute(status -> promotePendingChunk(fromBucket, toBucket));
+            locked = chunk.locked();
+            total += chunk.promoted();
+            orderMetrics.ordersPromoted(chunk.promoted());
+            if (chunk.promoted() > 0) {
+                log.info("Promoted {} PENDING orders to PROCESSING ({} so far)", chunk.promoted(), total);
+            }
+        } while (locked == promotionChunkSize);
+        return total;
+    }
+
+    /**
+     * Locks up to one chunk of PENDING orders and promotes them to PROCESSING.
+     * Must run inside a transaction so the row locks are held until the update commits.
+     *
+     * @return The number of orders locked and promoted in this chunk
+     */
+    private PromotionChunk promotePendingChunk(int fromBucket, int toBucket) {
+        Pageable chunk = PageRequest.of(0, promotionChunkSize);
+        List<UUID> ids = fromBucket == 0 && toBucket == Order.PARTITION_BUCKETS - 1
+            ? orderRepository.lockIdsByStatus(OrderStatus.PENDING, chunk)
+            : orderRepository.lockIdsByStatusAndBucketRange(OrderStatus.PENDING, fromBucket, toBucket, chunk);
+        if (ids.isEmpty()) {
+            return new PromotionChunk(0, 0);
+        }
+        int promoted = orderRepository.updateStatus(
+            ids, OrderStatus.PENDING, OrderStatus.PROCESSING, LocalDateTime.now());
+        orderAnalytics.ordersPromoted(promoted);
+        return new PromotionChunk(ids.size(), promoted);
+    }
+
+    /**
+     * @return The keyset position of the query's cursor, or null on the first page
+     * @throws IllegalArgumentException if the cursor is malformed or belongs to another ordering
+     */
+    private OrderCursor decodeCursor(OrderListQuery query, OrderSort sort) {
+        String cursor = query.getCursor();
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        OrderCursor position = OrderCursor.decode(cursor);
+        if (position.sort() != sort) {
+            throw new IllegalArgumentException("Cursor belongs to sort " + position.sort() + ", not " + sort);
+        }
+        return position;
+    }
+
+    /**
+     * Clamps a requested page size to [1, maxPageSize], falling back to the default size.
+     *
+     * @param limit The requested page size, possibly null
+     * @return The page size to use
+     */
+    private int resolvePageSize(Integer limit) {
+        if (limit == null || limit < 1) {
+            return Math.min(defaultPageSize, maxPageSize);
+        }
+        return Math.min(limit, maxPageSize);
+    }
+
+    /**
+     * Inserts one chunk of validated batch orders in a single transaction. If the chunk fails,
+     * its orders are retried one by one so a single bad row doesn't fail its neighbours.
+     */
+    private void insertChunk(List<Integer> chunk,
+                             List<CreateOrderRequest> requests,
+                             List<UUID> orderIds,
+                             Map<Long, Customer> customers,
+                             Map<Long, CatalogItem> itemsById,
+                             BatchOrderResponse.OrderResult[] results) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                orderRepository.saveAll(chunk.stream()
+                    .map(i -> buildOrder(orderIds.get(i), requests.get(i),
+                        customers.get(requests.get(i).getCustomerId()), itemsById))
+                    .toList()).forEach(orderAnalytics::orderCreated);
+                orderMetrics.orderCreated(chunk.size());
+            });
+            for (int i : chunk) {
+                results[i] = BatchOrderResponse.OrderResult.created(i, orderIds.get(i));
+            }
+        } catch (RuntimeException chunkFailure) {
+            log.warn("Batch chunk of {} orders failed, retrying individually: {}",
+                chunk.size(), chunkFailure.getMessage());
+            for (int i : chunk) {
+                CreateOrderRequest request = requests.get(i);
+                try {
+                    // Rebuild the entity: lines from the failed chunk already carry sequence ids
+                    transactionTemplate.executeWithoutResult(status -> {
+                        orderAnalytics.orderCreated(orderRepository.save(
+                            buildOrder(orderIds.get(i), request, customers.get(request.getCustomerId()), itemsById)));
+                        orderMetrics.orderCreated(1);
+                    });
+                    results[i] = BatchOrderResponse.OrderResult.created(i, orderIds.get(i));
+                } catch (RuntimeException e) {
+                    results[i] = BatchOrderResponse.OrderResult.failed(i, e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Builds a new, unsaved order for the customer with one line per requested item, and
+     * reserves its stock. Must be called in the transaction that saves the order, so the
+     * reservation is undone if the insert fails.
+     *
+     * @param id        The ID to assign to the order
+     * @param request   The order creation request
+     * @param customer  The ordering customer
+     * @param itemsById Items referenced by the request, keyed by ID
+     * @return The unsaved Order entity
+     * @throws EntityNotFoundException if a requested item is missing from {@code itemsById}
+     * @throws InsufficientStockException if a stock-tracked item has fewer units left than ordered
+     */
+    private Order buildOrder(UUID id, CreateOrderRequest request, Customer customer,
+                             Map<Long, CatalogItem> itemsById) {
+        Order order = new Order();
+        order.setId(id);
+        order.setCustomer(customer);
+
+        // Process each item in the order
+        for (var itemRequest : request.getItems()) {
+            CatalogItem item = itemsById.get(itemRequest.getItemId());
+            if (item == null) {
+                throw new EntityNotFoundException("Item not found with id: " + itemRequest.getItemId());
+            }
+
+            OrderItem orderItem = new OrderItem();
+            // The line only needs the item's key; the reference is never initialized
+            orderItem.setItem(itemRepository.getReferenceById(item.id()));
+            orderItem.setQuantity(itemRequest.getQuantity());
+            orderItem.setUnitPrice(item.price());
+            orderItem.setItemName(item.name());
+            orderItem.setStockReserved(item.stockTracked());
+            order.addItem(orderItem);
+        }
+        stockReservations.reserve(order);
+        return order;
+    }
+
+    /**
+     * Validates a request's bean constraints.
+     *
+     * @param request The order creation request
+     * @return A description of the violations, or null if the request is valid
+     */
+    private String describeViolations(CreateOrderRequest request) {
+        if (request == null) {
+            return "Order must not be null";
+        }
+        Set<ConstraintViolation<CreateOrderRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
         }
+        return violations.stream()
+            .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+            .sorted()
+            .collect(Collectors.joining("; "));
+    }
+
+    /**
+     * Resolves every item referenced by the given order lines from the catalog cache,
+     * loading any misses with a single query.
+     *
+     * @param itemRequests The requested order lines
+     * @return Map of item ID to item for the items that exist
+     */
+    private Map<Long, CatalogItem> findItemsById(List<OrderItemRequest> itemRequests) {
+        Set<Long> itemIds = itemRequests.stream()
+            .map(OrderItemRequest::getItemId)
+            .collect(Collectors.toSet());
 
-        pendingOrders.forEach(order -> {
-            order.setStatus(OrderStatus.PROCESSING);
-            order.setUpdatedAt(LocalDateTime.now());
-        });
-        orderRepository.saveAll(pendingOrders);
-        return pendingOrders.size();
+        return itemCatalogCache.getAll(itemIds);
+    }
+
+    /**
+     * Maps Order entities to OrderResponse DTOs. Lines carry their own item name snapshot;
+     * only lines without one have their item resolved from the catalog cache, in one pass.
+     *
+     * @param orders The Order entities to map, with initialized line items
+     * @return OrderResponse objects in the same order
+     */
+    List<OrderResponse> mapToOrderResponses(List<Order> orders) {
+        Set<Long> itemIds = orders.stream()
+            .flatMap(order -> order.getItems().stream())
+            .filter(orderItem -> orderItem.getItemName() == null)
+            .map(orderItem -> orderItem.getItem().getId())
+            .collect(Collectors.toSet());
+        Map<Long, CatalogItem> catalog = itemIds.isEmpty() ? Map.of() : itemCatalogCache.getAll(itemIds);
+
+        return orders.stream()
+            .map(order -> mapToOrderResponse(order, catalog))
+            .toList();
     }
 
     /**
@@ -138,6 +621,17 @@ public class OrderService {
      * @return OrderResponse containing the order details
      */
     private OrderResponse mapToOrderResponse(Order order) {
+        return mapToOrderResponses(List.of(order)).get(0);
+    }
+
+    /**
+     * Maps an Order entity to OrderResponse DTO.
+     *
+     * @param order   The Order entity to map
+     * @param catalog Items referenced by the order's lines, keyed by ID
+     * @return OrderResponse containing the order details
+     */
+    OrderResponse mapToOrderResponse(Order order, Map<Long, CatalogItem> catalog) {
         OrderResponse response = new OrderResponse();
         response.setId(order.getId());
         response.setStatus(order.getStatus());
@@ -152,30 +646,51 @@ public class OrderService {
         response.setCustomer(customerDTO);
 
         List<OrderResponse.OrderItemDTO> itemDTOs = order.getItems().stream()
-            .map(this::mapToOrderItemDTO)
+            .map(orderItem -> mapToOrderItemDTO(orderItem, catalog))
             .toList();
 
         response.setItems(itemDTOs);
-        response.setTotalAmount(itemDTOs.stream()
-            .mapToDouble(OrderResponse.OrderItemDTO::getSubtotal)
-            .sum());
+        response.setTotalAmount(order.getTotalAmount());
 
         return response;
     }
 
     /**
      * Maps an OrderItem entity to OrderItemDTO.
+     * Price and name come from the line's purchase-time snapshot, so the line's lazy item
+     * reference is never initialized. A line without a name snapshot takes the name from
+     * {@code catalog} or the catalog cache; if the item no longer exists the name is left
+     * null rather than failing the whole order.
      *
      * @param orderItem The OrderItem entity to map
+     * @param catalog   Items referenced by the order's lines without a name snapshot, keyed by ID
      * @return OrderItemDTO containing the item details
      */
-    private OrderResponse.OrderItemDTO mapToOrderItemDTO(OrderItem orderItem) {
+    OrderResponse.OrderItemDTO mapToOrderItemDTO(OrderItem orderItem, Map<Long, CatalogItem> catalog) {
+        Long itemId = orderItem.getItem().getId();
+        String itemName = orderItem.getItemName();
+        if (itemName == null) {
+            CatalogItem item = catalog.get(itemId);
+            if (item == null) {
+                item = itemCatalogCache.get(itemId).orElse(null);
+            }
+            itemName = item == null ? null : item.name();
+        }
         OrderResponse.OrderItemDTO dto = new OrderResponse.OrderItemDTO();
-        dto.setItemId(orderItem.getItem().getId());
-        dto.setItemName(orderItem.getItem().getName());
-        dto.setItemPrice(orderItem.getItem().getPrice());
+        dto.setItemId(itemId);
+        dto.setItemName(itemName);
+        dto.setItemPrice(orderItem.getUnitPrice());
         dto.setQuantity(orderItem.getQuantity());
-        dto.setSubtotal(orderItem.getItem().getPrice() * orderItem.getQuantity());
+        dto.setSubtotal(orderItem.getUnitPrice() * orderItem.getQuantity());
         return dto;
     }
+
+    /**
+     * Outcome of one promotion chunk.
+     *
+     * @param locked   Number of PENDING orders locked by the chunk
+     * @param promoted Number of those orders moved to PROCESSING
+     */
+    private record PromotionChunk(int locked, int promoted) {
+    }
 }
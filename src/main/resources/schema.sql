@@ -18,6 +18,8 @@ CREATE TABLE IF NOT EXISTS orders (
     id UUID PRIMARY KEY,
     customer_id INTEGER NOT NULL,
     status VARCHAR(20) NOT NULL,
+    total_amount DOUBLE PRECISION NOT NULL DEFAULT 0,
+    version BIGINT NOT NULL DEFAULT 0,
     created_at TIMESTAMP,
     updated_at TIMESTAMP,
     FOREIGN KEY (customer_id) REFERENCES customers(id)
@@ -28,6 +30,83 @@ CREATE TABLE IF NOT EXISTS order_items (
     order_id UUID NOT NULL,
     item_id INTEGER NOT NULL,
     quantity INTEGER NOT NULL,
+    unit_price DOUBLE PRECISION NOT NULL,
+    item_name VARCHAR(255),
     FOREIGN KEY (order_id) REFERENCES orders(id),
     FOREIGN KEY (item_id) REFERENCES items(id)
 );
+
+-- order_items ids are allocated by Hibernate in blocks of 50 (pooled optimizer) so
+-- line inserts can be batched; the sequence increment must match the allocation size.
+ALTER SEQUENCE order_items_id_seq INCREMENT BY 50;
+
+-- Keyset pagination indexes for GET /api/orders, ordered by (created_at, id)
+CREATE INDEX IF NOT EXISTS idx_orders_created_at_id ON orders (created_at, id);
+CREATE INDEX IF NOT EXISTS idx_orders_status_created_at_id ON orders (status, created_at, id);
+
+-- Price snapshot: order lines keep the unit price paid and orders their total, so reads never
+-- join items. The ALTERs and backfills upgrade databases created before these columns existed.
+ALTER TABLE order_items ADD COLUMN IF NOT EXISTS unit_price DOUBLE PRECISION;
+UPDATE order_items oi SET unit_price = i.price FROM items i WHERE oi.item_id = i.id AND oi.unit_price IS NULL;
+ALTER TABLE order_items ALTER COLUMN unit_price SET NOT NULL;
+
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS total_amount DOUBLE PRECISION;
+UPDATE orders o SET total_amount = COALESCE(
+    (SELECT SUM(oi.unit_price * oi.quantity) FROM order_items oi WHERE oi.order_id = o.id), 0)
+WHERE o.total_amount IS NULL;
+ALTER TABLE orders ALTER COLUMN total_amount SET NOT NULL;
+
+-- Name snapshot: order lines keep the item name too, so an order still reads after its
+-- item is renamed or deleted.
+ALTER TABLE order_items ADD COLUMN IF NOT EXISTS item_name VARCHAR(255);
+UPDATE order_items oi SET item_name = i.name FROM items i WHERE oi.item_id = i.id AND oi.item_name IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_orders_total_amount_id ON orders (total_amount, id);
+CREATE INDEX IF NOT EXISTS idx_orders_status_updated_at_id ON orders (status, updated_at, id);
+
+-- Optimistic lock column; status transitions are conditional UPDATEs that increment it.
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+-- Idempotency-Key of each order created with one; expired keys are purged hourly.
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    idempotency_key VARCHAR(255) PRIMARY KEY,
+    order_id UUID NOT NULL,
+    request_hash VARCHAR(64) NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_created_at ON idempotency_keys (created_at);
+
+-- Order aggregates per status, customer and day, maintained by relative increments.
+CREATE TABLE IF NOT EXISTS order_stats (
+    metric VARCHAR(16) NOT NULL,
+    dimension VARCHAR(64) NOT NULL,
+    order_count BIGINT NOT NULL,
+    revenue DOUBLE PRECISION NOT NULL,
+    PRIMARY KEY (metric, dimension)
+);
+
+-- Hash bucket (0-1023) of each order id; scheduler instances split the buckets between them.
+-- Existing orders get a bucket from their id's text hash, new ones from the application.
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS partition_bucket INTEGER;
+UPDATE orders SET partition_bucket = hashtext(id::text) & 1023 WHERE partition_bucket IS NULL;
+ALTER TABLE orders ALTER COLUMN partition_bucket SET NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_orders_status_partition_bucket ON orders (status, partition_bucket);
+
+-- Partition leases and instance heartbeats of the order status scheduler.
+CREATE TABLE IF NOT EXISTS scheduler_leases (
+    partition_id INTEGER PRIMARY KEY,
+    owner VARCHAR(64),
+    expires_at TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS scheduler_instances (
+    instance_id VARCHAR(64) PRIMARY KEY,
+    expires_at TIMESTAMP NOT NULL
+);
+
+-- Stock: units of each stock-tracked item not yet allotted to an instance. Whether an item
+-- is tracked is fixed at creation. Order lines record whether their quantity was taken, so
+-- a cancellation gives back exactly what was reserved.
+ALTER TABLE items ADD COLUMN IF NOT EXISTS stock_tracked BOOLEAN NOT NULL DEFAULT FALSE;
+ALTER TABLE items ADD COLUMN IF NOT EXISTS stock INTEGER;
+ALTER TABLE order_items ADD COLUMN IF NOT EXISTS stock_reserved BOOLEAN NOT NULL DEFAULT FALSE;
@@ -0,0 +1,41 @@
+package com.order.processing.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.reactive.ReactiveUserDetailsServiceAutoConfiguration;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Entry point of the reactive order API: the order and item endpoints on WebFlux, reading and
+ * writing the tables of {@code schema.sql} through R2DBC. Requests wait on the database without
+ * holding a thread, so a few event-loop threads serve all in-flight requests.
+ * <p>
+ * Only this package is scanned; none of the blocking application's beans (JPA, schedulers,
+ * caches) are created. Built with {@code mvn -Preactive} and run with the {@code reactive}
+ * profile next to a database profile, e.g. {@code --spring.profiles.active=dev,reactive}.
+ */
+@SpringBootApplication(exclude = {
+    DataSourceAutoConfiguration.class,
+    DataSourceTransactionManagerAutoConfiguration.class,
+    HibernateJpaAutoConfiguration.class,
+    ReactiveUserDetailsServiceAutoConfiguration.class
+})
+public class ReactiveApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveApplication.class, args);
+    }
+
+    /**
+     * Serves requests on Netty's event loop. Tomcat is on the classpath for the blocking stack
+     * and would otherwise be picked, running WebFlux through the servlet adapter.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
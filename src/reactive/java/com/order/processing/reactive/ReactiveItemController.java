@@ -0,0 +1,44 @@
+package com.order.processing.reactive;
+
+import com.order.processing.system.dto.ItemRequest;
+import com.order.processing.system.model.Item;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of the item listing, lookup and creation endpoints of {@code ItemController}.
+ * Responses carry no catalog ETag, which the blocking stack takes from its catalog cache.
+ */
+@RestController
+@RequestMapping("/api/items")
+@RequiredArgsConstructor
+public class ReactiveItemController {
+
+    private final ReactiveItemRepository itemRepository;
+
+    @GetMapping
+    public Flux<Item> getAllItems() {
+        return itemRepository.findAll();
+    }
+
+    @GetMapping("/{id}")
+    public Mono<Item> getItem(@PathVariable Long id) {
+        return itemRepository.findById(id)
+            .switchIfEmpty(Mono.error(() -> new EntityNotFoundException("Item not found with id: " + id)));
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<Item> createItem(@Valid @RequestBody ItemRequest request) {
+        Item item = new Item();
+        item.setName(request.getName());
+        item.setPrice(request.getPrice());
+        item.setDescription(request.getDescription());
+        return itemRepository.insert(item, request.getStock());
+    }
+}
@@ -0,0 +1,103 @@
+package com.order.processing.reactive;
+
+import com.order.processing.system.model.Item;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+/**
+ * Item queries of the reactive stack. Reads go to the database every time; the reactive
+ * stack has no counterpart of the blocking stack's in-process catalog cache.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReactiveItemRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public Flux<Item> findAll() {
+        return databaseClient.sql("SELECT id, name, price, description, stock_tracked FROM items ORDER BY id")
+            .map(ReactiveItemRepository::mapItem)
+            .all();
+    }
+
+    public Mono<Item> findById(long id) {
+        return databaseClient.sql("SELECT id, name, price, description, stock_tracked FROM items WHERE id = :id")
+            .bind("id", id)
+            .map(ReactiveItemRepository::mapItem)
+            .one();
+    }
+
+    /**
+     * @param ids The item IDs
+     * @return The items that exist, read with one {@code IN} query
+     */
+    public Flux<Item> findAllById(Collection<Long> ids) {
+        return databaseClient.sql("SELECT id, name, price, description, stock_tracked FROM items WHERE id IN (:ids)")
+            .bind("ids", ids)
+            .map(ReactiveItemRepository::mapItem)
+            .all();
+    }
+
+    /**
+     * Inserts an item and sets the ID the database generated for it.
+     *
+     * @param item         The item to insert, without ID
+     * @param initialStock Units in stock, or null if the item's stock is not tracked
+     * @return The same item with its ID
+     */
+    public Mono<Item> insert(Item item, Integer initialStock) {
+        item.setStockTracked(initialStock != null);
+        DatabaseClient.GenericExecuteSpec insert = databaseClient
+            .sql("INSERT INTO items (name, price, description, stock_tracked, stock) "
+                + "VALUES (:name, :price, :description, :stockTracked, :stock)")
+            .filter(statement -> statement.returnGeneratedValues("id"))
+            .bind("name", item.getName())
+            .bind("price", item.getPrice())
+            .bind("stockTracked", item.isStockTracked());
+        insert = item.getDescription() == null
+            ? insert.bindNull("description", String.class)
+            : insert.bind("description", item.getDescription());
+        insert = initialStock == null
+            ? insert.bindNull("stock", Integer.class)
+            : insert.bind("stock", initialStock);
+        return insert.map(row -> row.get("id", Long.class))
+            .one()
+            .map(id -> {
+                item.setId(id);
+                return item;
+            });
+    }
+
+    /**
+     * Takes units from an item's stock if at least that many are left. Locks the item row
+     * until the current transaction ends.
+     *
+     * @param id       The item ID
+     * @param quantity Units to take
+     * @return true if the units were taken, false if fewer were left
+     */
+    public Mono<Boolean> takeStock(long id, int quantity) {
+        return databaseClient.sql("UPDATE items SET stock = stock - :quantity WHERE id = :id AND stock >= :quantity")
+            .bind("quantity", quantity)
+            .bind("id", id)
+            .fetch()
+            .rowsUpdated()
+            .map(updated -> updated > 0);
+    }
+
+    private static Item mapItem(Readable row) {
+        Item item = new Item();
+        item.setId(row.get("id", Long.class));
+        item.setName(row.get("name", String.class));
+        item.setPrice(row.get("price", Double.class));
+        item.setDescription(row.get("description", String.class));
+        item.setStockTracked(Boolean.TRUE.equals(row.get("stock_tracked", Boolean.class)));
+        return item;
+    }
+}
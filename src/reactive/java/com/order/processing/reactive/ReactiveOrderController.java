@@ -0,0 +1,186 @@
+package com.order.processing.reactive;
+
+import com.order.processing.system.dto.CreateOrderRequest;
+import com.order.processing.system.dto.OrderAcceptanceResponse;
+import com.order.processing.system.dto.OrderListQuery;
+import com.order.processing.system.dto.OrderPageResponse;
+import com.order.processing.system.dto.OrderResponse;
+import com.order.processing.system.dto.OrderSummary;
+import com.order.processing.system.dto.OrderSummaryPageResponse;
+import com.order.processing.system.exception.OrderStatusConflictException;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Reactive counterpart of {@code OrderController}, with the same paths, parameters and
+ * response bodies. Orders are always created synchronously; {@code Idempotency-Key},
+ * batch creation and the statistics endpoints are only served by the blocking stack.
+ */
+@RestController
+@RequestMapping("/api/orders")
+@RequiredArgsConstructor
+public class ReactiveOrderController {
+
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    private final ReactiveOrderService orderService;
+
+    /**
+     * Creates a new order in the system.
+     *
+     * @param request        The order creation request containing customer ID and items
+     * @param idempotencyKey Must be absent: keys are not recorded by this stack, and
+     *                       silently ignoring one would let a retry create a duplicate
+     * @return The created order details
+     * @throws EntityNotFoundException if customer or items are not found
+     * @throws IllegalArgumentException if an idempotency key is given
+     */
+    @PostMapping
+    public Mono<OrderResponse> createOrder(@Valid @RequestBody CreateOrderRequest request,
+                                           @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        if (idempotencyKey != null) {
+            throw new IllegalArgumentException(IDEMPOTENCY_KEY + " is not supported by the reactive order API");
+        }
+        return orderService.createOrder(request);
+    }
+
+    /**
+     * Reports whether an order has been persisted; every existing order is PERSISTED.
+     *
+     * @param id The UUID of the order
+     * @return The order's acceptance state
+     * @throws EntityNotFoundException if the order is unknown
+     */
+    @GetMapping("/{id}/status")
+    public Mono<OrderAcceptanceResponse> getOrderStatus(@PathVariable UUID id) {
+        return orderService.orderExists(id)
+            .filter(Boolean::booleanValue)
+            .map(found -> new OrderAcceptanceResponse(id, OrderAcceptanceResponse.State.PERSISTED, null))
+            .switchIfEmpty(Mono.error(() -> new EntityNotFoundException("Order not found with id: " + id)));
+    }
+
+    /**
+     * Retrieves order details by its unique identifier. As in the blocking stack, the ETag is
+     * read first, from the order's version and update time, and a matching
+     * {@code If-None-Match} is answered with 304 Not Modified without loading the order.
+     *
+     * @param id       The UUID of the order to retrieve
+     * @param exchange The current exchange, for conditional request handling
+     * @return The order details, or 304 if unchanged
+     * @throws EntityNotFoundException if order is not found
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<OrderResponse>> getOrder(@PathVariable UUID id, ServerWebExchange exchange) {
+        return orderService.getOrderETag(id).flatMap(eTag -> {
+            if (exchange.checkNotModified(eTag)) {
+                return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).<OrderResponse>build());
+            }
+            return orderService.getOrder(id).map(order -> ResponseEntity.ok().eTag(eTag).body(order));
+        });
+    }
+
+    /**
+     * Retrieves one page of orders, optionally filtered by status and total amount.
+     *
+     * @param query  Filter, ordering, cursor and page size
+     * @param view   Must be absent; {@code view=summary} is served by the summary handler
+     * @param fields Must be absent; only {@code view=summary} can be narrowed
+     * @return The page of orders and the next cursor
+     * @throws IllegalArgumentException if the cursor is malformed, or a view or fields are given
+     */
+    @GetMapping
+    public Mono<OrderPageResponse> getAllOrders(OrderListQuery query,
+                                                @RequestParam(required = false) String view,
+                                                @RequestParam(required = false) Set<String> fields) {
+        rejectSummaryParameters(view, fields);
+        return orderService.getAllOrders(query);
+    }
+
+    /**
+     * Retrieves one page of order summaries ({@code view=summary}), narrowed to {@code fields}
+     * if given.
+     *
+     * @param query  Filter, ordering, cursor and page size
+     * @param fields Optional summary properties to return
+     * @return The page of summaries and the next cursor
+     * @throws IllegalArgumentException if a field is unknown or the cursor is malformed
+     */
+    @GetMapping(params = "view=summary")
+    public Mono<OrderSummaryPageResponse> getOrderSummaries(OrderListQuery query,
+                                                            @RequestParam(required = false) Set<String> fields) {
+        return orderService.getOrderSummaries(query, fields);
+    }
+
+    /**
+     * Streams all orders matching the filter as newline-delimited JSON, page by page as the
+     * client consumes them.
+     *
+     * @param query  Filter and ordering; a cursor, if given, is the position to start after
+     * @param view   Must be absent; {@code view=summary} is served by the summary handler
+     * @param fields Must be absent; only {@code view=summary} can be narrowed
+     * @return One JSON order per line
+     * @throws IllegalArgumentException if a view or fields are given
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<OrderResponse> streamOrders(OrderListQuery query,
+                                            @RequestParam(required = false) String view,
+                                            @RequestParam(required = false) Set<String> fields) {
+        rejectSummaryParameters(view, fields);
+        return orderService.streamOrders(query);
+    }
+
+    /**
+     * Streams the summaries of all orders matching the filter as newline-delimited JSON.
+     *
+     * @param query  Filter and ordering; a cursor, if given, is the position to start after
+     * @param fields Optional summary properties to return
+     * @return One JSON order summary per line
+     * @throws IllegalArgumentException if a field is unknown
+     */
+    @GetMapping(value = "/stream", params = "view=summary", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<OrderSummary> streamOrderSummaries(OrderListQuery query,
+                                                   @RequestParam(required = false) Set<String> fields) {
+        return orderService.streamOrderSummaries(query, fields);
+    }
+
+    /**
+     * Cancels an existing order if it's in PENDING status.
+     *
+     * @param id The UUID of the order to cancel
+     * @return The updated order details
+     * @throws EntityNotFoundException if order is not found
+     * @throws OrderStatusConflictException if order is not in PENDING status (409)
+     */
+    @PatchMapping("/{id}/cancel")
+    public Mono<OrderResponse> cancelOrder(@PathVariable UUID id) {
+        return orderService.cancelOrder(id);
+    }
+
+    /**
+     * Same check as the blocking {@code OrderController}: the only view is {@code summary}, and
+     * {@code fields} only narrows summaries.
+     *
+     * @param view   The requested view, or null
+     * @param fields The requested fields, or null
+     * @throws IllegalArgumentException if a view or any fields were requested
+     */
+    private static void rejectSummaryParameters(String view, Set<String> fields) {
+        if (view != null) {
+            throw new IllegalArgumentException("Unknown view '" + view + "'; supported: summary");
+        }
+        if (fields != null) {
+            throw new IllegalArgumentException("fields is only supported with view=summary");
+        }
+    }
+}
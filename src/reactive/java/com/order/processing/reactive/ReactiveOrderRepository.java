@@ -0,0 +1,325 @@
+package com.order.processing.reactive;
+
+import com.order.processing.system.dto.OrderCursor;
+import com.order.processing.system.dto.OrderListQuery;
+import com.order.processing.system.dto.OrderResponse;
+import com.order.processing.system.dto.OrderSort;
+import com.order.processing.system.dto.OrderSummary;
+import com.order.processing.system.dto.OrderVersion;
+import com.order.processing.system.model.Customer;
+import com.order.processing.system.model.Order;
+import com.order.processing.system.model.OrderStatus;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Order queries of the reactive stack, written as SQL against the tables of {@code schema.sql}.
+ * Each method mirrors a query of the blocking {@code OrderRepository}; statements run on the
+ * R2DBC pool and complete without blocking the calling thread.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReactiveOrderRepository {
+
+    private static final String ORDER_COLUMNS = """
+        o.id, o.status, o.total_amount, o.created_at, o.updated_at,
+        c.id AS customer_id, c.name AS customer_name, c.email AS customer_email""";
+
+    private static final String SUMMARY_COLUMNS = """
+        o.id, o.status, o.total_amount, o.created_at, o.updated_at, o.customer_id""";
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * @param id The customer ID
+     * @return The customer, or empty if it does not exist
+     */
+    public Mono<Customer> findCustomer(long id) {
+        return databaseClient.sql("SELECT id, name, email FROM customers WHERE id = :id")
+            .bind("id", id)
+            .map(row -> {
+                Customer customer = new Customer();
+                customer.setId(row.get("id", Long.class));
+                customer.setName(row.get("name", String.class));
+                customer.setEmail(row.get("email", String.class));
+                return customer;
+            })
+            .one();
+    }
+
+    /**
+     * Inserts an order and all its lines: the order row first, then the lines in one
+     * multi-row INSERT. Line IDs come from the column default on {@code order_items_id_seq},
+     * one sequence value each, so they cannot collide with the blocks the JPA stack allocates
+     * from the same sequence. Callers run this in a transaction.
+     *
+     * @param order          The order to insert; its lines are taken from {@link OrderResponse#getItems()}
+     * @param customerId     The ordering customer
+     * @param reservedItemIds Items whose ordered quantity was taken from their stock
+     * @return Completes once both statements have run
+     */
+    public Mono<Void> insert(OrderResponse order, long customerId, Set<Long> reservedItemIds) {
+        Mono<Long> insertOrder = databaseClient.sql("""
+                INSERT INTO orders (id, customer_id, status, total_amount, version, partition_bucket, created_at, updated_at)
+                VALUES (:id, :customerId, :status, :totalAmount, 0, :partitionBucket, :createdAt, :updatedAt)
+                """)
+            .bind("id", order.getId())
+            .bind("customerId", customerId)
+            .bind("status", order.getStatus().name())
+            .bind("totalAmount", order.getTotalAmount())
+            .bind("partitionBucket", Math.floorMod(order.getId().hashCode(), Order.PARTITION_BUCKETS))
+            .bind("createdAt", order.getCreatedAt())
+            .bind("updatedAt", order.getUpdatedAt())
+            .fetch()
+            .rowsUpdated();
+
+        List<OrderResponse.OrderItemDTO> lines = order.getItems();
+        StringBuilder sql = new StringBuilder("INSERT INTO order_items (order_id, item_id, quantity, unit_price, item_name, stock_reserved) VALUES ");
+        for (int i = 0; i < lines.size(); i++) {
+            sql.append(i == 0 ? "" : ", ")
+                .append("(:orderId, :itemId").append(i)
+                .append(", :quantity").append(i)
+                .append(", :unitPrice").append(i)
+                .append(", :itemName").append(i)
+                .append(", :stockReserved").append(i).append(')');
+        }
+        DatabaseClient.GenericExecuteSpec insertLines = databaseClient.sql(sql.toString()).bind("orderId", order.getId());
+        for (int i = 0; i < lines.size(); i++) {
+            OrderResponse.OrderItemDTO line = lines.get(i);
+            insertLines = insertLines
+                .bind("itemId" + i, line.getItemId())
+                .bind("quantity" + i, line.getQuantity())
+                .bind("unitPrice" + i, line.getItemPrice())
+                .bind("itemName" + i, line.getItemName())
+                .bind("stockReserved" + i, reservedItemIds.contains(line.getItemId()));
+        }
+        return insertOrder.then(insertLines.fetch().rowsUpdated()).then();
+    }
+
+    /**
+     * Loads an order with its customer and lines in one query, one row per line.
+     *
+     * @param id The order ID
+     * @return The order, or empty if it does not exist
+     */
+    public Mono<OrderResponse> findWithDetailsById(UUID id) {
+        return databaseClient.sql("SELECT " + ORDER_COLUMNS + """
+                , oi.item_id, COALESCE(oi.item_name, i.name) AS item_name, oi.unit_price, oi.quantity
+                FROM orders o
+                JOIN customers c ON c.id = o.customer_id
+                LEFT JOIN order_items oi ON oi.order_id = o.id
+                LEFT JOIN items i ON i.id = oi.item_id
+                WHERE o.id = :id
+                ORDER BY oi.id
+                """)
+            .bind("id", id)
+            .map(row -> new OrderRow(mapOrder(row), row.get("item_id", Long.class) == null ? null : mapLine(row)))
+            .all()
+            .collectList()
+            .flatMap(rows -> {
+                if (rows.isEmpty()) {
+                    return Mono.empty();
+                }
+                OrderResponse order = rows.get(0).order();
+                order.setItems(rows.stream().map(OrderRow::line).filter(line -> line != null).toList());
+                return Mono.just(order);
+            });
+    }
+
+    /**
+     * Reads only the version and update time of an order, for its ETag.
+     *
+     * @param id The order ID
+     * @return The order's version fields, or empty if it does not exist
+     */
+    public Mono<OrderVersion> findVersionById(UUID id) {
+        return databaseClient.sql("SELECT version, updated_at FROM orders WHERE id = :id")
+            .bind("id", id)
+            .map(row -> new OrderVersion(row.get("version", Long.class), row.get("updated_at", LocalDateTime.class)))
+            .one();
+    }
+
+    /**
+     * @param id The order ID
+     * @return The order's status, or empty if it does not exist
+     */
+    public Mono<OrderStatus> findStatusById(UUID id) {
+        return databaseClient.sql("SELECT status FROM orders WHERE id = :id")
+            .bind("id", id)
+            .map(row -> OrderStatus.valueOf(row.get("status", String.class)))
+            .one();
+    }
+
+    /**
+     * Reads one keyset page of orders with their customers, without lines; see
+     * {@link #findLines(Collection)}.
+     *
+     * @param query    Status and total filters
+     * @param sort     The ordering
+     * @param position Position to start after, or null for the first page
+     * @param limit    Maximum number of orders
+     * @return The orders of the page, in order
+     */
+    public Flux<OrderResponse> findPage(OrderListQuery query, OrderSort sort, OrderCursor position, int limit) {
+        return page(ORDER_COLUMNS + " FROM orders o JOIN customers c ON c.id = o.customer_id",
+            query, sort, position, limit, ReactiveOrderRepository::mapOrder);
+    }
+
+    /**
+     * Summary counterpart of {@link #findPage}: reads only the order rows.
+     */
+    public Flux<OrderSummary> findSummaryPage(OrderListQuery query, OrderSort sort, OrderCursor position, int limit) {
+        return page(SUMMARY_COLUMNS + " FROM orders o", query, sort, position, limit, row -> new OrderSummary(
+            row.get("id", UUID.class),
+            OrderStatus.valueOf(row.get("status", String.class)),
+            row.get("created_at", LocalDateTime.class),
+            row.get("updated_at", LocalDateTime.class),
+            row.get("customer_id", Long.class),
+            row.get("total_amount", Double.class)));
+    }
+
+    /**
+     * Reads the lines of many orders with one {@code IN} query.
+     *
+     * @param orderIds The order IDs
+     * @return The lines of each order, in insertion order; orders without lines are absent
+     */
+    public Mono<Map<UUID, List<OrderResponse.OrderItemDTO>>> findLines(Collection<UUID> orderIds) {
+        return databaseClient.sql("""
+                SELECT oi.order_id, oi.item_id, COALESCE(oi.item_name, i.name) AS item_name, oi.unit_price, oi.quantity
+                FROM order_items oi
+                LEFT JOIN items i ON i.id = oi.item_id
+                WHERE oi.order_id IN (:orderIds)
+                ORDER BY oi.id
+                """)
+            .bind("orderIds", orderIds)
+            .map(row -> Map.entry(row.get("order_id", UUID.class), mapLine(row)))
+            .all()
+            .collect(Collectors.groupingBy(Map.Entry::getKey, Collectors.mapping(Map.Entry::getValue, Collectors.toList())));
+    }
+
+    /**
+     * Moves an order from {@code from} to {@code to} with one conditional UPDATE, bumping its
+     * version like the JPA stack does.
+     *
+     * @return The number of rows updated: 0 if the order is missing or not in {@code from}
+     */
+    public Mono<Long> transitionStatus(UUID id, OrderStatus from, OrderStatus to, LocalDateTime updatedAt) {
+        return databaseClient.sql("""
+                UPDATE orders SET status = :to, updated_at = :updatedAt, version = version + 1
+                WHERE id = :id AND status = :from
+                """)
+            .bind("to", to.name())
+            .bind("updatedAt", updatedAt)
+            .bind("id", id)
+            .bind("from", from.name())
+            .fetch()
+            .rowsUpdated();
+    }
+
+    /**
+     * Returns the quantities of an order's reserved lines to their items' stock.
+     * Callers run this in the transaction that cancels the order.
+     *
+     * @param orderId The cancelled order
+     * @return Number of items whose stock was updated
+     */
+    public Mono<Long> releaseStock(UUID orderId) {
+        return databaseClient.sql("""
+                UPDATE items SET stock = stock + (
+                    SELECT SUM(oi.quantity) FROM order_items oi
+                    WHERE oi.order_id = :orderId AND oi.item_id = items.id AND oi.stock_reserved)
+                WHERE id IN (SELECT item_id FROM order_items WHERE order_id = :orderId AND stock_reserved)
+                  AND stock IS NOT NULL
+                """)
+            .bind("orderId", orderId)
+            .fetch()
+            .rowsUpdated();
+    }
+
+    /**
+     * Builds and runs a keyset page query. Only the filters that are set become predicates,
+     * so no parameter is ever bound as an untyped null.
+     */
+    private <T> Flux<T> page(String selectFrom, OrderListQuery query, OrderSort sort, OrderCursor position,
+                             int limit, Function<Readable, T> mapper) {
+        String key = sort == OrderSort.TOTAL_AMOUNT ? "o.total_amount" : "o.created_at";
+        List<String> predicates = new ArrayList<>();
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        if (query.getStatus() != null) {
+            predicates.add("o.status = :status");
+            parameters.put("status", query.getStatus().name());
+        }
+        if (query.getMinTotal() != null) {
+            predicates.add("o.total_amount >= :minTotal");
+            parameters.put("minTotal", query.getMinTotal());
+        }
+        if (query.getMaxTotal() != null) {
+            predicates.add("o.total_amount <= :maxTotal");
+            parameters.put("maxTotal", query.getMaxTotal());
+        }
+        if (position != null) {
+            predicates.add("(" + key + " > :key OR (" + key + " = :key AND o.id > :id))");
+            parameters.put("key", sort == OrderSort.TOTAL_AMOUNT ? position.totalAmount() : position.createdAt());
+            parameters.put("id", position.id());
+        }
+        parameters.put("limit", limit);
+
+        String sql = "SELECT " + selectFrom
+            + (predicates.isEmpty() ? "" : " WHERE " + String.join(" AND ", predicates))
+            + " ORDER BY " + key + ", o.id LIMIT :limit";
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql);
+        for (Map.Entry<String, Object> parameter : parameters.entrySet()) {
+            spec = spec.bind(parameter.getKey(), parameter.getValue());
+        }
+        return spec.map(mapper).all();
+    }
+
+    private static OrderResponse mapOrder(Readable row) {
+        OrderResponse order = new OrderResponse();
+        order.setId(row.get("id", UUID.class));
+        order.setStatus(OrderStatus.valueOf(row.get("status", String.class)));
+        order.setCreatedAt(row.get("created_at", LocalDateTime.class));
+        order.setUpdatedAt(row.get("updated_at", LocalDateTime.class));
+        order.setTotalAmount(row.get("total_amount", Double.class));
+
+        OrderResponse.CustomerDTO customer = new OrderResponse.CustomerDTO();
+        customer.setId(row.get("customer_id", Long.class));
+        customer.setName(row.get("customer_name", String.class));
+        customer.setEmail(row.get("customer_email", String.class));
+        order.setCustomer(customer);
+        order.setItems(List.of());
+        return order;
+    }
+
+    private static OrderResponse.OrderItemDTO mapLine(Readable row) {
+        OrderResponse.OrderItemDTO line = new OrderResponse.OrderItemDTO();
+        line.setItemId(row.get("item_id", Long.class));
+        line.setItemName(row.get("item_name", String.class));
+        line.setItemPrice(row.get("unit_price", Double.class));
+        line.setQuantity(row.get("quantity", Integer.class));
+        line.setSubtotal(line.getItemPrice() * line.getQuantity());
+        return line;
+    }
+
+    /**
+     * One row of {@link #findWithDetailsById}: the order columns repeat on every line.
+     */
+    private record OrderRow(OrderResponse order, OrderResponse.OrderItemDTO line) {
+    }
+}
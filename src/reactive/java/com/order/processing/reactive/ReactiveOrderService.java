@@ -0,0 +1,341 @@
+package com.order.processing.reactive;
+
+import com.order.processing.system.dto.CreateOrderRequest;
+import com.order.processing.system.dto.OrderCursor;
+import com.order.processing.system.dto.OrderItemRequest;
+import com.order.processing.system.dto.OrderListQuery;
+import com.order.processing.system.dto.OrderPageResponse;
+import com.order.processing.system.dto.OrderResponse;
+import com.order.processing.system.dto.OrderSort;
+import com.order.processing.system.dto.OrderSummary;
+import com.order.processing.system.dto.OrderSummaryPageResponse;
+import com.order.processing.system.dto.OrderVersion;
+import com.order.processing.system.exception.InsufficientStockException;
+import com.order.processing.system.exception.OrderStatusConflictException;
+import com.order.processing.system.model.Item;
+import com.order.processing.system.model.OrderStatus;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Order logic of the reactive stack, with the same rules and responses as the blocking
+ * {@code OrderService}: orders are priced from the catalog when created, listed by keyset
+ * pages, and cancelled with a conditional UPDATE.
+ * <p>
+ * Only writes run in a transaction. Reads are not wrapped in a read-only one: over R2DBC that
+ * costs extra round trips per request, and a page's lines cannot be seen half-written because
+ * they are inserted in the same transaction as their order.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactiveOrderService {
+
+    private final ReactiveOrderRepository orderRepository;
+    private final ReactiveItemRepository itemRepository;
+
+    @Value("${order-processing.pagination.default-page-size:50}")
+    private int defaultPageSize = 50;
+
+    @Value("${order-processing.pagination.max-page-size:500}")
+    private int maxPageSize = 500;
+
+    /**
+     * Creates a new order for a customer with specified items. The customer and all items are
+     * read concurrently, then the order and its lines are inserted in one transaction.
+     *
+     * @param request The order creation request containing customer ID and items
+     * @return The created order details
+     * @throws EntityNotFoundException if customer or any item is not found
+     * @throws InsufficientStockException if a stock-tracked item has fewer units left than ordered
+     */
+    @Transactional
+    public Mono<OrderResponse> createOrder(CreateOrderRequest request) {
+        Set<Long> itemIds = request.getItems().stream()
+            .map(OrderItemRequest::getItemId)
+            .collect(Collectors.toSet());
+
+        return orderRepository.findCustomer(request.getCustomerId())
+            .switchIfEmpty(Mono.error(() -> new EntityNotFoundException("Customer not found with id: " + request.getCustomerId())))
+            .zipWith(itemRepository.findAllById(itemIds).collectMap(Item::getId))
+            .flatMap(customerAndItems -> {
+                OrderResponse order = buildOrder(request, customerAndItems.getT2());
+                OrderResponse.CustomerDTO customer = new OrderResponse.CustomerDTO();
+                customer.setId(customerAndItems.getT1().getId());
+                customer.setName(customerAndItems.getT1().getName());
+                customer.setEmail(customerAndItems.getT1().getEmail());
+                order.setCustomer(customer);
+                return reserveStock(request, customerAndItems.getT2())
+                    .flatMap(reserved -> orderRepository.insert(order, customer.getId(), reserved))
+                    .thenReturn(order);
+            });
+    }
+
+    /**
+     * Retrieves order details by ID.
+     *
+     * @param id The UUID of the order to retrieve
+     * @return The order details
+     * @throws EntityNotFoundException if order is not found
+     */
+    public Mono<OrderResponse> getOrder(UUID id) {
+        return orderRepository.findWithDetailsById(id)
+            .switchIfEmpty(Mono.error(() -> new EntityNotFoundException("Order not found with id: " + id)));
+    }
+
+    /**
+     * Returns the entity tag of an order's current representation, reading only its version
+     * and update time.
+     *
+     * @param id The UUID of the order
+     * @return The order's weak entity tag
+     * @throws EntityNotFoundException if order is not found
+     */
+    public Mono<String> getOrderETag(UUID id) {
+        return orderRepository.findVersionById(id)
+            .map(OrderVersion::eTag)
+            .switchIfEmpty(Mono.error(() -> new EntityNotFoundException("Order not found with id: " + id)));
+    }
+
+    /**
+     * Checks whether an order has been persisted.
+     *
+     * @param id The UUID of the order
+     * @return true if the order exists
+     */
+    public Mono<Boolean> orderExists(UUID id) {
+        return orderRepository.findStatusById(id).hasElement();
+    }
+
+    /**
+     * Retrieves one keyset page of orders, with the same filters, ordering and cursor as the
+     * blocking listing. The lines of all orders on the page are read with one query.
+     *
+     * @param query Filter, ordering, cursor and page size; read when this method is called
+     * @return The page and the cursor for the next one
+     * @throws IllegalArgumentException if the cursor is malformed or belongs to another ordering
+     */
+    public Mono<OrderPageResponse> getAllOrders(OrderListQuery query) {
+        int pageSize = resolvePageSize(query.getLimit());
+        OrderSort sort = query.getSort() == null ? OrderSort.CREATED_AT : query.getSort();
+        OrderCursor position = decodeCursor(query, sort);
+
+        // Fetch one extra row to learn whether another page exists without a count query
+        return orderRepository.findPage(query, sort, position, pageSize + 1)
+            .collectList()
+            .flatMap(orders -> {
+                String nextCursor = null;
+                if (orders.size() > pageSize) {
+                    orders = orders.subList(0, pageSize);
+                    OrderResponse last = orders.get(pageSize - 1);
+                    nextCursor = OrderCursor.after(sort, last.getCreatedAt(), last.getTotalAmount(), last.getId()).encode();
+                }
+                if (orders.isEmpty()) {
+                    return Mono.just(new OrderPageResponse(orders, nextCursor));
+                }
+                List<OrderResponse> page = orders;
+                String cursor = nextCursor;
+                return orderRepository.findLines(page.stream().map(OrderResponse::getId).toList())
+                    .map(lines -> {
+                        page.forEach(order -> order.setItems(lines.getOrDefault(order.getId(), List.of())));
+                        return new OrderPageResponse(page, cursor);
+                    });
+            });
+    }
+
+    /**
+     * Retrieves one keyset page of order summaries, reading only the order rows.
+     *
+     * @param query  Filter, ordering, cursor and page size; read when this method is called
+     * @param fields Summary properties to return, or null or empty for all of them
+     * @return The page and the cursor for the next one
+     * @throws IllegalArgumentException if a field is unknown, or the cursor is malformed or
+     *                                  belongs to another ordering
+     */
+    public Mono<OrderSummaryPageResponse> getOrderSummaries(OrderListQuery query, Set<String> fields) {
+        if (fields != null && !OrderSummary.FIELDS.containsAll(fields)) {
+            throw new IllegalArgumentException("Unknown fields " + fields + "; supported: " + OrderSummary.FIELDS);
+        }
+        int pageSize = resolvePageSize(query.getLimit());
+        OrderSort sort = query.getSort() == null ? OrderSort.CREATED_AT : query.getSort();
+        OrderCursor position = decodeCursor(query, sort);
+
+        return orderRepository.findSummaryPage(query, sort, position, pageSize + 1)
+            .collectList()
+            .map(orders -> {
+                String nextCursor = null;
+                if (orders.size() > pageSize) {
+                    orders = orders.subList(0, pageSize);
+                    OrderSummary last = orders.get(pageSize - 1);
+                    nextCursor = OrderCursor.after(sort, last.getCreatedAt(), last.getTotalAmount(), last.getId()).encode();
+                }
+                if (fields != null && !fields.isEmpty()) {
+                    // After the cursor is taken, which needs the sort key and id of the last row
+                    orders.forEach(order -> order.retain(fields));
+                }
+                return new OrderSummaryPageResponse(orders, nextCursor);
+            });
+    }
+
+    /**
+     * Emits all orders matching the filter, reading the next page only once the previous one
+     * has been consumed, so a slow client slows the reads down instead of buffering them.
+     *
+     * @param query Filter and ordering; a cursor, if given, is the position to start after
+     * @return All matching orders, in order
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public Flux<OrderResponse> streamOrders(OrderListQuery query) {
+        // Request the largest page allowed; resolvePageSize caps it
+        query.setLimit(Integer.MAX_VALUE);
+        return getAllOrders(query)
+            .expand(page -> {
+                if (page.getNextCursor() == null) {
+                    return Mono.empty();
+                }
+                query.setCursor(page.getNextCursor());
+                return getAllOrders(query);
+            })
+            .concatMapIterable(OrderPageResponse::getOrders);
+    }
+
+    /**
+     * Summary counterpart of {@link #streamOrders}.
+     *
+     * @throws IllegalArgumentException if a field is unknown or the cursor is malformed
+     */
+    public Flux<OrderSummary> streamOrderSummaries(OrderListQuery query, Set<String> fields) {
+        query.setLimit(Integer.MAX_VALUE);
+        return getOrderSummaries(query, fields)
+            .expand(page -> {
+                if (page.getNextCursor() == null) {
+                    return Mono.empty();
+                }
+                query.setCursor(page.getNextCursor());
+                return getOrderSummaries(query, fields);
+            })
+            .concatMapIterable(OrderSummaryPageResponse::getOrders);
+    }
+
+    /**
+     * Cancels an order if it's in PENDING status, with one conditional UPDATE. Only when
+     * nothing was updated is the status read, to tell a missing order from a conflicting one.
+     * Reserved stock is returned to the items in the same transaction.
+     *
+     * @param id The UUID of the order to cancel
+     * @return The updated order details
+     * @throws EntityNotFoundException if order is not found
+     * @throws OrderStatusConflictException if order is not in PENDING status
+     */
+    @Transactional
+    public Mono<OrderResponse> cancelOrder(UUID id) {
+        return orderRepository.transitionStatus(id, OrderStatus.PENDING, OrderStatus.CANCELLED, LocalDateTime.now())
+            .flatMap(updated -> {
+                if (updated > 0) {
+                    return orderRepository.releaseStock(id).then(getOrder(id));
+                }
+                return orderRepository.findStatusById(id)
+                    .switchIfEmpty(Mono.error(() -> new EntityNotFoundException("Order not found with id: " + id)))
+                    .flatMap(current -> Mono.error(new OrderStatusConflictException(id, current, OrderStatus.CANCELLED)));
+            });
+    }
+
+    /**
+     * Takes the ordered quantities from the stock of tracked items, in item ID order so that
+     * concurrent orders lock item rows in the same order. Unlike the blocking stack, which
+     * serves reservations from in-memory allotments, each order updates the item rows; both
+     * draw on the same {@code items.stock} column, so neither can sell a unit the other sold.
+     *
+     * @return IDs of the items whose stock was taken
+     * @throws InsufficientStockException if a tracked item has fewer units left than ordered
+     */
+    private Mono<Set<Long>> reserveStock(CreateOrderRequest request, Map<Long, Item> itemsById) {
+        Map<Long, Integer> quantities = new TreeMap<>();
+        request.getItems().stream()
+            .filter(line -> itemsById.get(line.getItemId()).isStockTracked())
+            .forEach(line -> quantities.merge(line.getItemId(), line.getQuantity(), Integer::sum));
+        return Flux.fromIterable(quantities.entrySet())
+            .concatMap(entry -> itemRepository.takeStock(entry.getKey(), entry.getValue())
+                .flatMap(taken -> taken
+                    ? Mono.just(entry.getKey())
+                    : Mono.<Long>error(new InsufficientStockException(entry.getKey(), entry.getValue()))))
+            .collect(Collectors.toSet());
+    }
+
+    /**
+     * Builds a new, unsaved PENDING order with one line per requested item, priced at the
+     * item's current price.
+     *
+     * @throws EntityNotFoundException if a requested item is missing from {@code itemsById}
+     */
+    private OrderResponse buildOrder(CreateOrderRequest request, Map<Long, Item> itemsById) {
+        List<OrderResponse.OrderItemDTO> lines = new ArrayList<>();
+        double totalAmount = 0;
+        for (var itemRequest : request.getItems()) {
+            Item item = itemsById.get(itemRequest.getItemId());
+            if (item == null) {
+                throw new EntityNotFoundException("Item not found with id: " + itemRequest.getItemId());
+            }
+
+            OrderResponse.OrderItemDTO line = new OrderResponse.OrderItemDTO();
+            line.setItemId(item.getId());
+            line.setItemName(item.getName());
+            line.setItemPrice(item.getPrice());
+            line.setQuantity(itemRequest.getQuantity());
+            line.setSubtotal(item.getPrice() * itemRequest.getQuantity());
+            lines.add(line);
+            totalAmount += line.getSubtotal();
+        }
+
+        // Timestamp columns keep microseconds; answer with the value that is stored
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        OrderResponse order = new OrderResponse();
+        order.setId(UUID.randomUUID());
+        order.setStatus(OrderStatus.PENDING);
+        order.setCreatedAt(now);
+        order.setUpdatedAt(now);
+        order.setItems(lines);
+        order.setTotalAmount(totalAmount);
+        return order;
+    }
+
+    /**
+     * @return The keyset position of the query's cursor, or null on the first page
+     * @throws IllegalArgumentException if the cursor is malformed or belongs to another ordering
+     */
+    private OrderCursor decodeCursor(OrderListQuery query, OrderSort sort) {
+        String cursor = query.getCursor();
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        OrderCursor position = OrderCursor.decode(cursor);
+        if (position.sort() != sort) {
+            throw new IllegalArgumentException("Cursor belongs to sort " + position.sort() + ", not " + sort);
+        }
+        return position;
+    }
+
+    /**
+     * Clamps a requested page size to [1, maxPageSize], falling back to the default size.
+     */
+    private int resolvePageSize(Integer limit) {
+        if (limit == null || limit < 1) {
+            return Math.min(defaultPageSize, maxPageSize);
+        }
+        return Math.min(limit, maxPageSize);
+    }
+}
@@ -0,0 +1,172 @@
+package com.order.processing.reactive;
+
+import com.order.processing.system.dto.CreateOrderRequest;
+import com.order.processing.system.dto.ItemRequest;
+import com.order.processing.system.dto.OrderItemRequest;
+import com.order.processing.system.dto.OrderPageResponse;
+import com.order.processing.system.dto.OrderResponse;
+import com.order.processing.system.model.Item;
+import com.order.processing.system.model.OrderStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = ReactiveApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient
+@ActiveProfiles({"test", "reactive"})
+@TestPropertySource(properties = "spring.r2dbc.url=r2dbc:h2:mem:///reactiveapi?options=DB_CLOSE_DELAY=-1")
+class ReactiveOrderApiTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    private Long customerId;
+
+    @BeforeEach
+    void setUp() {
+        customerId = databaseClient.sql("SELECT id FROM customers WHERE email = 'test@example.com'")
+            .map(row -> row.get("id", Long.class))
+            .one()
+            .block();
+    }
+
+    @Test
+    void createOrder_ThenGetRevalidatesWithItsWeakETag() {
+        // Arrange
+        Item item = createItem(12.5, null);
+
+        // Act
+        OrderResponse created = createOrder(item, 2).expectStatus().isOk()
+            .expectBody(OrderResponse.class).returnResult().getResponseBody();
+        String eTag = webTestClient.get().uri("/api/orders/{id}", created.getId())
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(OrderResponse.class).value(order -> assertEquals(created, order))
+            .returnResult().getResponseHeaders().getETag();
+
+        // Assert
+        assertEquals(OrderStatus.PENDING, created.getStatus());
+        assertEquals(25.0, created.getTotalAmount());
+        assertTrue(eTag.startsWith("W/\""), "Expected a weak entity tag but was " + eTag);
+        webTestClient.get().uri("/api/orders/{id}", created.getId())
+            .header(HttpHeaders.IF_NONE_MATCH, eTag)
+            .exchange()
+            .expectStatus().isNotModified()
+            .expectBody().isEmpty();
+        webTestClient.get().uri("/api/orders/{id}", UUID.randomUUID())
+            .exchange()
+            .expectStatus().isNotFound();
+    }
+
+    @Test
+    void getAllOrders_FiltersByStoredTotal() {
+        // Arrange: a total no other test produces
+        Item item = createItem(4321.25, null);
+        UUID orderId = createOrder(item, 1).expectStatus().isOk()
+            .expectBody(OrderResponse.class).returnResult().getResponseBody().getId();
+
+        // Act
+        OrderPageResponse page = webTestClient.get()
+            .uri("/api/orders?minTotal=4321.25&maxTotal=4321.25&sort=TOTAL_AMOUNT")
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(OrderPageResponse.class).returnResult().getResponseBody();
+
+        // Assert
+        assertEquals(List.of(orderId), page.getOrders().stream().map(OrderResponse::getId).toList());
+        assertEquals(1, page.getOrders().get(0).getItems().size());
+    }
+
+    @Test
+    void getAllOrders_WithFieldsButNoSummaryViewOrAnUnknownView_IsRejected() {
+        // Act & Assert
+        webTestClient.get().uri("/api/orders?fields=id")
+            .exchange()
+            .expectStatus().isBadRequest();
+        webTestClient.get().uri("/api/orders?view=summry")
+            .exchange()
+            .expectStatus().isBadRequest();
+        webTestClient.get().uri("/api/orders?view=summary&fields=id")
+            .exchange()
+            .expectStatus().isOk();
+    }
+
+    @Test
+    void cancelOrder_CancelsOnceThenConflicts() {
+        // Arrange
+        UUID orderId = createOrder(createItem(3.0, null), 1).expectStatus().isOk()
+            .expectBody(OrderResponse.class).returnResult().getResponseBody().getId();
+
+        // Act & Assert
+        webTestClient.patch().uri("/api/orders/{id}/cancel", orderId)
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(OrderResponse.class).value(order -> assertEquals(OrderStatus.CANCELLED, order.getStatus()));
+        webTestClient.patch().uri("/api/orders/{id}/cancel", orderId)
+            .exchange()
+            .expectStatus().isEqualTo(HttpStatus.CONFLICT);
+    }
+
+    @Test
+    void createOrder_WithInsufficientStock_ConflictsUntilACancellationReturnsIt() {
+        // Arrange
+        Item item = createItem(9.0, 1);
+
+        // Act & Assert
+        createOrder(item, 2).expectStatus().isEqualTo(HttpStatus.CONFLICT);
+        UUID orderId = createOrder(item, 1).expectStatus().isOk()
+            .expectBody(OrderResponse.class).returnResult().getResponseBody().getId();
+        createOrder(item, 1).expectStatus().isEqualTo(HttpStatus.CONFLICT);
+        webTestClient.patch().uri("/api/orders/{id}/cancel", orderId)
+            .exchange()
+            .expectStatus().isOk();
+        createOrder(item, 1).expectStatus().isOk();
+        assertEquals(0, databaseClient.sql("SELECT stock FROM items WHERE id = :id")
+            .bind("id", item.getId())
+            .map(row -> row.get("stock", Integer.class))
+            .one()
+            .block());
+    }
+
+    private Item createItem(double price, Integer stock) {
+        ItemRequest request = new ItemRequest();
+        request.setName("Reactive Item " + UUID.randomUUID());
+        request.setPrice(price);
+        request.setStock(stock);
+        Item item = webTestClient.post().uri("/api/items")
+            .bodyValue(request)
+            .exchange()
+            .expectStatus().isCreated()
+            .expectBody(Item.class).returnResult().getResponseBody();
+        assertEquals(stock != null, item.isStockTracked());
+        return item;
+    }
+
+    private WebTestClient.ResponseSpec createOrder(Item item, int quantity) {
+        OrderItemRequest line = new OrderItemRequest();
+        line.setItemId(item.getId());
+        line.setQuantity(quantity);
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setCustomerId(customerId);
+        request.setItems(List.of(line));
+        return webTestClient.post().uri("/api/orders")
+            .bodyValue(request)
+            .exchange();
+    }
+}
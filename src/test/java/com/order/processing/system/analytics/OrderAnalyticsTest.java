@@ -0,0 +1,141 @@
+package com.order.processing.system.analytics;
+
+import com.order.processing.system.dto.CreateOrderRequest;
+import com.order.processing.system.dto.OrderItemRequest;
+import com.order.processing.system.model.Customer;
+import com.order.processing.system.model.Item;
+import com.order.processing.system.model.OrderStatus;
+import com.order.processing.system.repository.CustomerRepository;
+import com.order.processing.system.repository.ItemRepository;
+import com.order.processing.system.repository.OrderRepository;
+import com.order.processing.system.repository.OrderStatRepository;
+import com.order.processing.system.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    // Own database: the test empties order_stats
+    "spring.datasource.url=jdbc:h2:mem:orderanalytics;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.defer-datasource-initialization=true",
+    "spring.sql.init.mode=always",
+    "order-processing.analytics.flush-interval-ms=3600000"
+})
+class OrderAnalyticsTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderStatRepository orderStatRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Customer customer;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        customer = customerRepository.findByEmail("test@example.com").orElseThrow();
+        item = new Item();
+        item.setName("Analytics Item");
+        item.setPrice(2.0);
+        item = itemRepository.save(item);
+    }
+
+    @Test
+    void initialize_WithOrdersCommittingWhileSeeding_CountsEachOrderOnce() throws Exception {
+        // Arrange: a fresh instance over an empty table, as on the first start after an upgrade
+        transactionTemplate.executeWithoutResult(status -> orderStatRepository.deleteAllInBatch());
+        OrderAnalytics analytics = new OrderAnalytics(
+            orderStatRepository, orderRepository, transactionTemplate, 30, 100, Duration.ofSeconds(30));
+        createAndReport(analytics, () -> { });
+        CountDownLatch reported = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<?> inFlight = executor.submit(() -> createAndReport(analytics, () -> {
+            reported.countDown();
+            await(commit);
+        }));
+        assertTrue(reported.await(10, TimeUnit.SECONDS));
+
+        // Act: seed while the second order is reported but not yet committed
+        Thread seeding = new Thread(analytics::initialize);
+        seeding.start();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (seeding.getState() != Thread.State.WAITING && seeding.isAlive() && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        commit.countDown();
+        inFlight.get(10, TimeUnit.SECONDS);
+        seeding.join(TimeUnit.SECONDS.toMillis(10));
+        executor.shutdown();
+        createAndReport(analytics, () -> { });
+        long unflushed = analytics.getStats(1).getOrdersByStatus().get(OrderStatus.PENDING);
+        analytics.flush();
+
+        // Assert
+        long expected = orderRepository.countByStatus(OrderStatus.PENDING);
+        assertEquals(expected, unflushed);
+        assertEquals(expected, analytics.getStats(1).getOrdersByStatus().get(OrderStatus.PENDING));
+    }
+
+    /**
+     * Creates an order and reports it to {@code analytics}, as {@code OrderService} does, running
+     * {@code beforeCommit} once the order is reported.
+     */
+    private void createAndReport(OrderAnalytics analytics, Runnable beforeCommit) {
+        transactionTemplate.executeWithoutResult(status -> {
+            UUID orderId = orderService.createOrder(orderFor(item)).getId();
+            analytics.orderCreated(orderRepository.findWithDetailsById(orderId).orElseThrow());
+            beforeCommit.run();
+        });
+    }
+
+    private CreateOrderRequest orderFor(Item orderedItem) {
+        OrderItemRequest line = new OrderItemRequest();
+        line.setItemId(orderedItem.getId());
+        line.setQuantity(1);
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setCustomerId(customer.getId());
+        request.setItems(List.of(line));
+        return request;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
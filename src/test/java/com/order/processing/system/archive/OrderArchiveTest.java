@@ -0,0 +1,105 @@
+package com.order.processing.system.archive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.order.processing.system.dto.OrderResponse;
+import com.order.processing.system.model.OrderStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderArchiveTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void find_ReturnsEveryArchivedOrderAcrossBlocksSegmentsAndRestarts() throws Exception {
+        // Arrange: two segments of several blocks each
+        OrderArchive archive = new OrderArchive(objectMapper, directory, 8, Duration.ZERO);
+        archive.open();
+        List<ArchivedOrder> first = orders(50);
+        List<ArchivedOrder> second = orders(30);
+        archive.append(first);
+        archive.append(second);
+        archive.close();
+
+        // Act
+        OrderArchive reopened = new OrderArchive(objectMapper, directory, 8, Duration.ZERO);
+        reopened.open();
+
+        // Assert
+        assertEquals(2, reopened.segmentCount());
+        assertEquals(80, reopened.archivedOrders());
+        for (ArchivedOrder order : List.of(first.get(0), first.get(49), second.get(17))) {
+            ArchivedOrder found = reopened.find(order.order().getId()).orElseThrow();
+            assertEquals(order, found);
+            assertEquals(order.orderVersion().eTag(), found.orderVersion().eTag());
+        }
+        assertTrue(reopened.find(UUID.randomUUID()).isEmpty());
+        reopened.close();
+    }
+
+    @Test
+    void find_OpensSegmentsWrittenByAnotherInstanceAtMostOncePerRescanInterval() throws Exception {
+        // Arrange: two instances sharing one directory
+        AtomicLong nanos = new AtomicLong();
+        OrderArchive writer = new OrderArchive(objectMapper, directory, 8, Duration.ZERO);
+        OrderArchive reader = new OrderArchive(objectMapper, directory, 8, Duration.ofSeconds(1), nanos::get);
+        writer.open();
+        reader.open();
+        assertTrue(reader.find(UUID.randomUUID()).isEmpty());
+        ArchivedOrder order = orders(1).get(0);
+        writer.append(List.of(order));
+
+        // Act & Assert: the miss just before listed the directory, so the next rescan waits
+        assertTrue(reader.find(order.order().getId()).isEmpty());
+        nanos.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertEquals(order, reader.find(order.order().getId()).orElseThrow());
+        assertEquals(1, reader.segmentCount());
+        writer.close();
+        reader.close();
+    }
+
+    @Test
+    void open_DiscardsSegmentsLeftHalfWritten() throws Exception {
+        // Arrange
+        Files.write(directory.resolve("orders-0000000000001-00000000.seg.tmp"), new byte[]{1, 2, 3});
+        OrderArchive archive = new OrderArchive(objectMapper, directory, 8, Duration.ZERO);
+
+        // Act
+        archive.open();
+
+        // Assert
+        assertEquals(0, archive.segmentCount());
+        try (var files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    private static List<ArchivedOrder> orders(int count) {
+        return IntStream.range(0, count)
+            .mapToObj(i -> {
+                OrderResponse order = new OrderResponse();
+                order.setId(UUID.randomUUID());
+                order.setStatus(i % 2 == 0 ? OrderStatus.DELIVERED : OrderStatus.CANCELLED);
+                order.setCreatedAt(LocalDateTime.now().minusDays(100));
+                order.setUpdatedAt(LocalDateTime.now().minusDays(95));
+                order.setItems(List.of());
+                order.setTotalAmount(i * 1.5);
+                return new ArchivedOrder(order, i);
+            })
+            .toList();
+    }
+}
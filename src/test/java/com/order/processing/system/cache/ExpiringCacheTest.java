@@ -0,0 +1,56 @@
+package com.order.processing.system.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpiringCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void get_AfterTtl_ReturnsNull() {
+        // Arrange
+        ExpiringCache<String, String> cache = new ExpiringCache<>(10, Duration.ofNanos(100), now::get);
+        cache.put("a", "first");
+
+        // Act
+        now.set(99);
+        String beforeExpiry = cache.get("a");
+        now.set(100);
+        String atExpiry = cache.get("a");
+
+        // Assert
+        assertEquals("first", beforeExpiry);
+        assertNull(atExpiry);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void put_WhenFull_DropsEldestEntryAndPurgesExpiredOnes() {
+        // Arrange
+        ExpiringCache<String, String> cache = new ExpiringCache<>(2, Duration.ofNanos(100), now::get);
+        cache.put("a", "1");
+        now.set(10);
+        cache.put("b", "2");
+
+        // Act
+        cache.put("c", "3");
+
+        // Assert
+        assertNull(cache.get("a"));
+        assertEquals("2", cache.get("b"));
+        assertEquals("3", cache.get("c"));
+
+        // Act: both remaining entries have expired by the next write
+        now.set(200);
+        cache.put("d", "4");
+
+        // Assert
+        assertEquals(1, cache.size());
+        assertEquals("4", cache.get("d"));
+    }
+}
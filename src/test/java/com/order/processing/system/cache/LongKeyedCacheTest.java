@@ -0,0 +1,73 @@
+package com.order.processing.system.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongKeyedCacheTest {
+
+    @Test
+    void putAndGet_ReturnsStoredValues() {
+        // Arrange
+        LongKeyedCache<String> cache = new LongKeyedCache<>(4);
+
+        // Act
+        cache.put(1L, "one");
+        cache.put(0L, "zero");
+        cache.put(-7L, "minus seven");
+
+        // Assert
+        assertEquals("one", cache.get(1L));
+        assertEquals("zero", cache.get(0L));
+        assertEquals("minus seven", cache.get(-7L));
+        assertNull(cache.get(2L));
+        assertEquals(3, cache.hitCount());
+        assertEquals(1, cache.missCount());
+    }
+
+    @Test
+    void put_WhenFull_EvictsEntryNotUsedSinceLastSweep() {
+        // Arrange
+        LongKeyedCache<String> cache = new LongKeyedCache<>(3);
+        cache.put(1L, "one");
+        cache.put(2L, "two");
+        cache.put(3L, "three");
+        cache.get(1L);
+        cache.get(3L);
+
+        // Act
+        cache.put(4L, "four");
+
+        // Assert
+        assertEquals(3, cache.size());
+        assertEquals(1, cache.evictionCount());
+        assertNull(cache.get(2L));
+        assertEquals("one", cache.get(1L));
+        assertEquals("three", cache.get(3L));
+        assertEquals("four", cache.get(4L));
+    }
+
+    @Test
+    void remove_KeepsCollidingKeysReachable() {
+        // Arrange: more keys than slots guarantees shared probe runs
+        LongKeyedCache<Long> cache = new LongKeyedCache<>(64);
+        for (long key = 0; key < 64; key++) {
+            cache.put(key * 1024, key);
+        }
+
+        // Act
+        for (long key = 0; key < 64; key += 2) {
+            cache.remove(key * 1024);
+        }
+
+        // Assert
+        assertEquals(32, cache.size());
+        for (long key = 0; key < 64; key++) {
+            if (key % 2 == 0) {
+                assertNull(cache.get(key * 1024));
+            } else {
+                assertEquals(key, cache.get(key * 1024));
+            }
+        }
+    }
+}
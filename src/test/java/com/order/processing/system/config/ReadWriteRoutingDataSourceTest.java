@@ -0,0 +1,98 @@
+package com.order.processing.system.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReadWriteRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replica;
+
+    private final AtomicLong now = new AtomicLong();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private ReadWriteRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        // The proxy reads the default auto-commit and isolation from a primary connection on startup
+        when(primary.getConnection()).thenReturn(mock(Connection.class));
+        dataSource = new ReadWriteRoutingDataSource(primary, replica, Duration.ofNanos(1000), registry, now::get);
+        clearInvocations(primary);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void getConnection_RoutesReadOnlyTransactionsToReplica() throws SQLException {
+        // Arrange
+        when(replica.getConnection()).thenReturn(mock(Connection.class));
+
+        // Act
+        useConnection();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        useConnection();
+
+        // Assert
+        verify(primary).getConnection();
+        verify(replica).getConnection();
+    }
+
+    @Test
+    void getConnection_WhenReplicaFails_FallsBackToPrimaryUntilRetry() throws SQLException {
+        // Arrange
+        when(replica.getConnection()).thenThrow(new SQLTransientConnectionException("replica down"));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // Act
+        useConnection();
+        useConnection();
+
+        // Assert: the second read does not wait for the replica again
+        verify(replica, times(1)).getConnection();
+        verify(primary, times(2)).getConnection();
+        assertFalse(dataSource.isReplicaAvailable());
+        assertEquals(2.0, registry.get("db.replica.fallbacks").counter().count());
+
+        // Act: the replica is back once the retry delay has passed
+        now.set(1000);
+        reset(replica);
+        when(replica.getConnection()).thenReturn(mock(Connection.class));
+        useConnection();
+
+        // Assert
+        verify(replica).getConnection();
+        assertTrue(dataSource.isReplicaAvailable());
+    }
+
+    /**
+     * The proxy only fetches a physical connection once a statement needs one.
+     */
+    private void useConnection() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.createStatement();
+        }
+    }
+}
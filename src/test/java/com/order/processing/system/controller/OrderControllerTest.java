@@ -0,0 +1,145 @@
+package com.order.processing.system.controller;
+
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.order.processing.system.analytics.OrderAnalytics;
+import com.order.processing.system.dto.OrderResponse;
+import com.order.processing.system.dto.OrderSummary;
+import com.order.processing.system.dto.OrderSummaryPageResponse;
+import com.order.processing.system.model.OrderStatus;
+import com.order.processing.system.service.IdempotentOrderService;
+import com.order.processing.system.service.OrderService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(OrderController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class OrderControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private OrderService orderService;
+
+    @MockBean
+    private IdempotentOrderService idempotentOrderService;
+
+    @MockBean
+    private OrderAnalytics orderAnalytics;
+
+    @Test
+    void getOrder_ReturnsETagOfCurrentVersion() throws Exception {
+        // Arrange
+        UUID orderId = UUID.randomUUID();
+        OrderResponse response = new OrderResponse();
+        response.setId(orderId);
+        response.setStatus(OrderStatus.PENDING);
+        response.setItems(List.of());
+        when(orderService.getOrderETag(orderId)).thenReturn("W/\"2-abc\"");
+        when(orderService.getOrder(orderId)).thenReturn(response);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/orders/{id}", orderId))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "W/\"2-abc\""))
+            .andExpect(jsonPath("$.status").value("PENDING"));
+    }
+
+    @Test
+    void getOrder_WhenETagMatches_Returns304WithoutLoadingTheOrder() throws Exception {
+        // Arrange
+        UUID orderId = UUID.randomUUID();
+        when(orderService.getOrderETag(orderId)).thenReturn("W/\"2-abc\"");
+
+        // Act & Assert
+        mockMvc.perform(get("/api/orders/{id}", orderId).header(HttpHeaders.IF_NONE_MATCH, "W/\"2-abc\""))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, "W/\"2-abc\""))
+            .andExpect(content().string(""));
+        verify(orderService, never()).getOrder(any());
+    }
+
+    @Test
+    void getOrder_WithCborAccept_ReturnsCborEncodedOrder() throws Exception {
+        // Arrange
+        UUID orderId = UUID.randomUUID();
+        OrderResponse response = new OrderResponse();
+        response.setId(orderId);
+        response.setStatus(OrderStatus.PENDING);
+        response.setItems(List.of());
+        response.setTotalAmount(12.5);
+        when(orderService.getOrderETag(orderId)).thenReturn("W/\"2-abc\"");
+        when(orderService.getOrder(orderId)).thenReturn(response);
+
+        // Act
+        byte[] body = mockMvc.perform(get("/api/orders/{id}", orderId).accept(MediaType.APPLICATION_CBOR))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+            .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+            .andExpect(header().string(HttpHeaders.ETAG, startsWith("W/")))
+            .andReturn().getResponse().getContentAsByteArray();
+
+        // Assert
+        OrderResponse order = new CBORMapper().findAndRegisterModules().readValue(body, OrderResponse.class);
+        assertEquals(orderId, order.getId());
+        assertEquals(OrderStatus.PENDING, order.getStatus());
+        assertEquals(12.5, order.getTotalAmount());
+    }
+
+    @Test
+    void getAllOrders_WithSummaryView_ReturnsOnlyRequestedFields() throws Exception {
+        // Arrange
+        OrderSummary summary = new OrderSummary();
+        summary.setId(UUID.randomUUID());
+        summary.setStatus(OrderStatus.PENDING);
+        when(orderService.getOrderSummaries(any(), eq(Set.of("id", "status"))))
+            .thenReturn(new OrderSummaryPageResponse(List.of(summary), null));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/orders").param("view", "summary").param("fields", "id,status"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.orders[0].status").value("PENDING"))
+            .andExpect(jsonPath("$.orders[0].totalAmount").doesNotExist())
+            .andExpect(jsonPath("$.orders[0].customer").doesNotExist());
+        verify(orderService, never()).getAllOrders(any());
+    }
+
+    @Test
+    void getAllOrders_WithFieldsButNoSummaryView_IsRejected() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/orders").param("fields", "id,status"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/orders/stream").param("fields", "id"))
+            .andExpect(status().isBadRequest());
+        verify(orderService, never()).getAllOrders(any());
+    }
+
+    @Test
+    void getAllOrders_WithUnknownView_IsRejected() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/orders").param("view", "summry"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/orders/stream").param("view", "full"))
+            .andExpect(status().isBadRequest());
+        verify(orderService, never()).getAllOrders(any());
+    }
+}
@@ -0,0 +1,48 @@
+package com.order.processing.system.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderCursorTest {
+
+    @Test
+    void decode_RoundTripsTheSortKeyOfEachSort() {
+        // Arrange
+        LocalDateTime createdAt = LocalDateTime.of(2025, 11, 2, 10, 0, 0, 123_000_000);
+        UUID id = UUID.randomUUID();
+
+        // Act
+        OrderCursor byCreatedAt = OrderCursor.decode(
+            OrderCursor.after(OrderSort.CREATED_AT, createdAt, 12.5, id).encode());
+        OrderCursor byTotal = OrderCursor.decode(
+            OrderCursor.after(OrderSort.TOTAL_AMOUNT, createdAt, 12.5, id).encode());
+
+        // Assert
+        assertEquals(new OrderCursor(OrderSort.CREATED_AT, createdAt, null, id), byCreatedAt);
+        assertEquals(new OrderCursor(OrderSort.TOTAL_AMOUNT, null, 12.5, id), byTotal);
+    }
+
+    @Test
+    void decode_WithKeyOfAnotherSort_FailsAtDecodeTime() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        String createdAtWithTotal = token("CREATED_AT|12.5|" + id);
+        String totalWithCreatedAt = token("TOTAL_AMOUNT|2025-11-02T10:00|" + id);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> OrderCursor.decode(createdAtWithTotal));
+        assertThrows(IllegalArgumentException.class, () -> OrderCursor.decode(totalWithCreatedAt));
+        assertThrows(IllegalArgumentException.class,
+            () -> new OrderCursor(OrderSort.TOTAL_AMOUNT, LocalDateTime.now(), null, id));
+    }
+
+    private static String token(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
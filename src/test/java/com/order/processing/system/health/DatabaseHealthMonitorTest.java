@@ -0,0 +1,105 @@
+package com.order.processing.system.health;
+
+import com.order.processing.system.metrics.OrderMetrics;
+import com.order.processing.system.service.AsyncOrderService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DatabaseHealthMonitorTest {
+
+    private static final Duration INTERVAL = Duration.ofSeconds(10);
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private ObjectProvider<AsyncOrderService> asyncOrderService;
+
+    private final AtomicLong now = new AtomicLong();
+    private final OrderMetrics orderMetrics = new OrderMetrics(new SimpleMeterRegistry());
+    private DatabaseHealthMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        monitor = new DatabaseHealthMonitor(dataSource, orderMetrics, asyncOrderService,
+            INTERVAL, Duration.ofMillis(200), now::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        monitor.stop();
+    }
+
+    @Test
+    void getHealth_ServesLastRefreshUntilItGoesStale() throws Exception {
+        // Arrange
+        Connection connection = mock(Connection.class);
+        when(connection.isValid(anyInt())).thenReturn(true);
+        when(dataSource.getConnection()).thenReturn(connection);
+        orderMetrics.pendingBacklog(42);
+
+        // Act
+        monitor.refresh();
+        Health first = monitor.getHealth();
+        Health second = monitor.getHealth();
+
+        // Assert: probes read the snapshot, only the refresh took a connection
+        assertEquals(Status.UP, first.getStatus());
+        assertSame(first, second);
+        assertEquals(42L, ((Map<?, ?>) first.getDetails().get("backlog")).get("pendingOrders"));
+        verify(dataSource, times(1)).getConnection();
+
+        // Act: no refresh for more than three intervals
+        now.addAndGet(3 * INTERVAL.toNanos() + 1);
+
+        // Assert
+        assertEquals(Status.DOWN, monitor.getHealth().getStatus());
+    }
+
+    @Test
+    void refresh_WhenCheckHangs_ReportsDownWithoutStartingAnotherCheck() throws Exception {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        when(dataSource.getConnection()).thenAnswer(invocation -> {
+            release.await();
+            throw new SQLTransientConnectionException("gave up");
+        });
+
+        try {
+            // Act
+            monitor.refresh();
+            Health timedOut = monitor.getHealth();
+            monitor.refresh();
+            Health stillRunning = monitor.getHealth();
+
+            // Assert
+            assertEquals(Status.DOWN, timedOut.getStatus());
+            assertEquals(Status.DOWN, stillRunning.getStatus());
+            assertEquals("previous check still running", stillRunning.getDetails().get("database"));
+            verify(dataSource, times(1)).getConnection();
+        } finally {
+            release.countDown();
+        }
+    }
+}
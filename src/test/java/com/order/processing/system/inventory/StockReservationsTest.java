@@ -0,0 +1,164 @@
+package com.order.processing.system.inventory;
+
+import com.order.processing.system.exception.InsufficientStockException;
+import com.order.processing.system.model.Item;
+import com.order.processing.system.model.Order;
+import com.order.processing.system.model.OrderItem;
+import com.order.processing.system.repository.ItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockReservationsTest {
+
+    private static final long ITEM_ID = 7L;
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    /** The item's {@code stock} column. */
+    private final AtomicLong row = new AtomicLong();
+
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        item = new Item();
+        item.setId(ITEM_ID);
+        item.setStockTracked(true);
+        when(itemRepository.takeStock(eq(ITEM_ID), anyLong())).thenAnswer(invocation -> {
+            long quantity = invocation.getArgument(1);
+            long left = row.get();
+            while (left >= quantity) {
+                if (row.compareAndSet(left, left - quantity)) {
+                    return 1;
+                }
+                left = row.get();
+            }
+            return 0;
+        });
+        lenient().when(itemRepository.findStockById(ITEM_ID)).thenAnswer(invocation -> Optional.of((int) row.get()));
+    }
+
+    @Test
+    void reserve_HotItemFromManyThreads_NeverSellsMoreThanTheStock() throws Exception {
+        // Arrange: more demand than stock, served in allotments of 10
+        row.set(1000);
+        StockReservations reservations = new StockReservations(itemRepository, transactionManager, 10, 8);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Integer>> sold = new ArrayList<>();
+
+        // Act
+        try {
+            for (int t = 0; t < 8; t++) {
+                sold.add(executor.submit(() -> {
+                    int units = 0;
+                    for (int i = 0; i < 200; i++) {
+                        try {
+                            inTransaction(() -> reservations.reserve(orderOf(1)));
+                            units++;
+                        } catch (InsufficientStockException e) {
+                            // sold out
+                        }
+                    }
+                    return units;
+                }));
+            }
+            int total = 0;
+            for (Future<Integer> future : sold) {
+                total += future.get();
+            }
+
+            // Assert: every unit is sold, allotted or still in the row, exactly once
+            assertTrue(total <= 1000, "Sold " + total + " of 1000 units");
+            assertEquals(1000, total + row.get() + reservations.allotted(ITEM_ID));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void reserve_GivesUnitsBackOnRollbackAndOnCancellation() {
+        // Arrange
+        row.set(5);
+        StockReservations reservations = new StockReservations(itemRepository, transactionManager, 5, 2);
+
+        // Act & Assert: the claim commits on its own, so a rolled-back order leaves its units allotted
+        assertThrows(IllegalStateException.class, () -> inTransaction(() -> {
+            reservations.reserve(orderOf(3));
+            throw new IllegalStateException("insert failed");
+        }));
+        verify(transactionManager, times(1)).commit(any());
+        assertEquals(0, row.get());
+        assertEquals(5, reservations.allotted(ITEM_ID));
+
+        // Act & Assert: a cancellation returns the units only once it commits
+        Order first = orderOf(1);
+        inTransaction(() -> reservations.reserve(first));
+        assertTrue(first.getItems().get(0).isStockReserved());
+        assertEquals(4, reservations.allotted(ITEM_ID));
+        inTransaction(() -> {
+            reservations.releaseAfterCommit(first);
+            assertEquals(4, reservations.allotted(ITEM_ID));
+        });
+        assertEquals(5, reservations.allotted(ITEM_ID));
+        assertThrows(InsufficientStockException.class, () -> inTransaction(() -> reservations.reserve(orderOf(6))));
+        assertEquals(5, reservations.allotted(ITEM_ID));
+    }
+
+    private Order orderOf(int quantity) {
+        OrderItem line = new OrderItem();
+        line.setItem(item);
+        line.setStockReserved(item.isStockTracked());
+        line.setQuantity(quantity);
+        line.setUnitPrice(1.0);
+        Order order = new Order();
+        order.addItem(line);
+        return order;
+    }
+
+    /**
+     * Runs work with transaction synchronization active and completes it as a transaction
+     * manager would: committed if the work returns, rolled back if it throws.
+     */
+    private static void inTransaction(Runnable work) {
+        TransactionSynchronizationManager.initSynchronization();
+        int status = TransactionSynchronization.STATUS_ROLLED_BACK;
+        try {
+            work.run();
+            status = TransactionSynchronization.STATUS_COMMITTED;
+        } finally {
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            TransactionSynchronizationManager.clearSynchronization();
+            for (TransactionSynchronization synchronization : synchronizations) {
+                if (status == TransactionSynchronization.STATUS_COMMITTED) {
+                    synchronization.afterCommit();
+                }
+                synchronization.afterCompletion(status);
+            }
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.order.processing.system.scheduler;
+
+import com.order.processing.system.dto.CreateOrderRequest;
+import com.order.processing.system.dto.OrderItemRequest;
+import com.order.processing.system.model.Customer;
+import com.order.processing.system.model.Item;
+import com.order.processing.system.model.Order;
+import com.order.processing.system.model.OrderStatus;
+import com.order.processing.system.repository.CustomerRepository;
+import com.order.processing.system.repository.ItemRepository;
+import com.order.processing.system.repository.OrderRepository;
+import com.order.processing.system.repository.SchedulerInstanceRepository;
+import com.order.processing.system.repository.SchedulerLeaseRepository;
+import com.order.processing.system.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Several scheduler instances simulated in one JVM: each coordinator has its own instance ID
+ * and shares the lease tables, with a clock the test moves forward.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:partitionleases;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.defer-datasource-initialization=true",
+    "spring.sql.init.mode=always",
+    "order-processing.scheduler.promotion-chunk-size=5"
+})
+class PartitionLeaseCoordinatorTest {
+
+    private static final int PARTITIONS = 16;
+    private static final Duration LEASE_TTL = Duration.ofMinutes(15);
+
+    @Autowired
+    private SchedulerLeaseRepository leaseRepository;
+
+    @Autowired
+    private SchedulerInstanceRepository instanceRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    private final MutableClock clock = new MutableClock();
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            leaseRepository.deleteAllInBatch();
+            instanceRepository.deleteAllInBatch();
+        });
+    }
+
+    @Test
+    void rebalance_SplitsPartitionsAsInstancesJoinCrashAndLeave() {
+        // Arrange
+        PartitionLeaseCoordinator a = instance("a");
+        PartitionLeaseCoordinator b = instance("b");
+        PartitionLeaseCoordinator c = instance("c");
+
+        // Act & Assert: a alone holds everything
+        assertEquals(16, a.rebalance().size());
+
+        // b joins; a sheds half on its next tick and b picks it up on the one after
+        assertEquals(0, b.rebalance().size());
+        assertEquals(8, a.rebalance().size());
+        assertEquals(8, b.rebalance().size());
+
+        // c joins and the shares converge to 6 + 6 + 4
+        c.rebalance();
+        List<Integer> sharesOfThree = List.of(ids(a.rebalance()).size(), ids(b.rebalance()).size(), ids(c.rebalance()).size());
+        assertEquals(List.of(6, 6, 4), sharesOfThree);
+        assertDisjointAndComplete(ids(a.rebalance()), ids(b.rebalance()), ids(c.rebalance()));
+
+        // c crashes: once its heartbeat and leases expire, a and b take over its partitions
+        clock.advance(LEASE_TTL.dividedBy(2));
+        a.rebalance();
+        b.rebalance();
+        clock.advance(LEASE_TTL.dividedBy(2).plusSeconds(1));
+        Set<Integer> ofA = ids(a.rebalance());
+        Set<Integer> ofB = ids(b.rebalance());
+        assertEquals(8, ofA.size());
+        assertEquals(8, ofB.size());
+        assertDisjointAndComplete(ofA, ofB);
+
+        // b shuts down cleanly: a takes everything on its next tick without waiting for expiry
+        b.leave();
+        assertEquals(16, a.rebalance().size());
+    }
+
+    @Test
+    void updatePendingOrders_EachInstancePromotesOnlyItsOwnPartitions() {
+        // Arrange
+        List<UUID> created = IntStream.range(0, 40).mapToObj(i -> createOrder()).toList();
+        List<PartitionLeaseCoordinator> instances = List.of(instance("a"), instance("b"), instance("c"));
+        for (int round = 0; round < 3; round++) {
+            instances.forEach(PartitionLeaseCoordinator::rebalance);
+        }
+
+        // Act
+        List<Integer> promotedByInstance = new ArrayList<>();
+        List<Set<Integer>> bucketsByInstance = new ArrayList<>();
+        for (PartitionLeaseCoordinator instance : instances) {
+            int promoted = 0;
+            Set<Integer> buckets = new HashSet<>();
+            for (PartitionLeaseCoordinator.Partition partition : instance.rebalance()) {
+                promoted += orderService.updatePendingOrdersInBuckets(partition.fromBucket(), partition.toBucket());
+                IntStream.rangeClosed(partition.fromBucket(), partition.toBucket()).forEach(buckets::add);
+            }
+            promotedByInstance.add(promoted);
+            bucketsByInstance.add(buckets);
+        }
+
+        // Assert: every order was promoted, each by the instance owning its bucket
+        assertEquals(Order.PARTITION_BUCKETS, bucketsByInstance.stream().mapToInt(Set::size).sum());
+        List<Order> orders = orderRepository.findAllById(created);
+        assertTrue(orders.stream().allMatch(order -> order.getStatus() == OrderStatus.PROCESSING));
+        for (int i = 0; i < instances.size(); i++) {
+            Set<Integer> buckets = bucketsByInstance.get(i);
+            long owned = orders.stream().filter(order -> buckets.contains(order.getPartitionBucket())).count();
+            assertEquals(owned, (long) promotedByInstance.get(i));
+        }
+    }
+
+    private PartitionLeaseCoordinator instance(String id) {
+        return new PartitionLeaseCoordinator(leaseRepository, instanceRepository, transactionTemplate,
+            PARTITIONS, LEASE_TTL, clock, id);
+    }
+
+    private UUID createOrder() {
+        Customer customer = customerRepository.findByEmail("test@example.com").orElseThrow();
+        Item item = itemRepository.findAll().get(0);
+        OrderItemRequest line = new OrderItemRequest();
+        line.setItemId(item.getId());
+        line.setQuantity(1);
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setCustomerId(customer.getId());
+        request.setItems(List.of(line));
+        return orderService.createOrder(request).getId();
+    }
+
+    private static Set<Integer> ids(List<PartitionLeaseCoordinator.Partition> partitions) {
+        Set<Integer> ids = new HashSet<>();
+        partitions.forEach(partition -> ids.add(partition.id()));
+        return ids;
+    }
+
+    @SafeVarargs
+    private static void assertDisjointAndComplete(Set<Integer>... shares) {
+        Set<Integer> union = new HashSet<>();
+        int total = 0;
+        for (Set<Integer> share : shares) {
+            union.addAll(share);
+            total += share.size();
+        }
+        assertEquals(PARTITIONS, total);
+        assertEquals(PARTITIONS, union.size());
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2030-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.order.processing.system.search;
+
+import com.order.processing.system.model.Item;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemSearchIndexTest {
+
+    private ItemSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ItemSearchIndex(null, 100);
+        index.load(List.of(
+            item(1L, "Laptop Stand", 40.0, "Aluminium riser"),
+            item(2L, "Gaming Laptop", 1500.0, null),
+            item(3L, "Laptop", 900.0, "14 inch"),
+            item(4L, "Backpack", 60.0, "Fits a 15 inch laptop"),
+            item(5L, "Desk Lamp", 25.0, "LED")));
+        index.markReady();
+    }
+
+    @Test
+    void search_RanksExactThenPrefixThenSubstringThenDescriptionMatches() {
+        // Act
+        ItemSearchIndex.SearchResult result = index.search("LAPTOP", null, 0, 10);
+
+        // Assert
+        assertEquals(4, result.total());
+        assertEquals(List.of(3L, 1L, 2L, 4L), ids(result));
+        assertEquals(List.of(3L, 1L, 2L), ids(index.search("apto", null, 0, 10)).subList(0, 3));
+        assertEquals(0, index.search("laptops", null, 0, 10).total());
+    }
+
+    @Test
+    void search_FiltersByMaxPriceAndPages() {
+        // Act
+        ItemSearchIndex.SearchResult cheap = index.search("laptop", 100.0, 0, 10);
+        ItemSearchIndex.SearchResult secondPage = index.search("laptop", null, 2, 1);
+
+        // Assert
+        assertEquals(List.of(1L, 4L), ids(cheap));
+        assertEquals(2, cheap.total());
+        assertEquals(List.of(2L), ids(secondPage));
+        assertEquals(4, secondPage.total());
+    }
+
+    @Test
+    void writes_AppliedImmediatelyOutsideTransactions_AndShortQueriesScan() {
+        // Act
+        index.indexAfterCommit(List.of(item(6L, "Laptop Sleeve", 20.0, null)));
+        index.removeAfterCommit(List.of(3L, 5L));
+
+        // Assert
+        assertEquals(List.of(1L, 6L, 2L, 4L), ids(index.search("laptop", null, 0, 10)));
+        assertEquals(List.of(1L), ids(index.search("st", null, 0, 10)));
+        assertEquals(4, index.size());
+    }
+
+    private static List<Long> ids(ItemSearchIndex.SearchResult result) {
+        return result.items().stream().map(Item::getId).toList();
+    }
+
+    private static Item item(Long id, String name, double price, String description) {
+        Item item = new Item();
+        item.setId(id);
+        item.setName(name);
+        item.setPrice(price);
+        item.setDescription(description);
+        return item;
+    }
+}
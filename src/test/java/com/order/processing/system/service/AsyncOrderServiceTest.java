@@ -0,0 +1,99 @@
+package com.order.processing.system.service;
+
+import com.order.processing.system.dto.BatchOrderResponse;
+import com.order.processing.system.dto.CreateOrderRequest;
+import com.order.processing.system.dto.OrderAcceptanceResponse;
+import com.order.processing.system.exception.OrderBacklogFullException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncOrderServiceTest {
+
+    @Mock
+    private OrderService orderService;
+
+    private AsyncOrderService asyncOrderService;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        asyncOrderService.shutdown();
+    }
+
+    @Test
+    void accept_WhenQueueFull_RejectsWithBackpressure() {
+        // Arrange: no writers, so nothing drains the single slot
+        asyncOrderService = new AsyncOrderService(orderService, new SimpleMeterRegistry(), 1, 0, 10, 10, 10, Duration.ofMinutes(5));
+        UUID first = asyncOrderService.accept(new CreateOrderRequest());
+
+        // Act & Assert
+        assertThrows(OrderBacklogFullException.class, () -> asyncOrderService.accept(new CreateOrderRequest()));
+        assertEquals(OrderAcceptanceResponse.State.ACCEPTED, asyncOrderService.getStatus(first).orElseThrow().getState());
+    }
+
+    @Test
+    void accept_WithUnknownCustomer_RejectsBeforeQueueing() {
+        // Arrange
+        asyncOrderService = new AsyncOrderService(orderService, new SimpleMeterRegistry(),
+            10, 0, 10, 10, 10, Duration.ofMinutes(5));
+        CreateOrderRequest known = new CreateOrderRequest();
+        known.setCustomerId(1L);
+        CreateOrderRequest unknown = new CreateOrderRequest();
+        unknown.setCustomerId(99L);
+        doThrow(new EntityNotFoundException("Customer not found with id: 99")).when(orderService).validateCustomer(99L);
+
+        // Act & Assert: the unknown customer is rejected, the known one looked up only once
+        assertThrows(EntityNotFoundException.class, () -> asyncOrderService.accept(unknown));
+        assertEquals(0, asyncOrderService.getQueueSize());
+        asyncOrderService.accept(known);
+        asyncOrderService.accept(known);
+        assertEquals(2, asyncOrderService.getQueueSize());
+        verify(orderService, times(1)).validateCustomer(1L);
+        verify(orderService, times(2)).validateItems(known);
+    }
+
+    @Test
+    void accept_WriterPersistsQueuedOrdersInBatches() throws InterruptedException {
+        // Arrange
+        when(orderService.createOrders(anyList(), anyList())).thenAnswer(invocation -> {
+            List<UUID> ids = invocation.getArgument(1);
+            return new BatchOrderResponse(ids.size(), 0, ids.stream()
+                .map(id -> BatchOrderResponse.OrderResult.created(ids.indexOf(id), id))
+                .toList());
+        });
+        when(orderService.orderExists(any())).thenReturn(true);
+        asyncOrderService = new AsyncOrderService(orderService, new SimpleMeterRegistry(), 100, 1, 10, 10, 10, Duration.ofMinutes(5));
+        asyncOrderService.startWriters();
+
+        // Act
+        UUID id = asyncOrderService.accept(new CreateOrderRequest());
+
+        // Assert
+        verify(orderService, timeout(5000)).createOrders(anyList(), eq(List.of(id)));
+        assertEquals(OrderAcceptanceResponse.State.PERSISTED, awaitSettled(id));
+    }
+
+    private OrderAcceptanceResponse.State awaitSettled(UUID id) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        OrderAcceptanceResponse.State state = asyncOrderService.getStatus(id).orElseThrow().getState();
+        while (state == OrderAcceptanceResponse.State.ACCEPTED && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            state = asyncOrderService.getStatus(id).orElseThrow().getState();
+        }
+        return state;
+    }
+}
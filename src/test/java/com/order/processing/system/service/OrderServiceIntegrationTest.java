@@ -0,0 +1,690 @@
+package com.order.processing.system.service;
+
+import com.order.processing.system.analytics.OrderAnalytics;
+import com.order.processing.system.cache.ItemCatalogCache;
+import com.order.processing.system.dto.BatchOrderResponse;
+import com.order.processing.system.dto.CreateOrderRequest;
+import com.order.processing.system.dto.CustomerStatsResponse;
+import com.order.processing.system.dto.OrderItemRequest;
+import com.order.processing.system.dto.OrderListQuery;
+import com.order.processing.system.dto.OrderPageResponse;
+import com.order.processing.system.dto.OrderResponse;
+import com.order.processing.system.dto.OrderSort;
+import com.order.processing.system.dto.OrderStatsResponse;
+import com.order.processing.system.dto.OrderSummary;
+import com.order.processing.system.dto.OrderSummaryPageResponse;
+import com.order.processing.system.dto.StockResponse;
+import com.order.processing.system.exception.IdempotencyKeyReuseException;
+import com.order.processing.system.exception.InsufficientStockException;
+import com.order.processing.system.exception.OrderStatusConflictException;
+import com.order.processing.system.model.Customer;
+import com.order.processing.system.model.Item;
+import com.order.processing.system.model.OrderStatus;
+import com.order.processing.system.repository.CustomerRepository;
+import com.order.processing.system.repository.IdempotencyKeyRepository;
+import com.order.processing.system.repository.ItemRepository;
+import com.order.processing.system.repository.OrderRepository;
+import com.order.processing.system.repository.OrderStatRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static com.order.processing.system.dto.BatchOrderResponse.ResultStatus.CREATED;
+import static com.order.processing.system.dto.BatchOrderResponse.ResultStatus.FAILED;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:orderservice;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.defer-datasource-initialization=true",
+    "spring.sql.init.mode=always",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "order-processing.scheduler.promotion-chunk-size=2",
+    // Flush aggregates only when a test asks, so background writes don't skew statement counts
+    "order-processing.analytics.flush-interval-ms=3600000",
+    "order-processing.archive.directory=target/test-order-archive"
+})
+class OrderServiceIntegrationTest {
+
+    private static final int LINES_PER_ORDER = 40;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemCatalogCache itemCatalogCache;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private IdempotentOrderService idempotentOrderService;
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private OrderAnalytics orderAnalytics;
+
+    @Autowired
+    private OrderStatRepository orderStatRepository;
+
+    @Autowired
+    private OrderArchiveService orderArchiveService;
+
+    @Autowired
+    private ItemService itemService;
+
+    private Statistics statistics;
+    private Customer customer;
+    private List<Item> items;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        customer = customerRepository.findByEmail("test@example.com").orElseThrow();
+        items = itemRepository.saveAll(IntStream.range(0, LINES_PER_ORDER)
+            .mapToObj(i -> {
+                Item item = new Item();
+                item.setName("Bulk Item " + i);
+                item.setPrice(1.0 + i);
+                return item;
+            })
+            .toList());
+    }
+
+    @Test
+    void createOrder_UsesFixedNumberOfStatementsRegardlessOfLineCount() {
+        // Warm up the order_items id pool so the measured order doesn't pay for the first allocation
+        orderService.createOrder(orderFor(items.subList(0, 1)));
+        statistics.clear();
+
+        // Act
+        OrderResponse response = orderService.createOrder(orderFor(items));
+
+        // Assert: customer lookup, one IN query for items, at most one id block fetch,
+        // one order insert and one batched insert for all lines
+        assertEquals(LINES_PER_ORDER, response.getItems().size());
+        assertEquals(LINES_PER_ORDER + 1, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() <= 5,
+            "Expected at most 5 statements per order but was " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getAllOrders_WalksEveryOrderOnceAcrossKeysetPages() {
+        // Arrange
+        Set<UUID> created = new HashSet<>();
+        for (int i = 0; i < 5; i++) {
+            created.add(orderService.createOrder(orderFor(items.subList(i, i + 1))).getId());
+        }
+
+        // Act
+        List<UUID> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            OrderListQuery query = new OrderListQuery();
+            query.setCursor(cursor);
+            query.setLimit(2);
+            OrderPageResponse page = orderService.getAllOrders(query);
+            assertTrue(page.getOrders().size() <= 2);
+            page.getOrders().forEach(order -> seen.add(order.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        // Assert
+        assertEquals(new HashSet<>(seen).size(), seen.size(), "No order may appear on two pages");
+        assertTrue(seen.containsAll(created));
+    }
+
+    @Test
+    void getOrder_LoadsCustomerAndLinesInOneStatement() {
+        // Arrange
+        UUID orderId = orderService.createOrder(orderFor(items.subList(0, 10))).getId();
+        statistics.clear();
+
+        // Act
+        OrderResponse response = orderService.getOrder(orderId);
+
+        // Assert
+        assertEquals(10, response.getItems().size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getAllOrders_LoadsPageWithoutPerOrderQueries() {
+        // Arrange
+        for (int i = 0; i < 20; i++) {
+            orderService.createOrder(orderFor(items.subList(i, i + 3)));
+        }
+        statistics.clear();
+
+        // Act
+        OrderListQuery query = new OrderListQuery();
+        query.setLimit(20);
+        OrderPageResponse page = orderService.getAllOrders(query);
+
+        // Assert: one query for orders and customers, one for all line items and their items
+        assertEquals(20, page.getOrders().size());
+        page.getOrders().forEach(order -> assertFalse(order.getItems().isEmpty()));
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getOrderSummaries_ReadsOnlyOrderRowsAndPagesLikeFullListing() {
+        // Arrange
+        Set<UUID> created = new HashSet<>();
+        for (int i = 0; i < 5; i++) {
+            created.add(orderService.createOrder(orderFor(items.subList(i, i + 3))).getId());
+        }
+        OrderListQuery query = new OrderListQuery();
+        query.setSort(OrderSort.TOTAL_AMOUNT);
+        query.setLimit(2);
+        statistics.clear();
+
+        // Act
+        OrderSummaryPageResponse first = orderService.getOrderSummaries(query, Set.of("id", "totalAmount"));
+
+        // Assert: one statement selecting only the requested columns, no entities loaded,
+        // only the requested fields filled in
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertTrue(Arrays.stream(statistics.getQueries())
+                .anyMatch(hql -> hql.startsWith("SELECT o.id, o.totalAmount FROM")),
+            "Expected a projection of id and totalAmount but ran " + Arrays.toString(statistics.getQueries()));
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(2, first.getOrders().size());
+        OrderSummary summary = first.getOrders().get(0);
+        assertNotNull(summary.getId());
+        assertNotNull(summary.getTotalAmount());
+        assertNull(summary.getStatus());
+        assertNull(summary.getCustomerId());
+
+        // Act: walk the remaining pages with the full summary
+        List<UUID> seen = new ArrayList<>(first.getOrders().stream().map(OrderSummary::getId).toList());
+        String cursor = first.getNextCursor();
+        while (cursor != null) {
+            query.setCursor(cursor);
+            OrderSummaryPageResponse page = orderService.getOrderSummaries(query, null);
+            page.getOrders().forEach(order -> {
+                assertEquals(customer.getId(), order.getCustomerId());
+                seen.add(order.getId());
+            });
+            cursor = page.getNextCursor();
+        }
+
+        // Assert
+        assertEquals(new HashSet<>(seen).size(), seen.size(), "No order may appear on two pages");
+        assertTrue(seen.containsAll(created));
+        assertThrows(IllegalArgumentException.class, () -> orderService.getOrderSummaries(query, Set.of("items")));
+    }
+
+    @Test
+    void updatePendingOrders_PromotesWholeBacklogInChunks() {
+        // Arrange
+        List<UUID> pending = IntStream.range(0, 5)
+            .mapToObj(i -> orderService.createOrder(orderFor(items.subList(i, i + 1))).getId())
+            .toList();
+
+        // Act
+        int promoted = orderService.updatePendingOrders();
+
+        // Assert
+        assertTrue(promoted >= pending.size());
+        pending.forEach(id -> assertEquals(OrderStatus.PROCESSING, orderService.getOrder(id).getStatus()));
+        assertEquals(0, orderService.updatePendingOrders());
+    }
+
+    @Test
+    void createOrders_ReportsPerOrderOutcomeWithoutFailingTheBatch() {
+        // Arrange
+        CreateOrderRequest unknownCustomer = orderFor(items.subList(0, 1));
+        unknownCustomer.setCustomerId(Long.MAX_VALUE);
+        CreateOrderRequest noItems = orderFor(List.of());
+        CreateOrderRequest unknownItem = orderFor(items.subList(0, 1));
+        unknownItem.getItems().get(0).setItemId(Long.MAX_VALUE);
+        List<CreateOrderRequest> batch = List.of(
+            orderFor(items.subList(0, 2)), unknownCustomer, noItems, unknownItem, orderFor(items.subList(2, 5)));
+
+        // Act
+        BatchOrderResponse response = orderService.createOrders(batch);
+
+        // Assert
+        assertEquals(2, response.getCreated());
+        assertEquals(3, response.getFailed());
+        List<BatchOrderResponse.ResultStatus> statuses = response.getResults().stream()
+            .map(BatchOrderResponse.OrderResult::getStatus)
+            .toList();
+        assertEquals(List.of(CREATED, FAILED, FAILED, FAILED, CREATED), statuses);
+        assertEquals(3, orderService.getOrder(response.getResults().get(4).getOrderId()).getItems().size());
+    }
+
+    @Test
+    void createOrders_InsertsLargeBatchWithBatchedStatements() {
+        // Arrange
+        List<CreateOrderRequest> batch = IntStream.range(0, 100)
+            .mapToObj(i -> orderFor(items.subList(i % 30, i % 30 + 3)))
+            .toList();
+        statistics.clear();
+
+        // Act
+        BatchOrderResponse response = orderService.createOrders(batch);
+
+        // Assert: 100 orders and 300 lines, but statements grow with JDBC batches, not rows
+        assertEquals(100, response.getCreated());
+        assertEquals(400, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() < 20,
+            "Expected fewer than 20 statements but was " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getOrder_KeepsPurchaseTimePricesAfterItemPriceChanges() {
+        // Arrange
+        Item item = items.get(0);
+        CreateOrderRequest request = orderFor(List.of(item));
+        request.getItems().get(0).setQuantity(3);
+        UUID orderId = orderService.createOrder(request).getId();
+        double originalPrice = item.getPrice();
+
+        item.setPrice(originalPrice * 10);
+        itemRepository.save(item);
+
+        // Act
+        OrderResponse response = orderService.getOrder(orderId);
+
+        // Assert
+        assertEquals(originalPrice, response.getItems().get(0).getItemPrice());
+        assertEquals(originalPrice * 3, response.getTotalAmount(), 1e-9);
+    }
+
+    @Test
+    void getOrder_KeepsPurchaseTimeItemNamesAfterItemRenames() {
+        // Arrange
+        Item item = items.get(0);
+        UUID orderId = orderService.createOrder(orderFor(List.of(item))).getId();
+        String originalName = item.getName();
+
+        item.setName(originalName + " (renamed)");
+        itemRepository.save(item);
+        itemCatalogCache.evictAfterCommit(List.of(item.getId()));
+
+        // Act
+        OrderResponse response = orderService.getOrder(orderId);
+
+        // Assert
+        assertEquals(originalName, response.getItems().get(0).getItemName());
+    }
+
+    @Test
+    void getAllOrders_SortsAndFiltersByStoredTotal() {
+        // Arrange: totals of 1 + 2 + ... + n for orders over the first n items
+        for (int n = 1; n <= 6; n++) {
+            orderService.createOrder(orderFor(items.subList(0, n)));
+        }
+        OrderListQuery query = new OrderListQuery();
+        query.setSort(OrderSort.TOTAL_AMOUNT);
+        query.setMinTotal(3.0);
+        query.setMaxTotal(15.0);
+        query.setLimit(2);
+
+        // Act
+        List<Double> totals = new ArrayList<>();
+        do {
+            OrderPageResponse page = orderService.getAllOrders(query);
+            page.getOrders().forEach(order -> totals.add(order.getTotalAmount()));
+            query.setCursor(page.getNextCursor());
+        } while (query.getCursor() != null);
+
+        // Assert
+        assertFalse(totals.isEmpty());
+        assertTrue(totals.stream().allMatch(total -> total >= 3.0 && total <= 15.0));
+        assertEquals(totals.stream().sorted().toList(), totals);
+        assertTrue(totals.containsAll(List.of(3.0, 6.0, 10.0, 15.0)));
+    }
+
+    @Test
+    void getAllOrders_FiltersByStatusAcrossKeysetPages() {
+        // Arrange
+        List<UUID> ids = IntStream.range(0, 4)
+            .mapToObj(i -> orderService.createOrder(orderFor(items.subList(i, i + 1))).getId())
+            .toList();
+        orderService.cancelOrder(ids.get(1));
+        orderService.cancelOrder(ids.get(3));
+        OrderListQuery query = new OrderListQuery();
+        query.setStatus(OrderStatus.CANCELLED);
+        query.setLimit(1);
+
+        // Act
+        List<OrderResponse> seen = new ArrayList<>();
+        do {
+            OrderPageResponse page = orderService.getAllOrders(query);
+            seen.addAll(page.getOrders());
+            query.setCursor(page.getNextCursor());
+        } while (query.getCursor() != null);
+
+        // Assert
+        assertTrue(seen.stream().allMatch(order -> order.getStatus() == OrderStatus.CANCELLED));
+        List<UUID> seenIds = seen.stream().map(OrderResponse::getId).toList();
+        assertTrue(seenIds.containsAll(List.of(ids.get(1), ids.get(3))));
+        assertFalse(seenIds.contains(ids.get(0)));
+    }
+
+    @Test
+    void cancelOrder_RacingPromotionNeverLetsBothTransitionsWin() throws Exception {
+        // Arrange
+        List<UUID> ids = IntStream.range(0, 20)
+            .mapToObj(i -> orderService.createOrder(orderFor(items.subList(i, i + 1))).getId())
+            .toList();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        // Act: promote in the background while cancelling every order from this thread
+        Future<Integer> promotion = executor.submit(orderService::updatePendingOrders);
+        Set<UUID> cancelled = new HashSet<>();
+        for (UUID id : ids) {
+            try {
+                orderService.cancelOrder(id);
+                cancelled.add(id);
+            } catch (OrderStatusConflictException e) {
+                assertEquals(OrderStatus.PROCESSING, e.getCurrentStatus());
+            }
+        }
+        promotion.get(30, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        // Assert: each order ended in exactly the status of the transition that won
+        for (UUID id : ids) {
+            OrderStatus expected = cancelled.contains(id) ? OrderStatus.CANCELLED : OrderStatus.PROCESSING;
+            assertEquals(expected, orderService.getOrder(id).getStatus());
+        }
+        assertThrows(OrderStatusConflictException.class, () -> orderService.cancelOrder(ids.get(0)));
+    }
+
+    @Test
+    void createAndCancel_RecordCountersAndTimers() {
+        // Arrange
+        double created = meterRegistry.counter("orders.created").count();
+        double cancelled = meterRegistry.counter("orders.cancelled").count();
+
+        // Act
+        UUID orderId = orderService.createOrder(orderFor(items.subList(0, 2))).getId();
+        orderService.cancelOrder(orderId);
+
+        // Assert
+        assertEquals(created + 1, meterRegistry.counter("orders.created").count());
+        assertEquals(cancelled + 1, meterRegistry.counter("orders.cancelled").count());
+        assertTrue(meterRegistry.get("service.invocations")
+            .tag("class", OrderService.class.getName()).tag("method", "cancelOrder")
+            .timer().count() >= 1);
+        assertTrue(meterRegistry.get("spring.data.repository.invocations")
+            .tag("method", "transitionStatus").timer().count() >= 1);
+        assertNotNull(meterRegistry.find("hibernate.statements").functionCounter());
+    }
+
+    @Test
+    void createAndCancel_RolledBack_AreNotCounted() {
+        // Arrange
+        UUID orderId = orderService.createOrder(orderFor(items.subList(0, 1))).getId();
+        double created = meterRegistry.counter("orders.created").count();
+        double cancelled = meterRegistry.counter("orders.cancelled").count();
+
+        // Act
+        transactionTemplate.executeWithoutResult(status -> {
+            orderService.createOrder(orderFor(items.subList(0, 2)));
+            orderService.cancelOrder(orderId);
+            status.setRollbackOnly();
+        });
+
+        // Assert
+        assertEquals(created, meterRegistry.counter("orders.created").count());
+        assertEquals(cancelled, meterRegistry.counter("orders.cancelled").count());
+        assertEquals(OrderStatus.PENDING, orderService.getOrder(orderId).getStatus());
+    }
+
+    @Test
+    void createOrder_NeverSellsMoreThanTheStockAndCancelGivesItBack() {
+        // Arrange
+        Item item = new Item();
+        item.setName("Limited Item");
+        item.setPrice(5.0);
+        Item tracked = itemService.createItem(item, 2);
+        CreateOrderRequest request = orderFor(List.of(tracked));
+        request.getItems().get(0).setQuantity(2);
+
+        // Act
+        UUID first = orderService.createOrder(request).getId();
+        InsufficientStockException soldOut = assertThrows(InsufficientStockException.class,
+            () -> orderService.createOrder(request));
+        orderService.cancelOrder(first);
+        orderService.createOrder(request);
+
+        // Assert
+        StockResponse stock = itemService.getStock(tracked.getId());
+        assertEquals(tracked.getId(), soldOut.getItemId());
+        assertTrue(stock.isTracked());
+        assertEquals(0, stock.getUnallotted() + stock.getAllotted());
+        assertThrows(InsufficientStockException.class, () -> orderService.createOrder(request));
+    }
+
+    @Test
+    void createOrders_ConcurrentChunksReservingOneHotItemNeitherBlockNorOversell() throws Exception {
+        // Arrange: two batches of single-unit orders, together asking for more than the stock
+        Item item = new Item();
+        item.setName("Hot Item");
+        item.setPrice(5.0);
+        Item hot = itemService.createItem(item, 250);
+        List<CreateOrderRequest> batch = IntStream.range(0, 200)
+            .mapToObj(i -> orderFor(List.of(hot)))
+            .toList();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // Act
+        List<Future<BatchOrderResponse>> responses = List.of(
+            executor.submit(() -> orderService.createOrders(batch)),
+            executor.submit(() -> orderService.createOrders(batch)));
+        int created = 0;
+        for (Future<BatchOrderResponse> response : responses) {
+            created += response.get(30, TimeUnit.SECONDS).getCreated();
+        }
+        executor.shutdown();
+
+        // Assert: every unit was sold, is allotted or is still in the row, exactly once
+        StockResponse stock = itemService.getStock(hot.getId());
+        assertTrue(created > 0 && created <= 250, "Created " + created + " orders from 250 units");
+        assertEquals(250, created + stock.getUnallotted() + stock.getAllotted());
+    }
+
+    @Test
+    void createOrder_WithRepeatedIdempotencyKey_CreatesOneOrder() {
+        // Arrange
+        String key = UUID.randomUUID().toString();
+        CreateOrderRequest request = orderFor(items.subList(0, 3));
+        long ordersBefore = orderRepository.count();
+
+        // Act
+        IdempotentOrderService.Result first = idempotentOrderService.createOrder(key, request);
+        IdempotentOrderService.Result retry = idempotentOrderService.createOrder(key, orderFor(items.subList(0, 3)));
+        // A fresh instance has an empty cache, like a restarted or different node
+        IdempotentOrderService otherInstance = new IdempotentOrderService(
+            orderService, idempotencyKeyRepository, transactionTemplate, 100, Duration.ofHours(1));
+        IdempotentOrderService.Result fromTable = otherInstance.createOrder(key, request);
+
+        // Assert
+        assertFalse(first.replayed());
+        assertTrue(retry.replayed());
+        assertTrue(fromTable.replayed());
+        assertEquals(first.order().getId(), retry.order().getId());
+        assertEquals(first.order().getId(), fromTable.order().getId());
+        assertEquals(ordersBefore + 1, orderRepository.count());
+    }
+
+    @Test
+    void createOrder_WithExpiredIdempotencyKeyAndColdCache_CreatesNewOrder() {
+        // Arrange
+        String key = UUID.randomUUID().toString();
+        CreateOrderRequest request = orderFor(items.subList(0, 2));
+        UUID firstId = idempotentOrderService.createOrder(key, request).order().getId();
+        // Fresh instances have empty caches; with a zero TTL every stored key has expired
+        IdempotentOrderService expiring = new IdempotentOrderService(
+            orderService, idempotencyKeyRepository, transactionTemplate, 100, Duration.ZERO);
+        IdempotentOrderService otherInstance = new IdempotentOrderService(
+            orderService, idempotencyKeyRepository, transactionTemplate, 100, Duration.ofHours(1));
+
+        // Act
+        IdempotentOrderService.Result afterExpiry = expiring.createOrder(key, request);
+        IdempotentOrderService.Result retry = otherInstance.createOrder(key, request);
+
+        // Assert
+        assertFalse(afterExpiry.replayed());
+        assertNotEquals(firstId, afterExpiry.order().getId());
+        assertTrue(retry.replayed());
+        assertEquals(afterExpiry.order().getId(), retry.order().getId());
+        assertEquals(afterExpiry.order().getId(), idempotencyKeyRepository.findById(key).orElseThrow().getOrderId());
+    }
+
+    @Test
+    void createOrder_WithIdempotencyKeyReusedForAnotherOrder_IsRejected() {
+        // Arrange
+        String key = UUID.randomUUID().toString();
+        idempotentOrderService.createOrder(key, orderFor(items.subList(0, 1)));
+
+        // Act & Assert
+        assertThrows(IdempotencyKeyReuseException.class,
+            () -> idempotentOrderService.createOrder(key, orderFor(items.subList(0, 2))));
+    }
+
+    @Test
+    void getOrderETag_ChangesOnTransitionWithoutLoadingLines() {
+        // Arrange
+        UUID orderId = orderService.createOrder(orderFor(items.subList(0, 5))).getId();
+        String created = orderService.getOrderETag(orderId);
+        statistics.clear();
+
+        // Act
+        String unchanged = orderService.getOrderETag(orderId);
+        long statements = statistics.getPrepareStatementCount();
+        long entityLoads = statistics.getEntityLoadCount();
+        orderService.cancelOrder(orderId);
+        String cancelled = orderService.getOrderETag(orderId);
+
+        // Assert
+        assertTrue(created.startsWith("W/\""), "Expected a weak entity tag but was " + created);
+        assertEquals(created, unchanged);
+        assertEquals(1, statements);
+        assertEquals(0, entityLoads);
+        assertNotEquals(created, cancelled);
+    }
+
+    @Test
+    void orderAnalytics_TracksCreatedAndCancelledOrdersBeforeAndAfterFlush() {
+        // Arrange
+        OrderStatsResponse before = orderAnalytics.getStats(1);
+        CustomerStatsResponse customerBefore = orderAnalytics.getCustomerStats(customer.getId());
+
+        // Act: totals 1.0, 3.0 and 6.0; the first order is cancelled
+        UUID first = orderService.createOrder(orderFor(items.subList(0, 1))).getId();
+        orderService.createOrder(orderFor(items.subList(0, 2)));
+        orderService.createOrder(orderFor(items.subList(0, 3)));
+        orderService.cancelOrder(first);
+        OrderStatsResponse unflushed = orderAnalytics.getStats(1);
+        orderAnalytics.flush();
+        OrderStatsResponse flushed = orderAnalytics.getStats(1);
+        // A fresh instance only sees what was flushed, like another node
+        OrderAnalytics otherInstance = new OrderAnalytics(
+            orderStatRepository, orderRepository, transactionTemplate, 30, 100, Duration.ofSeconds(30));
+        otherInstance.initialize();
+
+        // Assert
+        for (OrderStatsResponse stats : List.of(unflushed, flushed, otherInstance.getStats(1))) {
+            assertEquals(before.getOrdersByStatus().get(OrderStatus.CANCELLED) + 1,
+                stats.getOrdersByStatus().get(OrderStatus.CANCELLED));
+            assertEquals(totalOrders(before) + 3, totalOrders(stats));
+            OrderStatsResponse.DailyRevenue today = stats.getDailyRevenue().get(0);
+            assertEquals(before.getDailyRevenue().get(0).getOrders() + 2, today.getOrders());
+            assertEquals(before.getDailyRevenue().get(0).getRevenue() + 9.0, today.getRevenue(), 1e-9);
+        }
+        for (OrderAnalytics analytics : List.of(orderAnalytics, otherInstance)) {
+            CustomerStatsResponse customerStats = analytics.getCustomerStats(customer.getId());
+            assertEquals(customerBefore.getOrders() + 2, customerStats.getOrders());
+            assertEquals(customerBefore.getRevenue() + 9.0, customerStats.getRevenue(), 1e-9);
+        }
+    }
+
+    @Test
+    void archiveTerminalOrders_MovesThemOutOfTheTablesButKeepsThemReadable() {
+        // Arrange
+        UUID cancelledId = orderService.createOrder(orderFor(items.subList(0, 3))).getId();
+        UUID pendingId = orderService.createOrder(orderFor(items.subList(0, 2))).getId();
+        OrderResponse cancelled = orderService.cancelOrder(cancelledId);
+        String eTag = orderService.getOrderETag(cancelledId);
+
+        // Act
+        int archived = orderArchiveService.archiveTerminalOrders(LocalDateTime.now().plusSeconds(1));
+
+        // Assert
+        assertTrue(archived >= 1);
+        assertFalse(orderRepository.existsById(cancelledId));
+        assertTrue(orderRepository.existsById(pendingId));
+        assertEquals(cancelled, orderService.getOrder(cancelledId));
+        assertEquals(eTag, orderService.getOrderETag(cancelledId));
+        assertTrue(orderService.orderExists(cancelledId));
+        OrderStatusConflictException conflict = assertThrows(OrderStatusConflictException.class,
+            () -> orderService.cancelOrder(cancelledId));
+        assertEquals(OrderStatus.CANCELLED, conflict.getCurrentStatus());
+    }
+
+    private static long totalOrders(OrderStatsResponse stats) {
+        return stats.getOrdersByStatus().values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    private CreateOrderRequest orderFor(List<Item> orderedItems) {
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setCustomerId(customer.getId());
+        request.setItems(orderedItems.stream()
+            .map(item -> {
+                OrderItemRequest line = new OrderItemRequest();
+                line.setItemId(item.getId());
+                line.setQuantity(1);
+                return line;
+            })
+            .toList());
+        return request;
+    }
+}
@@ -1,25 +1,41 @@
 package com.order.processing.system.service;
 
+import com.order.processing.system.analytics.OrderAnalytics;
+import com.order.processing.system.archive.OrderArchive;
+import com.order.processing.system.cache.ItemCatalogCache;
+import com.order.processing.system.dto.CatalogItem;
 import com.order.processing.system.dto.CreateOrderRequest;
 import com.order.processing.system.dto.OrderItemRequest;
 import com.order.processing.system.dto.OrderResponse;
+import com.order.processing.system.exception.OrderStatusConflictException;
+import com.order.processing.system.inventory.StockReservations;
+import com.order.processing.system.metrics.OrderMetrics;
 import com.order.processing.system.model.*;
 import com.order.processing.system.repository.CustomerRepository;
 import com.order.processing.system.repository.ItemRepository;
 import com.order.processing.system.repository.OrderRepository;
+import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,12 +44,30 @@ class OrderServiceTest {
     @Mock
     private OrderRepository orderRepository;
 
+    @Mock
+    private ItemCatalogCache itemCatalogCache;
+
     @Mock
     private ItemRepository itemRepository;
 
     @Mock
     private CustomerRepository customerRepository;
 
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private OrderMetrics orderMetrics;
+
+    @Mock
+    private OrderAnalytics orderAnalytics;
+
+    @Mock
+    private OrderArchive orderArchive;
+
+    @Mock
+    private StockReservations stockReservations;
+
     @InjectMocks
     private OrderService orderService;
 
@@ -75,7 +109,8 @@ class OrderServiceTest {
         request.setItems(List.of(itemRequest));
 
         when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
-        when(itemRepository.findById(1L)).thenReturn(Optional.of(testItem));
+        when(itemCatalogCache.getAll(Set.of(1L))).thenReturn(Map.of(1L, CatalogItem.of(testItem)));
+        when(itemRepository.getReferenceById(1L)).thenReturn(testItem);
         when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
 
         // Act
@@ -89,42 +124,127 @@ class OrderServiceTest {
         verify(orderRepository).save(any(Order.class));
     }
 
+    @Test
+    void createOrder_WhenItemMissing_ThrowsException() {
+        // Arrange
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setCustomerId(1L);
+
+        OrderItemRequest itemRequest = new OrderItemRequest();
+        itemRequest.setItemId(99L);
+        itemRequest.setQuantity(1);
+        request.setItems(List.of(itemRequest));
+
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
+        when(itemCatalogCache.getAll(Set.of(99L))).thenReturn(Map.of());
+
+        // Act & Assert
+        assertThrows(EntityNotFoundException.class, () -> orderService.createOrder(request));
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
     @Test
     void cancelOrder_WhenPending_Success() {
         // Arrange
-        when(orderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
-        when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
+        when(orderRepository.transitionStatus(eq(orderId), eq(OrderStatus.PENDING),
+            eq(OrderStatus.CANCELLED), any(LocalDateTime.class)))
+            .thenReturn(1);
+        testOrder.setStatus(OrderStatus.CANCELLED);
+        when(orderRepository.findWithDetailsById(orderId)).thenReturn(Optional.of(testOrder));
 
         // Act
         OrderResponse response = orderService.cancelOrder(orderId);
 
         // Assert
         assertEquals(OrderStatus.CANCELLED, response.getStatus());
-        verify(orderRepository).save(testOrder);
+        verify(orderRepository, never()).save(any());
     }
 
     @Test
-    void cancelOrder_WhenNotPending_ThrowsException() {
+    void cancelOrder_WhenNotPending_ThrowsConflict() {
         // Arrange
-        testOrder.setStatus(OrderStatus.PROCESSING);
-        when(orderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
+        when(orderRepository.transitionStatus(eq(orderId), eq(OrderStatus.PENDING),
+            eq(OrderStatus.CANCELLED), any(LocalDateTime.class)))
+            .thenReturn(0);
+        when(orderRepository.findStatusById(orderId)).thenReturn(Optional.of(OrderStatus.PROCESSING));
 
         // Act & Assert
-        assertThrows(IllegalStateException.class, () -> orderService.cancelOrder(orderId));
+        OrderStatusConflictException e = assertThrows(OrderStatusConflictException.class,
+            () -> orderService.cancelOrder(orderId));
+        assertEquals(OrderStatus.PROCESSING, e.getCurrentStatus());
+    }
+
+    @Test
+    void cancelOrder_WhenMissing_ThrowsNotFound() {
+        // Arrange
+        when(orderRepository.transitionStatus(eq(orderId), eq(OrderStatus.PENDING),
+            eq(OrderStatus.CANCELLED), any(LocalDateTime.class)))
+            .thenReturn(0);
+        when(orderRepository.findStatusById(orderId)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(EntityNotFoundException.class, () -> orderService.cancelOrder(orderId));
+    }
+
+    @Test
+    void getOrder_WhenLineItemNoLongerExists_ReturnsOrderWithoutItemName() {
+        // Arrange
+        OrderItem line = new OrderItem();
+        line.setItem(testItem);
+        line.setQuantity(2);
+        line.setUnitPrice(10.0);
+        testOrder.addItem(line);
+        testOrder.setTotalAmount(20.0);
+        when(orderRepository.findWithDetailsById(orderId)).thenReturn(Optional.of(testOrder));
+        when(itemCatalogCache.getAll(Set.of(1L))).thenReturn(Map.of());
+        when(itemCatalogCache.get(1L)).thenReturn(Optional.empty());
+
+        // Act
+        OrderResponse response = orderService.getOrder(orderId);
+
+        // Assert
+        OrderResponse.OrderItemDTO dto = response.getItems().get(0);
+        assertEquals(1L, dto.getItemId());
+        assertNull(dto.getItemName());
+        assertEquals(20.0, dto.getSubtotal());
     }
 
     @Test
     void updatePendingOrders_Success() {
         // Arrange
-        List<Order> pendingOrders = List.of(testOrder);
-        when(orderRepository.findByStatus(OrderStatus.PENDING)).thenReturn(pendingOrders);
+        runTransactionCallbacksInline();
+        when(orderRepository.lockIdsByStatus(eq(OrderStatus.PENDING), any(Pageable.class)))
+            .thenReturn(List.of(orderId));
+        when(orderRepository.updateStatus(eq(List.of(orderId)), eq(OrderStatus.PENDING),
+            eq(OrderStatus.PROCESSING), any(LocalDateTime.class)))
+            .thenReturn(1);
 
         // Act
         int updatedCount = orderService.updatePendingOrders();
 
         // Assert
         assertEquals(1, updatedCount);
-        assertEquals(OrderStatus.PROCESSING, testOrder.getStatus());
-        verify(orderRepository).saveAll(pendingOrders);
+        verify(orderRepository, never()).findByStatus(any());
+        verify(orderRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void updatePendingOrders_WhenNothingPending_ReturnsZero() {
+        // Arrange
+        runTransactionCallbacksInline();
+        when(orderRepository.lockIdsByStatus(eq(OrderStatus.PENDING), any(Pageable.class)))
+            .thenReturn(List.of());
+
+        // Act
+        int updatedCount = orderService.updatePendingOrders();
+
+        // Assert
+        assertEquals(0, updatedCount);
+        verify(orderRepository, never()).updateStatus(any(), any(), any(), any());
+    }
+
+    private void runTransactionCallbacksInline() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+            invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(mock(TransactionStatus.class)));
     }
 }
@@ -11,23 +11,69 @@ CREATE TABLE IF NOT EXISTS items (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
     name VARCHAR(255) NOT NULL,
     price DOUBLE NOT NULL,
-    description VARCHAR(255)
+    description VARCHAR(255),
+    stock_tracked BOOLEAN DEFAULT FALSE NOT NULL,
+    stock INTEGER
 );
 
 CREATE TABLE IF NOT EXISTS orders (
     id UUID PRIMARY KEY,
     customer_id BIGINT NOT NULL,
     status VARCHAR(20) NOT NULL,
+    total_amount DOUBLE NOT NULL DEFAULT 0,
+    version BIGINT NOT NULL DEFAULT 0,
+    partition_bucket INTEGER NOT NULL DEFAULT 0,
     created_at TIMESTAMP,
     updated_at TIMESTAMP,
     FOREIGN KEY (customer_id) REFERENCES customers(id)
 );
 
+CREATE SEQUENCE IF NOT EXISTS order_items_id_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS order_items (
-    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    id BIGINT DEFAULT NEXT VALUE FOR order_items_id_seq PRIMARY KEY,
     order_id UUID NOT NULL,
     item_id BIGINT NOT NULL,
     quantity INTEGER NOT NULL,
+    unit_price DOUBLE NOT NULL,
+    item_name VARCHAR(255),
+    stock_reserved BOOLEAN DEFAULT FALSE NOT NULL,
     FOREIGN KEY (order_id) REFERENCES orders(id),
     FOREIGN KEY (item_id) REFERENCES items(id)
 );
+
+-- Hibernate creates items from the entity, which does not map the stock column
+ALTER TABLE items ADD COLUMN IF NOT EXISTS stock INTEGER;
+
+CREATE INDEX IF NOT EXISTS idx_orders_created_at_id ON orders (created_at, id);
+CREATE INDEX IF NOT EXISTS idx_orders_status_created_at_id ON orders (status, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_orders_total_amount_id ON orders (total_amount, id);
+CREATE INDEX IF NOT EXISTS idx_orders_status_updated_at_id ON orders (status, updated_at, id);
+CREATE INDEX IF NOT EXISTS idx_orders_status_partition_bucket ON orders (status, partition_bucket);
+
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    idempotency_key VARCHAR(255) PRIMARY KEY,
+    order_id UUID NOT NULL,
+    request_hash VARCHAR(64) NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_created_at ON idempotency_keys (created_at);
+
+CREATE TABLE IF NOT EXISTS order_stats (
+    metric VARCHAR(16) NOT NULL,
+    dimension VARCHAR(64) NOT NULL,
+    order_count BIGINT NOT NULL,
+    revenue DOUBLE PRECISION NOT NULL,
+    PRIMARY KEY (metric, dimension)
+);
+
+CREATE TABLE IF NOT EXISTS scheduler_leases (
+    partition_id INTEGER PRIMARY KEY,
+    owner VARCHAR(64),
+    expires_at TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS scheduler_instances (
+    instance_id VARCHAR(64) PRIMARY KEY,
+    expires_at TIMESTAMP NOT NULL
+);